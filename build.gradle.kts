@@ -23,6 +23,7 @@ repositories {
 }
 
 val grpcVersion = "1.68.0"
+val resilience4jVersion = "2.2.0"
 
 dependencies {
 	// Web and Core
@@ -36,7 +37,9 @@ dependencies {
 	implementation("org.springframework.boot:spring-boot-starter-data-jpa")
 	implementation("org.springframework.boot:spring-boot-starter-flyway")
 	implementation("org.flywaydb:flyway-database-postgresql")
-	runtimeOnly("org.postgresql:postgresql")
+	implementation("org.postgresql:postgresql")
+	implementation("org.hibernate.orm:hibernate-jcache")
+	implementation("com.github.ben-manes.caffeine:jcache")
 
 	// Lombok
 	compileOnly("org.projectlombok:lombok")
@@ -55,6 +58,11 @@ dependencies {
 	implementation("io.grpc:grpc-netty-shaded:$grpcVersion")
 	compileOnly("javax.annotation:javax.annotation-api:1.3.2")
 
+	// Resilience
+	implementation("io.github.resilience4j:resilience4j-circuitbreaker:$resilience4jVersion")
+	implementation("io.github.resilience4j:resilience4j-micrometer:$resilience4jVersion")
+	implementation("com.github.ben-manes.caffeine:caffeine")
+
 	// Prometheus
 	implementation("io.micrometer:micrometer-registry-prometheus")
 
@@ -97,11 +105,28 @@ protobuf {
 	}
 }
 
-tasks.withType<Test> {
-	useJUnitPlatform()
+tasks.test {
+	useJUnitPlatform {
+		excludeTags("benchmark")
+	}
 	finalizedBy(tasks.jacocoTestReport)
 }
 
+// Long-running database benchmarks, e.g. ./gradlew benchmark -PbenchmarkRows=5000000
+tasks.register<Test>("benchmark") {
+	description = "Runs the tests tagged 'benchmark'."
+	group = "verification"
+	testClassesDirs = sourceSets.test.get().output.classesDirs
+	classpath = sourceSets.test.get().runtimeClasspath
+	useJUnitPlatform {
+		includeTags("benchmark")
+	}
+	systemProperty("benchmark.rows", providers.gradleProperty("benchmarkRows").getOrElse("2000000"))
+	testLogging {
+		showStandardStreams = true
+	}
+}
+
 tasks.jacocoTestReport {
 	dependsOn(tasks.test)
 	reports {
@@ -0,0 +1,174 @@
+package com.devoops.reservation.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+
+/**
+ * Concurrency limit that adapts with AIMD on measured latency. Completed calls are collected into
+ * sampling windows of at least {@code window} and {@code minWindowSamples} calls, and the limit
+ * moves at most once per window: if the window's p90 latency is above {@code latencyTarget}
+ * (dropped calls count as slow) it is multiplied by {@code backoffRatio}, otherwise it grows by one
+ * if the limiter was at least half used. A few slow but healthy calls among fast ones therefore
+ * leave the limit alone. Calls above the limit are rejected at once instead of queueing.
+ */
+@Slf4j
+public class AdaptiveConcurrencyLimiter {
+
+    private static final double LATENCY_PERCENTILE = 0.9;
+    private static final int MAX_WINDOW_SAMPLES = 1000;
+
+    private final String name;
+    private final int minLimit;
+    private final int maxLimit;
+    private final long latencyTargetNanos;
+    private final double backoffRatio;
+    private final long windowNanos;
+    private final int minWindowSamples;
+    private final LongSupplier nanoClock;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final Counter rejected;
+    private volatile int limit;
+
+    // Current sampling window, guarded by this
+    private final long[] windowLatencies = new long[MAX_WINDOW_SAMPLES];
+    private int windowSamples;
+    private int windowMaxInFlight;
+    private long windowStartNanos;
+
+    public AdaptiveConcurrencyLimiter(
+            String name,
+            int initialLimit,
+            int minLimit,
+            int maxLimit,
+            Duration latencyTarget,
+            double backoffRatio,
+            Duration window,
+            int minWindowSamples,
+            MeterRegistry meterRegistry) {
+        this(name, initialLimit, minLimit, maxLimit, latencyTarget, backoffRatio, window, minWindowSamples,
+                meterRegistry, System::nanoTime);
+    }
+
+    AdaptiveConcurrencyLimiter(
+            String name,
+            int initialLimit,
+            int minLimit,
+            int maxLimit,
+            Duration latencyTarget,
+            double backoffRatio,
+            Duration window,
+            int minWindowSamples,
+            MeterRegistry meterRegistry,
+            LongSupplier nanoClock) {
+        this.name = name;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.latencyTargetNanos = latencyTarget.toNanos();
+        this.backoffRatio = backoffRatio;
+        this.windowNanos = window.toNanos();
+        this.minWindowSamples = Math.clamp(minWindowSamples, 1, MAX_WINDOW_SAMPLES);
+        this.nanoClock = nanoClock;
+        this.windowStartNanos = nanoClock.getAsLong();
+        this.limit = Math.clamp(initialLimit, minLimit, maxLimit);
+
+        Gauge.builder("reservation.concurrency.limit", this, AdaptiveConcurrencyLimiter::getLimit)
+                .description("Current adaptive concurrency limit")
+                .tag("limiter", name)
+                .register(meterRegistry);
+        Gauge.builder("reservation.concurrency.in.flight", inFlight, AtomicInteger::get)
+                .description("Requests currently holding a concurrency permit")
+                .tag("limiter", name)
+                .register(meterRegistry);
+        this.rejected = Counter.builder("reservation.concurrency.rejected")
+                .description("Requests shed because the concurrency limit was reached")
+                .tag("limiter", name)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Returns a permit, or null if the limit is reached. Every permit must be released.
+     */
+    public Permit tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= limit) {
+                rejected.increment();
+                return null;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return new Permit(current + 1);
+            }
+        }
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    private synchronized void onSample(long latencyNanos, int inFlightAtStart, boolean dropped) {
+        windowLatencies[windowSamples++] = dropped ? Long.MAX_VALUE : latencyNanos;
+        windowMaxInFlight = Math.max(windowMaxInFlight, inFlightAtStart);
+
+        long now = nanoClock.getAsLong();
+        boolean windowComplete = windowSamples == MAX_WINDOW_SAMPLES
+                || (windowSamples >= minWindowSamples && now - windowStartNanos >= windowNanos);
+        if (!windowComplete) {
+            return;
+        }
+
+        int previous = limit;
+        if (windowPercentileLatency() > latencyTargetNanos) {
+            limit = Math.max(minLimit, (int) (limit * backoffRatio));
+        } else if (windowMaxInFlight * 2 >= limit) {
+            limit = Math.min(maxLimit, limit + 1);
+        }
+        if (limit != previous && limit == minLimit) {
+            log.warn("Concurrency limit {} dropped to its minimum of {}", name, minLimit);
+        }
+
+        windowSamples = 0;
+        windowMaxInFlight = 0;
+        windowStartNanos = now;
+    }
+
+    private long windowPercentileLatency() {
+        long[] latencies = Arrays.copyOf(windowLatencies, windowSamples);
+        Arrays.sort(latencies);
+        return latencies[(int) Math.ceil(LATENCY_PERCENTILE * windowSamples) - 1];
+    }
+
+    public class Permit {
+
+        private final long startNanos = nanoClock.getAsLong();
+        private final int inFlightAtStart;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private Permit(int inFlightAtStart) {
+            this.inFlightAtStart = inFlightAtStart;
+        }
+
+        public void release() {
+            release(false);
+        }
+
+        /**
+         * Releases the permit. A dropped call (timed out or failed because something downstream
+         * is overloaded) counts as slow in its window, regardless of its latency.
+         */
+        public void release(boolean dropped) {
+            if (!released.compareAndSet(false, true)) {
+                return;
+            }
+            inFlight.decrementAndGet();
+            onSample(nanoClock.getAsLong() - startNanos, inFlightAtStart, dropped);
+        }
+    }
+}
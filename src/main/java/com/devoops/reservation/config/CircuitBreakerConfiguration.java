@@ -0,0 +1,97 @@
+package com.devoops.reservation.config;
+
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.micrometer.tagged.TaggedCircuitBreakerMetrics;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.Set;
+
+@Configuration
+@Slf4j
+public class CircuitBreakerConfiguration {
+
+    /**
+     * Status codes that indicate an unhealthy dependency. Business errors such as
+     * INVALID_ARGUMENT or NOT_FOUND must not trip the breaker.
+     */
+    private static final Set<Status.Code> FAILURE_CODES = Set.of(
+            Status.Code.UNAVAILABLE,
+            Status.Code.DEADLINE_EXCEEDED,
+            Status.Code.RESOURCE_EXHAUSTED,
+            Status.Code.INTERNAL,
+            Status.Code.UNKNOWN
+    );
+
+    @Value("${resilience.circuit-breaker.failure-rate-threshold:50}")
+    private float failureRateThreshold;
+
+    @Value("${resilience.circuit-breaker.slow-call-rate-threshold:80}")
+    private float slowCallRateThreshold;
+
+    @Value("${resilience.circuit-breaker.slow-call-duration:1s}")
+    private Duration slowCallDuration;
+
+    @Value("${resilience.circuit-breaker.sliding-window-size:50}")
+    private int slidingWindowSize;
+
+    @Value("${resilience.circuit-breaker.minimum-calls:20}")
+    private int minimumCalls;
+
+    @Value("${resilience.circuit-breaker.wait-in-open-state:10s}")
+    private Duration waitInOpenState;
+
+    @Value("${resilience.circuit-breaker.half-open-calls:5}")
+    private int halfOpenCalls;
+
+    @Bean
+    public CircuitBreakerRegistry circuitBreakerRegistry(MeterRegistry meterRegistry) {
+        CircuitBreakerConfig config = CircuitBreakerConfig.custom()
+                .slidingWindowType(CircuitBreakerConfig.SlidingWindowType.COUNT_BASED)
+                .slidingWindowSize(slidingWindowSize)
+                .minimumNumberOfCalls(minimumCalls)
+                .failureRateThreshold(failureRateThreshold)
+                .slowCallRateThreshold(slowCallRateThreshold)
+                .slowCallDurationThreshold(slowCallDuration)
+                .waitDurationInOpenState(waitInOpenState)
+                .permittedNumberOfCallsInHalfOpenState(halfOpenCalls)
+                .automaticTransitionFromOpenToHalfOpenEnabled(true)
+                .recordException(CircuitBreakerConfiguration::isDependencyFailure)
+                .build();
+
+        CircuitBreakerRegistry registry = CircuitBreakerRegistry.of(config);
+        TaggedCircuitBreakerMetrics.ofCircuitBreakerRegistry(registry).bindTo(meterRegistry);
+        registry.getEventPublisher().onEntryAdded(event ->
+                registerTransitionMetrics(event.getAddedEntry(), meterRegistry));
+        return registry;
+    }
+
+    private static void registerTransitionMetrics(CircuitBreaker circuitBreaker, MeterRegistry meterRegistry) {
+        circuitBreaker.getEventPublisher().onStateTransition(event -> {
+            CircuitBreaker.StateTransition transition = event.getStateTransition();
+            log.warn("Circuit breaker {} transitioned from {} to {}",
+                    circuitBreaker.getName(), transition.getFromState(), transition.getToState());
+            Counter.builder("grpc.client.circuit.transitions")
+                    .description("Circuit breaker state transitions for downstream gRPC dependencies")
+                    .tag("name", circuitBreaker.getName())
+                    .tag("from", transition.getFromState().name())
+                    .tag("to", transition.getToState().name())
+                    .register(meterRegistry)
+                    .increment();
+        });
+    }
+
+    private static boolean isDependencyFailure(Throwable throwable) {
+        return throwable instanceof StatusRuntimeException e
+                && FAILURE_CODES.contains(e.getStatus().getCode());
+    }
+}
@@ -0,0 +1,45 @@
+package com.devoops.reservation.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+public class ConcurrencyLimitConfig {
+
+    @Value("${reservation.concurrency-limit.backoff-ratio:0.9}")
+    private double backoffRatio;
+
+    @Value("${reservation.concurrency-limit.window:1s}")
+    private Duration window;
+
+    @Value("${reservation.concurrency-limit.min-window-samples:20}")
+    private int minWindowSamples;
+
+    @Bean
+    public ConcurrencyLimiters concurrencyLimiters(
+            MeterRegistry meterRegistry,
+            @Value("${reservation.concurrency-limit.read.initial:50}") int readInitial,
+            @Value("${reservation.concurrency-limit.read.min:5}") int readMin,
+            @Value("${reservation.concurrency-limit.read.max:200}") int readMax,
+            @Value("${reservation.concurrency-limit.read.latency-target:250ms}") Duration readLatencyTarget,
+            @Value("${reservation.concurrency-limit.write.initial:20}") int writeInitial,
+            @Value("${reservation.concurrency-limit.write.min:2}") int writeMin,
+            @Value("${reservation.concurrency-limit.write.max:100}") int writeMax,
+            @Value("${reservation.concurrency-limit.write.latency-target:1s}") Duration writeLatencyTarget) {
+        return new ConcurrencyLimiters(
+                new AdaptiveConcurrencyLimiter("read", readInitial, readMin, readMax,
+                        readLatencyTarget, backoffRatio, window, minWindowSamples, meterRegistry),
+                new AdaptiveConcurrencyLimiter("write", writeInitial, writeMin, writeMax,
+                        writeLatencyTarget, backoffRatio, window, minWindowSamples, meterRegistry)
+        );
+    }
+
+    /**
+     * Separate limits for reads and writes, so a burst of slow writes cannot starve reads.
+     */
+    public record ConcurrencyLimiters(AdaptiveConcurrencyLimiter read, AdaptiveConcurrencyLimiter write) {}
+}
@@ -0,0 +1,73 @@
+package com.devoops.reservation.config;
+
+import com.devoops.reservation.service.ReservationVersion;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.time.ZoneId;
+
+/**
+ * Evaluates If-None-Match / If-Modified-Since against a {@link ReservationVersion} before a read
+ * is executed and enriched. Responses are private and must be revalidated, so browsers keep
+ * them and poll with conditional requests.
+ */
+@Component
+@RequiredArgsConstructor
+public class ConditionalGetHandler {
+
+    private static final String CACHE_CONTROL = CacheControl.noCache().cachePrivate().getHeaderValue();
+
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * Sets the validators on the response and returns true, with the status set to 304, when the
+     * client's copy is still current. The caller must then return without a body.
+     */
+    public boolean checkNotModified(ServletWebRequest request, String resource, ReservationVersion version) {
+        return checkNotModified(request, resource, "", version);
+    }
+
+    /**
+     * Same as {@link #checkNotModified(ServletWebRequest, String, ReservationVersion)} for a
+     * resource served in several shapes (e.g. sparse fieldsets); the variant is part of the ETag
+     * so one shape is never revalidated against another.
+     */
+    public boolean checkNotModified(
+            ServletWebRequest request,
+            String resource,
+            String variant,
+            ReservationVersion version) {
+        HttpServletResponse response = request.getResponse();
+        if (response != null) {
+            response.setHeader(HttpHeaders.CACHE_CONTROL, CACHE_CONTROL);
+        }
+
+        boolean notModified;
+        if (version.lastModified() == null) {
+            notModified = request.checkNotModified(etag(resource, variant, version, 0));
+        } else {
+            long lastModified = version.lastModified().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+            notModified = request.checkNotModified(etag(resource, variant, version, lastModified), lastModified);
+        }
+
+        Counter.builder("reservation.http.conditional.requests")
+                .description("Conditional reservation reads by result; not_modified responses skip queries and enrichment")
+                .tag("resource", resource)
+                .tag("result", notModified ? "not_modified" : "modified")
+                .register(meterRegistry)
+                .increment();
+        return notModified;
+    }
+
+    private static String etag(String resource, String variant, ReservationVersion version, long lastModified) {
+        // Weak: enrichment (names) can change without the reservations changing
+        String suffix = variant.isEmpty() ? "" : "-" + variant;
+        return "W/\"" + resource + "-" + version.reservationCount() + "-" + lastModified + suffix + "\"";
+    }
+}
@@ -0,0 +1,130 @@
+package com.devoops.reservation.config;
+
+import com.devoops.reservation.grpc.GrpcCallMetrics;
+import com.devoops.reservation.grpc.GrpcMetricsClientInterceptor;
+import com.devoops.reservation.grpc.SubchannelLatencyInterceptor;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import net.devh.boot.grpc.client.channelfactory.GrpcChannelConfigurer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Configuration
+@Slf4j
+public class GrpcClientConfig {
+
+    private static final String POLICY_PREFIX = "grpc.client.%s.policy";
+
+    @Bean
+    public GrpcChannelConfigurer grpcClientPolicyConfigurer(
+            Environment environment,
+            MeterRegistry meterRegistry,
+            @Value("${spring.application.name}") String applicationName,
+            @Value("${grpc.metrics.slo-buckets}") List<Duration> sloBuckets,
+            @Value("${grpc.metrics.subchannel-idle-timeout:10m}") Duration subchannelIdleTimeout) {
+        Binder binder = Binder.get(environment);
+        GrpcCallMetrics callMetrics = new GrpcCallMetrics("grpc.client.call", "target", meterRegistry, sloBuckets);
+        return (builder, name) -> {
+            builder.intercept(
+                    new SubchannelLatencyInterceptor(name, meterRegistry, subchannelIdleTimeout),
+                    new GrpcMetricsClientInterceptor(name, applicationName, callMetrics));
+            binder.bind(POLICY_PREFIX.formatted(name), GrpcClientPolicyProperties.class)
+                    .ifBound(policy -> {
+                        Map<String, Object> serviceConfig = buildServiceConfig(policy);
+                        log.info("Applying gRPC call policy to channel {}: {}", name, serviceConfig);
+                        builder.defaultServiceConfig(serviceConfig);
+                        builder.enableRetry();
+                    });
+        };
+    }
+
+    /**
+     * Translates the bound policy into a gRPC service config. Only the listed idempotent methods
+     * receive a retry or hedging policy; every other method on the channel keeps the default
+     * single-attempt behaviour, so mutating calls are never replayed.
+     */
+    static Map<String, Object> buildServiceConfig(GrpcClientPolicyProperties policy) {
+        List<Map<String, Object>> methodConfigs = new ArrayList<>();
+        for (String method : policy.idempotentMethods()) {
+            Map<String, Object> methodConfig = new LinkedHashMap<>();
+            methodConfig.put("name", List.of(methodName(method)));
+            if (policy.hedging().enabled()) {
+                methodConfig.put("hedgingPolicy", hedgingPolicy(policy.hedging()));
+            } else {
+                methodConfig.put("retryPolicy", retryPolicy(policy.retry()));
+            }
+            methodConfigs.add(methodConfig);
+        }
+
+        Map<String, Object> serviceConfig = new LinkedHashMap<>();
+        serviceConfig.put("loadBalancingConfig", List.of(loadBalancingConfig(policy.loadBalancing())));
+        serviceConfig.put("methodConfig", methodConfigs);
+        serviceConfig.put("retryThrottling", Map.of(
+                "maxTokens", (double) policy.throttling().maxTokens(),
+                "tokenRatio", policy.throttling().tokenRatio()
+        ));
+        return serviceConfig;
+    }
+
+    private static Map<String, Object> methodName(String method) {
+        String[] parts = method.split("/", 2);
+        if (parts.length != 2 || parts[0].isBlank() || parts[1].isBlank()) {
+            throw new IllegalArgumentException(
+                    "Idempotent method must be in the form <package.Service>/<Method>: " + method);
+        }
+        return Map.of("service", parts[0], "method", parts[1]);
+    }
+
+    private static Map<String, Object> loadBalancingConfig(GrpcClientPolicyProperties.LoadBalancing loadBalancing) {
+        Map<String, Object> childPolicy = Map.of(loadBalancing.policy(), Map.of());
+        GrpcClientPolicyProperties.OutlierDetection outlierDetection = loadBalancing.outlierDetection();
+        if (!outlierDetection.enabled()) {
+            return childPolicy;
+        }
+        return Map.of("outlier_detection_experimental", Map.of(
+                "interval", toDurationString(outlierDetection.interval()),
+                "baseEjectionTime", toDurationString(outlierDetection.baseEjectionTime()),
+                "maxEjectionTime", toDurationString(outlierDetection.maxEjectionTime()),
+                "maxEjectionPercentage", (double) outlierDetection.maxEjectionPercent(),
+                "failurePercentageEjection", Map.of(
+                        "threshold", (double) outlierDetection.failurePercentageThreshold(),
+                        "enforcementPercentage", 100.0,
+                        "minimumHosts", (double) outlierDetection.minimumHosts(),
+                        "requestVolume", (double) outlierDetection.requestVolume()
+                ),
+                "childPolicy", List.of(childPolicy)
+        ));
+    }
+
+    private static Map<String, Object> hedgingPolicy(GrpcClientPolicyProperties.Hedging hedging) {
+        // UNAVAILABLE is non-fatal, so a refused attempt immediately triggers the next hedge
+        return Map.of(
+                "maxAttempts", (double) hedging.maxAttempts(),
+                "hedgingDelay", toDurationString(hedging.delay()),
+                "nonFatalStatusCodes", List.of("UNAVAILABLE")
+        );
+    }
+
+    private static Map<String, Object> retryPolicy(GrpcClientPolicyProperties.Retry retry) {
+        return Map.of(
+                "maxAttempts", (double) retry.maxAttempts(),
+                "initialBackoff", toDurationString(retry.initialBackoff()),
+                "maxBackoff", toDurationString(retry.maxBackoff()),
+                "backoffMultiplier", retry.backoffMultiplier(),
+                "retryableStatusCodes", List.of("UNAVAILABLE")
+        );
+    }
+
+    private static String toDurationString(Duration duration) {
+        return (duration.toMillis() / 1000.0) + "s";
+    }
+}
@@ -0,0 +1,73 @@
+package com.devoops.reservation.config;
+
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Per-channel call policy bound from {@code grpc.client.<channel>.policy.*}.
+ * Retry and hedging are only applied to the methods listed in {@code idempotentMethods}
+ * (fully qualified, e.g. {@code user.UserInternalService/GetUserSummary}).
+ */
+public record GrpcClientPolicyProperties(
+        List<String> idempotentMethods,
+        @DefaultValue Hedging hedging,
+        @DefaultValue Retry retry,
+        @DefaultValue Throttling throttling,
+        @DefaultValue LoadBalancing loadBalancing
+) {
+    public List<String> idempotentMethods() {
+        return idempotentMethods != null ? idempotentMethods : List.of();
+    }
+
+    /**
+     * Sends up to {@code maxAttempts} parallel attempts, each {@code delay} apart.
+     * The delay should track the downstream p95 so only the slowest 5% of calls are hedged.
+     */
+    public record Hedging(
+            @DefaultValue("false") boolean enabled,
+            @DefaultValue("2") int maxAttempts,
+            @DefaultValue("50ms") Duration delay
+    ) {}
+
+    public record Retry(
+            @DefaultValue("3") int maxAttempts,
+            @DefaultValue("100ms") Duration initialBackoff,
+            @DefaultValue("1s") Duration maxBackoff,
+            @DefaultValue("2.0") double backoffMultiplier
+    ) {}
+
+    /**
+     * Token bucket shared by all retries and hedges on the channel. Once failures drain it
+     * below half of {@code maxTokens}, further retries are suppressed.
+     */
+    public record Throttling(
+            @DefaultValue("10") int maxTokens,
+            @DefaultValue("0.1") double tokenRatio
+    ) {}
+
+    /**
+     * Balancing across the addresses returned by the name resolver. Use a {@code dns:///} target
+     * pointing at a headless service so every replica becomes its own subchannel.
+     */
+    public record LoadBalancing(
+            @DefaultValue("round_robin") String policy,
+            @DefaultValue OutlierDetection outlierDetection
+    ) {}
+
+    /**
+     * Ejects endpoints whose failure percentage (including deadline-exceeded calls, i.e. endpoints
+     * too slow to answer within the client deadline) exceeds {@code failurePercentageThreshold}.
+     */
+    public record OutlierDetection(
+            @DefaultValue("true") boolean enabled,
+            @DefaultValue("10s") Duration interval,
+            @DefaultValue("30s") Duration baseEjectionTime,
+            @DefaultValue("300s") Duration maxEjectionTime,
+            @DefaultValue("50") int maxEjectionPercent,
+            @DefaultValue("50") int failurePercentageThreshold,
+            @DefaultValue("2") int minimumHosts,
+            @DefaultValue("20") int requestVolume
+    ) {}
+}
@@ -0,0 +1,40 @@
+package com.devoops.reservation.config;
+
+import com.devoops.reservation.grpc.ConcurrencyLimitServerInterceptor;
+import com.devoops.reservation.grpc.GrpcCallMetrics;
+import com.devoops.reservation.grpc.GrpcMetricsServerInterceptor;
+import io.micrometer.core.instrument.MeterRegistry;
+import net.devh.boot.grpc.common.util.InterceptorOrder;
+import net.devh.boot.grpc.server.interceptor.GrpcGlobalServerInterceptor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
+
+import java.time.Duration;
+import java.util.List;
+
+@Configuration
+public class GrpcServerConfig {
+
+    @Bean
+    @GrpcGlobalServerInterceptor
+    @Order(InterceptorOrder.ORDER_TRACING_METRICS)
+    public GrpcMetricsServerInterceptor grpcMetricsServerInterceptor(
+            MeterRegistry meterRegistry,
+            @Value("${grpc.metrics.slo-buckets}") List<Duration> sloBuckets) {
+        return new GrpcMetricsServerInterceptor(
+                new GrpcCallMetrics("grpc.server.call", "caller", meterRegistry, sloBuckets));
+    }
+
+    /**
+     * Runs inside the metrics interceptor so shed calls still show up as RESOURCE_EXHAUSTED.
+     */
+    @Bean
+    @GrpcGlobalServerInterceptor
+    @Order(InterceptorOrder.ORDER_TRACING_METRICS + 1)
+    public ConcurrencyLimitServerInterceptor concurrencyLimitServerInterceptor(
+            ConcurrencyLimitConfig.ConcurrencyLimiters limiters) {
+        return new ConcurrencyLimitServerInterceptor(limiters.read());
+    }
+}
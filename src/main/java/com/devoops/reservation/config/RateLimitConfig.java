@@ -0,0 +1,29 @@
+package com.devoops.reservation.config;
+
+import com.github.benmanes.caffeine.cache.Ticker;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+@Configuration
+@Slf4j
+public class RateLimitConfig {
+
+    @Bean
+    public UserRateLimiter userRateLimiter(Environment environment, MeterRegistry meterRegistry) {
+        RateLimitProperties properties = Binder.get(environment)
+                .bindOrCreate("reservation.rate-limit", RateLimitProperties.class);
+        properties.buckets().forEach((name, bucket) -> {
+            if (bucket.capacity() < 1 || bucket.refillTokens() < 1 || !bucket.refillPeriod().isPositive()) {
+                throw new IllegalArgumentException("Rate limit bucket " + name
+                        + " needs a positive capacity, refill-tokens and refill-period");
+            }
+            log.info("Rate limiting {} to bursts of {} and {} per {} per user",
+                    name, bucket.capacity(), bucket.refillTokens(), bucket.refillPeriod());
+        });
+        return new UserRateLimiter(properties, meterRegistry, Ticker.systemTicker());
+    }
+}
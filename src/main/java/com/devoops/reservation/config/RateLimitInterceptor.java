@@ -0,0 +1,57 @@
+package com.devoops.reservation.config;
+
+import com.devoops.reservation.exception.RateLimitExceededException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.jspecify.annotations.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.time.Duration;
+import java.util.UUID;
+
+/**
+ * Applies {@link RateLimited} per user, keyed on the same X-User-Id header that
+ * {@link UserContextResolver} resolves. Requests without a valid user id are left to the resolver
+ * to reject.
+ */
+@Component
+@RequiredArgsConstructor
+public class RateLimitInterceptor implements HandlerInterceptor {
+
+    private final UserRateLimiter rateLimiter;
+
+    @Override
+    public boolean preHandle(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull Object handler
+    ) {
+        if (!(handler instanceof HandlerMethod handlerMethod)) {
+            return true;
+        }
+        RateLimited rateLimited = handlerMethod.getMethodAnnotation(RateLimited.class);
+        if (rateLimited == null) {
+            return true;
+        }
+
+        UUID userId;
+        try {
+            String header = request.getHeader("X-User-Id");
+            if (header == null) {
+                return true;
+            }
+            userId = UUID.fromString(header);
+        } catch (IllegalArgumentException e) {
+            return true;
+        }
+
+        Duration retryAfter = rateLimiter.tryAcquire(rateLimited.value(), userId);
+        if (!retryAfter.isZero()) {
+            throw new RateLimitExceededException("Too many requests, please retry later", retryAfter);
+        }
+        return true;
+    }
+}
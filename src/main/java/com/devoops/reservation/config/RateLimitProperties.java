@@ -0,0 +1,31 @@
+package com.devoops.reservation.config;
+
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Per-user rate limits bound from {@code reservation.rate-limit.*}. Buckets are named after the
+ * {@link RateLimited} value of the endpoints they guard; an endpoint whose bucket is not
+ * configured is not limited.
+ */
+public record RateLimitProperties(
+        Map<String, Bucket> buckets,
+        @DefaultValue("10m") Duration idleTimeout,
+        @DefaultValue("100000") long maxBuckets
+) {
+    public Map<String, Bucket> buckets() {
+        return buckets != null ? buckets : Map.of();
+    }
+
+    /**
+     * Allows bursts of up to {@code capacity} calls, refilled at {@code refillTokens} per
+     * {@code refillPeriod}.
+     */
+    public record Bucket(
+            int capacity,
+            int refillTokens,
+            @DefaultValue("1m") Duration refillPeriod
+    ) {}
+}
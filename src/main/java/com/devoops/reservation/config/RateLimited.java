@@ -0,0 +1,16 @@
+package com.devoops.reservation.config;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Limits how often each user may call the endpoint, using the token bucket configured under
+ * {@code reservation.rate-limit.buckets.<value>}. Endpoints sharing a name share a bucket.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface RateLimited {
+    String value();
+}
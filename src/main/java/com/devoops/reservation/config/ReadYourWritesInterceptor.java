@@ -0,0 +1,57 @@
+package com.devoops.reservation.config;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.jspecify.annotations.NonNull;
+import org.jspecify.annotations.Nullable;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.util.UUID;
+
+/**
+ * Binds the calling user for read routing and records successful writes by that user.
+ */
+@RequiredArgsConstructor
+public class ReadYourWritesInterceptor implements HandlerInterceptor {
+
+    private final ReadYourWritesTracker tracker;
+
+    @Override
+    public boolean preHandle(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull Object handler
+    ) {
+        UUID userId = parseUserId(request.getHeader("X-User-Id"));
+        if (userId != null) {
+            tracker.bindCurrentUser(userId);
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull Object handler,
+            @Nullable Exception ex
+    ) {
+        tracker.clearCurrentUser();
+        UUID userId = parseUserId(request.getHeader("X-User-Id"));
+        if (userId != null && !ConcurrencyLimitInterceptor.isReadRequest(request) && response.getStatus() < 400) {
+            tracker.recordWrite(userId);
+        }
+    }
+
+    private static UUID parseUserId(String header) {
+        if (header == null) {
+            return null;
+        }
+        try {
+            return UUID.fromString(header);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
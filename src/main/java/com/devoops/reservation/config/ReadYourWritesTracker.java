@@ -0,0 +1,42 @@
+package com.devoops.reservation.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+import java.util.UUID;
+
+/**
+ * Remembers users who wrote within the last {@code window}, so that their own reads go to the
+ * primary instead of a replica that may not have their change yet. The window is tracked per
+ * instance; it should exceed the replica's maximum allowed lag.
+ */
+public class ReadYourWritesTracker {
+
+    private static final ThreadLocal<UUID> CURRENT_USER = new ThreadLocal<>();
+
+    private final Cache<UUID, Boolean> recentWriters;
+
+    public ReadYourWritesTracker(Duration window) {
+        this.recentWriters = Caffeine.newBuilder()
+                .expireAfterWrite(window)
+                .build();
+    }
+
+    public void bindCurrentUser(UUID userId) {
+        CURRENT_USER.set(userId);
+    }
+
+    public void clearCurrentUser() {
+        CURRENT_USER.remove();
+    }
+
+    public void recordWrite(UUID userId) {
+        recentWriters.put(userId, Boolean.TRUE);
+    }
+
+    public boolean currentUserWroteRecently() {
+        UUID userId = CURRENT_USER.get();
+        return userId != null && recentWriters.getIfPresent(userId) != null;
+    }
+}
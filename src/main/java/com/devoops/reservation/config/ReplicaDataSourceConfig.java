@@ -0,0 +1,117 @@
+package com.devoops.reservation.config;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Sends read-only transactions to a streaming replica. The lazy proxy only fetches a physical
+ * connection once the transaction's read-only flag is known, then takes it from the replica
+ * routing target instead of the primary pool.
+ */
+@Configuration
+@ConditionalOnProperty(name = "reservation.datasource.replica.enabled", havingValue = "true")
+public class ReplicaDataSourceConfig {
+
+    @Value("${spring.datasource.url}")
+    private String primaryUrl;
+
+    @Value("${spring.datasource.username}")
+    private String primaryUsername;
+
+    @Value("${spring.datasource.password}")
+    private String primaryPassword;
+
+    @Value("${reservation.datasource.primary.maximum-pool-size:10}")
+    private int primaryMaximumPoolSize;
+
+    @Value("${reservation.datasource.replica.url}")
+    private String replicaUrl;
+
+    @Value("${reservation.datasource.replica.username:${spring.datasource.username}}")
+    private String replicaUsername;
+
+    @Value("${reservation.datasource.replica.password:${spring.datasource.password}}")
+    private String replicaPassword;
+
+    @Value("${reservation.datasource.replica.maximum-pool-size:10}")
+    private int replicaMaximumPoolSize;
+
+    @Value("${reservation.datasource.replica.max-lag:2s}")
+    private Duration maxReplicaLag;
+
+    @Value("${reservation.datasource.replica.receiver-timeout:60s}")
+    private Duration replicaReceiverTimeout;
+
+    @Value("${reservation.datasource.replica.read-your-writes-window:5s}")
+    private Duration readYourWritesWindow;
+
+    @Bean(destroyMethod = "close")
+    public HikariDataSource primaryPool(MeterRegistry meterRegistry) {
+        return pool("primary", primaryUrl, primaryUsername, primaryPassword, primaryMaximumPoolSize, meterRegistry);
+    }
+
+    @Bean(destroyMethod = "close")
+    public HikariDataSource replicaPool(MeterRegistry meterRegistry) {
+        HikariDataSource pool = pool("replica", replicaUrl, replicaUsername, replicaPassword,
+                replicaMaximumPoolSize, meterRegistry);
+        pool.setReadOnly(true);
+        return pool;
+    }
+
+    @Bean
+    public ReplicaLagMonitor replicaLagMonitor(MeterRegistry meterRegistry) {
+        return new ReplicaLagMonitor(replicaPool(meterRegistry), maxReplicaLag, replicaReceiverTimeout, meterRegistry);
+    }
+
+    @Bean
+    public ReadYourWritesTracker readYourWritesTracker() {
+        return new ReadYourWritesTracker(readYourWritesWindow);
+    }
+
+    @Bean
+    public ReadYourWritesInterceptor readYourWritesInterceptor(ReadYourWritesTracker readYourWritesTracker) {
+        return new ReadYourWritesInterceptor(readYourWritesTracker);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(
+            MeterRegistry meterRegistry,
+            ReplicaLagMonitor replicaLagMonitor,
+            ReadYourWritesTracker readYourWritesTracker) {
+        HikariDataSource primary = primaryPool(meterRegistry);
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(primary);
+        dataSource.setReadOnlyDataSource(new ReadOnlyRoutingDataSource(
+                primary, replicaPool(meterRegistry), replicaLagMonitor, readYourWritesTracker));
+        return dataSource;
+    }
+
+    private static HikariDataSource pool(
+            String name,
+            String url,
+            String username,
+            String password,
+            int maximumPoolSize,
+            MeterRegistry meterRegistry) {
+        HikariConfig config = new HikariConfig();
+        config.setPoolName(name);
+        config.setJdbcUrl(url);
+        config.setUsername(username);
+        config.setPassword(password);
+        config.setMaximumPoolSize(maximumPoolSize);
+        // hikaricp.* metrics tagged pool=<name>
+        config.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+        return new HikariDataSource(config);
+    }
+}
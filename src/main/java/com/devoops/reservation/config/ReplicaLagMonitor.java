@@ -0,0 +1,82 @@
+package com.devoops.reservation.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Periodically measures replication lag on the replica. The replica is only used while the last
+ * measurement succeeded and was within {@code maxLag}; until the first check it is not used at all.
+ * A replica whose WAL receiver is not streaming, or has heard nothing from the primary for
+ * {@code receiverTimeout}, is not used either: it has replayed all it received, but that may be
+ * arbitrarily old.
+ */
+@Slf4j
+public class ReplicaLagMonitor {
+
+    /**
+     * Zero when the replica has replayed everything it received (or is not in recovery at all),
+     * otherwise the age of the last replayed transaction. NULL while the WAL receiver is
+     * disconnected or silent, and while nothing was replayed yet.
+     */
+    private static final String LAG_QUERY = """
+            SELECT CASE
+                WHEN NOT pg_is_in_recovery() THEN 0
+                WHEN NOT EXISTS (
+                    SELECT 1 FROM pg_stat_wal_receiver
+                    WHERE status = 'streaming'
+                    AND last_msg_receipt_time > now() - make_interval(secs => ?)
+                ) THEN NULL
+                WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0
+                ELSE EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp())
+            END
+            """;
+
+    private final JdbcTemplate replicaJdbcTemplate;
+    private final Duration maxLag;
+    private final Duration receiverTimeout;
+    private volatile double lagSeconds = Double.NaN;
+    private volatile boolean usable;
+
+    public ReplicaLagMonitor(DataSource replica, Duration maxLag, Duration receiverTimeout, MeterRegistry meterRegistry) {
+        this.replicaJdbcTemplate = new JdbcTemplate(replica);
+        this.maxLag = maxLag;
+        this.receiverTimeout = receiverTimeout;
+        Gauge.builder("reservation.datasource.replica.lag", this, monitor -> monitor.lagSeconds)
+                .description("Replication lag of the read replica (NaN when unknown)")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+        Gauge.builder("reservation.datasource.replica.usable", this, monitor -> monitor.usable ? 1 : 0)
+                .description("Whether read-only transactions are currently routed to the replica")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${reservation.datasource.replica.lag-check-interval:1s}")
+    public void checkLag() {
+        boolean wasUsable = usable;
+        try {
+            Double lag = replicaJdbcTemplate.queryForObject(
+                    LAG_QUERY, Double.class, receiverTimeout.toMillis() / 1000.0);
+            lagSeconds = lag != null ? lag : Double.NaN;
+            usable = lag != null && lag * 1000 <= maxLag.toMillis();
+        } catch (RuntimeException e) {
+            lagSeconds = Double.NaN;
+            usable = false;
+            if (wasUsable) {
+                log.warn("Replica lag check failed, routing reads to the primary: {}", e.getMessage());
+            }
+        }
+        if (wasUsable != usable) {
+            log.info("Read replica {} (lag={}s)", usable ? "in use" : "bypassed", lagSeconds);
+        }
+    }
+
+    public boolean isUsable() {
+        return usable;
+    }
+}
@@ -0,0 +1,63 @@
+package com.devoops.reservation.config;
+
+import com.devoops.reservation.entity.Reservation;
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.JCacheMetrics;
+import io.micrometer.core.instrument.Tags;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.hibernate.autoconfigure.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.time.Duration;
+import java.util.OptionalLong;
+
+/**
+ * Hibernate second-level cache for {@link Reservation} lookups by id, held in an in-process
+ * Caffeine JCache. Entries use the read-write strategy, so committed updates and soft-deletes
+ * replace the cached state. Rows changed outside Hibernate must be evicted explicitly.
+ */
+@Configuration
+@ConditionalOnProperty(name = "reservation.second-level-cache.enabled", havingValue = "true")
+public class SecondLevelCacheConfig {
+
+    @Value("${reservation.second-level-cache.maximum-size:50000}")
+    private long maximumSize;
+
+    @Value("${reservation.second-level-cache.time-to-live:10m}")
+    private Duration timeToLive;
+
+    @Bean
+    public CacheManager reservationCacheManager(MeterRegistry meterRegistry) {
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                .getCacheManager();
+
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        configuration.setMaximumSize(OptionalLong.of(maximumSize));
+        configuration.setExpireAfterWrite(OptionalLong.of(timeToLive.toNanos()));
+        configuration.setStatisticsEnabled(true);
+        cacheManager.createCache(Reservation.CACHE_REGION, configuration);
+
+        JCacheMetrics.monitor(meterRegistry, cacheManager.getCache(Reservation.CACHE_REGION),
+                Tags.of("cacheManager", "hibernate"));
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(CacheManager reservationCacheManager) {
+        return properties -> {
+            properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, true);
+            properties.put(AvailableSettings.CACHE_REGION_FACTORY, "jcache");
+            properties.put(ConfigSettings.CACHE_MANAGER, reservationCacheManager);
+            // Regions are created above with their size and TTL; an unknown region is a mapping mistake
+            properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+        };
+    }
+}
@@ -0,0 +1,89 @@
+package com.devoops.reservation.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+import java.time.Duration;
+import java.util.UUID;
+
+/**
+ * In-process token buckets per (bucket, user). Buckets of users that stay idle longer than the
+ * idle timeout are evicted; a returning user starts again with a full bucket, which is never
+ * more than an idle user would have refilled to anyway.
+ */
+public class UserRateLimiter {
+
+    private final RateLimitProperties properties;
+    private final Ticker ticker;
+    private final Cache<BucketKey, TokenBucket> buckets;
+    private final MeterRegistry meterRegistry;
+
+    public UserRateLimiter(RateLimitProperties properties, MeterRegistry meterRegistry, Ticker ticker) {
+        this.properties = properties;
+        this.ticker = ticker;
+        this.meterRegistry = meterRegistry;
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(properties.maxBuckets())
+                .expireAfterAccess(properties.idleTimeout())
+                .ticker(ticker)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, buckets, "rate-limit-buckets");
+    }
+
+    /**
+     * Takes a token from the user's bucket. Returns {@link Duration#ZERO} when the call may
+     * proceed, otherwise how long until the next token is available.
+     */
+    public Duration tryAcquire(String bucketName, UUID userId) {
+        RateLimitProperties.Bucket bucket = properties.buckets().get(bucketName);
+        if (bucket == null) {
+            return Duration.ZERO;
+        }
+
+        long now = ticker.read();
+        long waitNanos = buckets.get(new BucketKey(bucketName, userId), key -> new TokenBucket(bucket, now))
+                .tryConsume(now);
+        if (waitNanos == 0) {
+            return Duration.ZERO;
+        }
+
+        Counter.builder("reservation.rate-limit.throttled")
+                .description("Requests rejected by the per-user rate limiter")
+                .tag("bucket", bucketName)
+                .register(meterRegistry)
+                .increment();
+        return Duration.ofNanos(waitNanos);
+    }
+
+    private record BucketKey(String bucket, UUID userId) {}
+
+    private static final class TokenBucket {
+
+        private final double capacity;
+        private final double tokensPerNano;
+        private double tokens;
+        private long lastRefillNanos;
+
+        TokenBucket(RateLimitProperties.Bucket bucket, long now) {
+            this.capacity = bucket.capacity();
+            this.tokensPerNano = (double) bucket.refillTokens() / bucket.refillPeriod().toNanos();
+            this.tokens = capacity;
+            this.lastRefillNanos = now;
+        }
+
+        synchronized long tryConsume(long now) {
+            tokens = Math.min(capacity, tokens + (now - lastRefillNanos) * tokensPerNano);
+            lastRefillNanos = now;
+            if (tokens >= 1) {
+                tokens -= 1;
+                return 0;
+            }
+            return (long) Math.ceil((1 - tokens) / tokensPerNano);
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package com.devoops.reservation.config;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.method.support.HandlerMethodArgumentResolver;
 import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
@@ -12,7 +13,12 @@ import java.util.List;
 @RequiredArgsConstructor
 public class WebConfig implements WebMvcConfigurer {
 
+    private static final String[] EVENT_STREAM_PATHS = {"/api/reservation/host/stream"};
+
     private final RoleAuthorizationInterceptor roleAuthorizationInterceptor;
+    private final ConcurrencyLimitInterceptor concurrencyLimitInterceptor;
+    private final RateLimitInterceptor rateLimitInterceptor;
+    private final ObjectProvider<ReadYourWritesInterceptor> readYourWritesInterceptor;
 
     @Override
     public void addArgumentResolvers(List<HandlerMethodArgumentResolver> resolvers) {
@@ -21,6 +27,14 @@ public class WebConfig implements WebMvcConfigurer {
 
     @Override
     public void addInterceptors(InterceptorRegistry registry) {
+        // Throttled users are turned away before they take a concurrency permit
+        registry.addInterceptor(rateLimitInterceptor).addPathPatterns("/api/reservation/**");
+        // Event streams stay open for minutes: they would pin a permit and a bound user for as long
+        registry.addInterceptor(concurrencyLimitInterceptor)
+                .addPathPatterns("/api/reservation/**")
+                .excludePathPatterns(EVENT_STREAM_PATHS);
         registry.addInterceptor(roleAuthorizationInterceptor);
+        readYourWritesInterceptor.ifAvailable(interceptor -> registry.addInterceptor(interceptor)
+                .excludePathPatterns(EVENT_STREAM_PATHS));
     }
 }
\ No newline at end of file
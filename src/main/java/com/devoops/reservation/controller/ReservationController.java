@@ -1,18 +1,32 @@
 package com.devoops.reservation.controller;
 
+import com.devoops.reservation.config.ConditionalGetHandler;
+import com.devoops.reservation.config.RateLimited;
 import com.devoops.reservation.config.RequireRole;
 import com.devoops.reservation.config.UserContext;
 import com.devoops.reservation.dto.request.CreateReservationRequest;
+import com.devoops.reservation.dto.request.ReservationField;
+import com.devoops.reservation.dto.response.AccommodationAnalyticsResponse;
+import com.devoops.reservation.dto.response.HostSummaryResponse;
+import com.devoops.reservation.dto.response.ReservationChangesResponse;
 import com.devoops.reservation.dto.response.ReservationResponse;
 import com.devoops.reservation.dto.response.ReservationWithGuestInfoResponse;
+import com.devoops.reservation.service.HostAnalyticsService;
+import com.devoops.reservation.service.HostChangeStreams;
+import com.devoops.reservation.service.IdempotencyService;
 import com.devoops.reservation.service.ReservationService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.time.YearMonth;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 
 @RestController
@@ -21,13 +35,21 @@ import java.util.UUID;
 public class ReservationController {
 
     private final ReservationService reservationService;
+    private final HostAnalyticsService hostAnalyticsService;
+    private final IdempotencyService idempotencyService;
+    private final HostChangeStreams hostChangeStreams;
+    private final ConditionalGetHandler conditionalGetHandler;
 
     @PostMapping
     @RequireRole("GUEST")
+    @RateLimited("create")
     public ResponseEntity<ReservationResponse> create(
             @Valid @RequestBody CreateReservationRequest request,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
             UserContext userContext) {
-        ReservationResponse response = reservationService.create(request, userContext);
+        ReservationResponse response = idempotencyKey != null
+                ? idempotencyService.create(idempotencyKey, request, userContext)
+                : reservationService.create(request, userContext);
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
 
@@ -35,21 +57,104 @@ public class ReservationController {
     @RequireRole({"GUEST", "HOST"})
     public ResponseEntity<ReservationResponse> getById(
             @PathVariable UUID id,
+            @RequestParam(required = false) String fields,
+            UserContext userContext,
+            ServletWebRequest webRequest) {
+        Set<ReservationField> selected = ReservationField.parse(fields);
+        if (conditionalGetHandler.checkNotModified(webRequest, "reservation", variant(selected),
+                reservationService.getReservationVersion(id, userContext))) {
+            return null;
+        }
+        return ResponseEntity.ok(reservationService.getById(id, userContext, selected));
+    }
+
+    @GetMapping(params = "ids")
+    @RequireRole({"GUEST", "HOST"})
+    @RateLimited("multi-get")
+    public ResponseEntity<List<ReservationResponse>> getByIds(
+            @RequestParam List<UUID> ids,
+            @RequestParam(required = false) String fields,
             UserContext userContext) {
-        return ResponseEntity.ok(reservationService.getById(id, userContext));
+        return ResponseEntity.ok(reservationService.getByIds(ids, userContext, ReservationField.parse(fields)));
     }
 
 
     @GetMapping("/guest")
     @RequireRole("GUEST")
-    public ResponseEntity<List<ReservationResponse>> getByGuest(UserContext userContext) {
-        return ResponseEntity.ok(reservationService.getByGuestId(userContext));
+    public ResponseEntity<List<ReservationResponse>> getByGuest(
+            @RequestParam(required = false) String fields,
+            UserContext userContext,
+            ServletWebRequest webRequest) {
+        Set<ReservationField> selected = ReservationField.parse(fields);
+        if (conditionalGetHandler.checkNotModified(webRequest, "guest", variant(selected),
+                reservationService.getGuestListingVersion(userContext))) {
+            return null;
+        }
+        return ResponseEntity.ok(reservationService.getByGuestId(userContext, selected));
     }
 
     @GetMapping("/host")
     @RequireRole("HOST")
-    public ResponseEntity<List<ReservationWithGuestInfoResponse>> getByHost(UserContext userContext) {
-        return ResponseEntity.ok(reservationService.getByHostIdWithGuestInfo(userContext));
+    public ResponseEntity<List<ReservationWithGuestInfoResponse>> getByHost(
+            @RequestParam(required = false) String fields,
+            UserContext userContext,
+            ServletWebRequest webRequest) {
+        Set<ReservationField> selected = ReservationField.parse(fields);
+        if (conditionalGetHandler.checkNotModified(webRequest, "host", variant(selected),
+                reservationService.getHostListingVersion(userContext))) {
+            return null;
+        }
+        return ResponseEntity.ok(reservationService.getByHostIdWithGuestInfo(userContext, selected));
+    }
+
+    @GetMapping("/changes")
+    @RequireRole({"GUEST", "HOST"})
+    public ResponseEntity<ReservationChangesResponse> getChanges(
+            @RequestParam(defaultValue = "0") long since,
+            @RequestParam(defaultValue = "100") int limit,
+            @RequestParam(required = false) String fields,
+            UserContext userContext) {
+        return ResponseEntity.ok(reservationService.getChanges(userContext, since, limit, ReservationField.parse(fields)));
+    }
+
+    /**
+     * Pushes the host's reservation changes as they commit, replacing polling of {@code /host}.
+     */
+    @GetMapping(path = "/host/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @RequireRole("HOST")
+    public SseEmitter streamHostChanges(UserContext userContext) {
+        return hostChangeStreams.subscribe(userContext.userId());
+    }
+
+    @GetMapping("/host/summary")
+    @RequireRole("HOST")
+    public ResponseEntity<HostSummaryResponse> getHostSummary(UserContext userContext) {
+        return ResponseEntity.ok(reservationService.getHostSummary(userContext));
+    }
+
+    @GetMapping("/host/analytics")
+    @RequireRole("HOST")
+    public ResponseEntity<List<AccommodationAnalyticsResponse>> getHostAnalytics(
+            @RequestParam YearMonth from,
+            @RequestParam YearMonth to,
+            UserContext userContext) {
+        return ResponseEntity.ok(hostAnalyticsService.getAnalytics(userContext, from, to));
+    }
+
+    @GetMapping("/guest/archive")
+    @RequireRole("GUEST")
+    public ResponseEntity<List<ReservationResponse>> getArchivedByGuest(
+            @RequestParam(required = false) String fields,
+            UserContext userContext) {
+        return ResponseEntity.ok(reservationService.getArchivedByGuestId(userContext, ReservationField.parse(fields)));
+    }
+
+    @GetMapping("/host/archive")
+    @RequireRole("HOST")
+    public ResponseEntity<List<ReservationResponse>> getArchivedByHost(
+            @RequestParam(required = false) String fields,
+            UserContext userContext) {
+        return ResponseEntity.ok(reservationService.getArchivedByHostId(userContext, ReservationField.parse(fields)));
     }
 
 
@@ -86,4 +191,9 @@ public class ReservationController {
             UserContext userContext) {
         return ResponseEntity.ok(reservationService.rejectReservation(id, userContext));
     }
+
+    // The full response keeps the ETag it had before fieldsets existed
+    private static String variant(Set<ReservationField> fields) {
+        return fields.equals(ReservationField.ALL) ? "" : "fields=" + ReservationField.toParameter(fields);
+    }
 }
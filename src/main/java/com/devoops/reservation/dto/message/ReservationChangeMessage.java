@@ -0,0 +1,22 @@
+package com.devoops.reservation.dto.message;
+
+import com.devoops.reservation.entity.ReservationStatus;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * A committed reservation transition, sent between replicas over Postgres NOTIFY and pushed to
+ * the host's event stream. {@code from} is null for a new reservation, {@code to} for a deletion.
+ */
+public record ReservationChangeMessage(
+        UUID reservationId,
+        UUID accommodationId,
+        UUID guestId,
+        UUID hostId,
+        ReservationStatus from,
+        ReservationStatus to,
+        LocalDate startDate,
+        LocalDate endDate
+) {
+}
@@ -0,0 +1,66 @@
+package com.devoops.reservation.dto.request;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Response fields that cost extra work to fill, selectable through the {@code fields} parameter of
+ * the read endpoints. Names need a gRPC lookup per row and the cancellation count a grouped query;
+ * fields left out of the parameter are returned as absent.
+ */
+public enum ReservationField {
+    ACCOMMODATION_NAME("accommodationName"),
+    GUEST_NAME("guestName"),
+    HOST_NAME("hostName"),
+    GUEST_CANCELLATION_COUNT("guestCancellationCount");
+
+    public static final Set<ReservationField> ALL = Collections.unmodifiableSet(EnumSet.allOf(ReservationField.class));
+
+    /**
+     * Always present and free to return, so accepted in the parameter without effect.
+     */
+    private static final Set<String> BASE_FIELDS = Set.of(
+            "id", "accommodationId", "guestId", "hostId", "startDate", "endDate",
+            "guestCount", "totalPrice", "status", "createdAt", "updatedAt");
+
+    private final String parameterName;
+
+    ReservationField(String parameterName) {
+        this.parameterName = parameterName;
+    }
+
+    /**
+     * Parses a comma-separated {@code fields} parameter. A missing parameter selects every field,
+     * as before the parameter existed.
+     */
+    public static Set<ReservationField> parse(String fields) {
+        if (fields == null) {
+            return ALL;
+        }
+        EnumSet<ReservationField> selected = EnumSet.noneOf(ReservationField.class);
+        for (String name : fields.split(",")) {
+            String trimmed = name.trim();
+            if (trimmed.isEmpty() || BASE_FIELDS.contains(trimmed)) {
+                continue;
+            }
+            selected.add(Arrays.stream(values())
+                    .filter(field -> field.parameterName.equals(trimmed))
+                    .findFirst()
+                    .orElseThrow(() -> new IllegalArgumentException("Unknown reservation field: " + trimmed)));
+        }
+        return selected;
+    }
+
+    /**
+     * Canonical form of a selection, e.g. for telling response variants apart.
+     */
+    public static String toParameter(Set<ReservationField> fields) {
+        return fields.stream()
+                .sorted()
+                .map(field -> field.parameterName)
+                .collect(Collectors.joining(","));
+    }
+}
@@ -0,0 +1,16 @@
+package com.devoops.reservation.dto.response;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+import java.util.UUID;
+
+public record AccommodationAnalyticsResponse(
+        UUID accommodationId,
+        YearMonth month,
+        int daysInMonth,
+        long occupiedNights,
+        BigDecimal occupancyRate,
+        BigDecimal revenue,
+        BigDecimal revenueShare,
+        long revenueRank
+) {}
@@ -0,0 +1,22 @@
+package com.devoops.reservation.dto.response;
+
+import com.devoops.reservation.entity.ReservationStatus;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+public record HostSummaryResponse(
+        Map<ReservationStatus, Long> statusCounts,
+        long upcomingNights,
+        BigDecimal upcomingRevenue,
+        List<AccommodationSummary> accommodations
+) {
+    public record AccommodationSummary(
+            UUID accommodationId,
+            Map<ReservationStatus, Long> statusCounts,
+            long upcomingNights,
+            BigDecimal upcomingRevenue
+    ) {}
+}
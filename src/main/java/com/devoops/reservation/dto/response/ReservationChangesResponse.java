@@ -0,0 +1,28 @@
+package com.devoops.reservation.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * A page of delta sync. Pass {@code cursor} as {@code since} on the next call; while
+ * {@code hasMore} is true, further changes are already waiting.
+ */
+public record ReservationChangesResponse(
+        long cursor,
+        boolean hasMore,
+        List<Change> changes
+) {
+    /**
+     * A changed reservation, or a tombstone ({@code deleted}, no {@code reservation}) for one that
+     * was deleted or archived and should be dropped by the client.
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public record Change(
+            long seq,
+            UUID reservationId,
+            boolean deleted,
+            ReservationResponse reservation
+    ) {}
+}
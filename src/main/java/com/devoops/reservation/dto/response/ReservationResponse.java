@@ -1,12 +1,14 @@
 package com.devoops.reservation.dto.response;
 
 import com.devoops.reservation.entity.ReservationStatus;
+import com.fasterxml.jackson.annotation.JsonInclude;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.UUID;
 
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public record ReservationResponse(
         UUID id,
         UUID accommodationId,
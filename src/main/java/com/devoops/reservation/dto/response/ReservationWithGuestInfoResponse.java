@@ -1,12 +1,14 @@
 package com.devoops.reservation.dto.response;
 
 import com.devoops.reservation.entity.ReservationStatus;
+import com.fasterxml.jackson.annotation.JsonInclude;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.UUID;
 
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public record ReservationWithGuestInfoResponse(
         UUID id,
         UUID accommodationId,
@@ -22,9 +24,9 @@ public record ReservationWithGuestInfoResponse(
         ReservationStatus status,
         LocalDateTime createdAt,
         LocalDateTime updatedAt,
-        long guestCancellationCount
+        Long guestCancellationCount
 ) {
-    public static ReservationWithGuestInfoResponse from(ReservationResponse response, long cancellationCount) {
+    public static ReservationWithGuestInfoResponse from(ReservationResponse response, Long cancellationCount) {
         return new ReservationWithGuestInfoResponse(
                 response.id(),
                 response.accommodationId(),
@@ -0,0 +1,25 @@
+package com.devoops.reservation.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDate;
+
+@Entity
+@Table(name = "completed_stays")
+@Getter
+@Setter
+@NoArgsConstructor
+public class CompletedStay {
+
+    @EmbeddedId
+    private CompletedStayId id;
+
+    @Column(nullable = false)
+    private int stayCount;
+
+    @Column(nullable = false)
+    private LocalDate lastEndDate;
+}
@@ -0,0 +1,28 @@
+package com.devoops.reservation.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.util.UUID;
+
+@Embeddable
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode
+public class CompletedStayId implements Serializable {
+
+    @Column(nullable = false)
+    private UUID guestId;
+
+    @Column(nullable = false)
+    private UUID accommodationId;
+
+    @Column(nullable = false)
+    private UUID hostId;
+}
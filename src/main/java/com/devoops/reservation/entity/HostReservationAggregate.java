@@ -0,0 +1,48 @@
+package com.devoops.reservation.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Per host and accommodation reservation counts, kept up to date incrementally on every transition.
+ * Upcoming nights and revenue cover approved stays that have not ended yet.
+ */
+@Entity
+@Table(name = "host_reservation_aggregates")
+@Getter
+@Setter
+@NoArgsConstructor
+public class HostReservationAggregate {
+
+    @EmbeddedId
+    private HostReservationAggregateId id;
+
+    @Column(nullable = false)
+    private long pendingCount;
+
+    @Column(nullable = false)
+    private long approvedCount;
+
+    @Column(nullable = false)
+    private long rejectedCount;
+
+    @Column(nullable = false)
+    private long cancelledCount;
+
+    @Column(nullable = false)
+    private long expiredCount;
+
+    @Column(nullable = false)
+    private long upcomingNights;
+
+    @Column(nullable = false, precision = 14, scale = 2)
+    private BigDecimal upcomingRevenue;
+
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+}
@@ -6,6 +6,8 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 import lombok.experimental.SuperBuilder;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.JdbcTypeCode;
 import org.hibernate.annotations.SQLRestriction;
 import org.hibernate.type.SqlTypes;
@@ -17,12 +19,20 @@ import java.util.UUID;
 @Entity
 @Table(name = "reservations")
 @SQLRestriction("is_deleted = false")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Reservation.CACHE_REGION)
 @Getter
 @Setter
 @NoArgsConstructor
 @SuperBuilder
 public class Reservation extends BaseEntity {
 
+    /**
+     * Second-level cache region. Cache hits skip the {@code is_deleted} restriction, so callers
+     * loading by id must check {@link #isDeleted()} themselves.
+     */
+    public static final String CACHE_REGION = "reservations";
+
     @Column(nullable = false)
     private UUID accommodationId;
 
@@ -49,4 +59,10 @@ public class Reservation extends BaseEntity {
     @JdbcTypeCode(SqlTypes.NAMED_ENUM)
     @Column(nullable = false, columnDefinition = "reservation_status")
     private ReservationStatus status = ReservationStatus.PENDING;
+
+    /**
+     * Optimistic lock, so an update based on a stale copy fails instead of overwriting a newer state.
+     */
+    @Version
+    private Long version;
 }
\ No newline at end of file
@@ -4,5 +4,6 @@ public enum ReservationStatus {
     PENDING,
     APPROVED,
     REJECTED,
-    CANCELLED
+    CANCELLED,
+    EXPIRED
 }
\ No newline at end of file
@@ -1,28 +1,111 @@
 package com.devoops.reservation.grpc;
 
+import com.devoops.reservation.exception.ServiceUnavailableException;
 import com.devoops.reservation.grpc.proto.accommodation.AccommodationInternalServiceGrpc;
 import com.devoops.reservation.grpc.proto.accommodation.ReservationValidationRequest;
 import com.devoops.reservation.grpc.proto.accommodation.ReservationValidationResponse;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.grpc.StatusRuntimeException;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
 import net.devh.boot.grpc.client.inject.GrpcClient;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 
 @Component
 @Slf4j
 public class AccommodationGrpcClient {
 
-    @GrpcClient("accommodation-service")
+    public static final String UNKNOWN_ACCOMMODATION = "Unknown Accommodation";
+
+    private static final String SERVICE_NAME = "accommodation-service";
+
+    @GrpcClient(SERVICE_NAME)
     private AccommodationInternalServiceGrpc.AccommodationInternalServiceBlockingStub accommodationStub;
 
+    private final CircuitBreaker circuitBreaker;
+    private final Duration deadline;
+    private final Cache<UUID, String> lastKnownNames;
+    private final SingleFlight<ValidationKey, AccommodationValidationResult> inFlightValidations;
+
+    public AccommodationGrpcClient(
+            CircuitBreakerRegistry circuitBreakerRegistry,
+            MeterRegistry meterRegistry,
+            @Value("${grpc.client.accommodation-service.deadline:3s}") Duration deadline,
+            @Value("${grpc.client.accommodation-service.fallback-cache-size:10000}") long fallbackCacheSize) {
+        this.circuitBreaker = circuitBreakerRegistry.circuitBreaker(SERVICE_NAME);
+        this.deadline = deadline;
+        this.lastKnownNames = Caffeine.newBuilder()
+                .maximumSize(fallbackCacheSize)
+                .build();
+        this.inFlightValidations = new SingleFlight<>(SERVICE_NAME, meterRegistry);
+    }
+
+    /**
+     * Validates a stay and prices it. Pricing is never served from a fallback, so an unavailable
+     * accommodation service surfaces as {@link ServiceUnavailableException}.
+     */
     public AccommodationValidationResult validateAndCalculatePrice(
             UUID accommodationId,
             LocalDate startDate,
             LocalDate endDate,
             int guestCount) {
+        try {
+            return validate(accommodationId, startDate, endDate, guestCount);
+        } catch (CallNotPermittedException | StatusRuntimeException e) {
+            log.warn("Accommodation service unavailable for accommodationId={}: {}", accommodationId, e.getMessage());
+            throw new ServiceUnavailableException("Accommodation service is temporarily unavailable", e);
+        }
+    }
+
+    /**
+     * Resolves the display name of an accommodation. Falls back to the last name seen for the
+     * accommodation, then to {@link #UNKNOWN_ACCOMMODATION}, when the lookup is not valid or fails.
+     */
+    public String getAccommodationName(
+            UUID accommodationId,
+            LocalDate startDate,
+            LocalDate endDate,
+            int guestCount) {
+        try {
+            AccommodationValidationResult result = validate(accommodationId, startDate, endDate, guestCount);
+            if (result.valid()) {
+                lastKnownNames.put(accommodationId, result.accommodationName());
+                return result.accommodationName();
+            }
+        } catch (CallNotPermittedException | StatusRuntimeException e) {
+            log.warn("Accommodation service unavailable for accommodationId={}, using fallback name: {}",
+                    accommodationId, e.getMessage());
+        }
+        String cached = lastKnownNames.getIfPresent(accommodationId);
+        return cached != null ? cached : UNKNOWN_ACCOMMODATION;
+    }
+
+    private AccommodationValidationResult validate(
+            UUID accommodationId,
+            LocalDate startDate,
+            LocalDate endDate,
+            int guestCount) {
+        ValidationKey key = new ValidationKey(accommodationId, startDate, endDate, guestCount);
+        return inFlightValidations.execute(key, () -> circuitBreaker.executeSupplier(
+                () -> fetchValidation(accommodationId, startDate, endDate, guestCount)));
+    }
+
+    private AccommodationValidationResult fetchValidation(
+            UUID accommodationId,
+            LocalDate startDate,
+            LocalDate endDate,
+            int guestCount) {
 
         log.debug("Calling accommodation service for validation: accommodationId={}, dates={} to {}, guests={}",
                 accommodationId, startDate, endDate, guestCount);
@@ -34,7 +117,9 @@ public class AccommodationGrpcClient {
                 .setGuestCount(guestCount)
                 .build();
 
-        ReservationValidationResponse response = accommodationStub.validateAndCalculatePrice(request);
+        ReservationValidationResponse response = accommodationStub
+                .withDeadlineAfter(deadline.toMillis(), TimeUnit.MILLISECONDS)
+                .validateAndCalculatePrice(request);
 
         log.debug("Received validation response: valid={}, errorCode={}", response.getValid(), response.getErrorCode());
 
@@ -62,4 +147,6 @@ public class AccommodationGrpcClient {
                 response.getAccommodationName()
         );
     }
+
+    private record ValidationKey(UUID accommodationId, LocalDate startDate, LocalDate endDate, int guestCount) {}
 }
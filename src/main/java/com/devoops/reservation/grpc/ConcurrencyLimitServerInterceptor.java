@@ -0,0 +1,66 @@
+package com.devoops.reservation.grpc;
+
+import com.devoops.reservation.config.AdaptiveConcurrencyLimiter;
+import io.grpc.ForwardingServerCall;
+import io.grpc.ForwardingServerCallListener;
+import io.grpc.Metadata;
+import io.grpc.ServerCall;
+import io.grpc.ServerCallHandler;
+import io.grpc.ServerInterceptor;
+import io.grpc.Status;
+
+import java.util.Set;
+
+/**
+ * Sheds internal RPCs above the adaptive concurrency limit with RESOURCE_EXHAUSTED. All internal
+ * RPCs are read-only lookups, so they share the read limiter.
+ */
+public class ConcurrencyLimitServerInterceptor implements ServerInterceptor {
+
+    private static final Set<Status.Code> DROPPED_CODES = Set.of(
+            Status.Code.DEADLINE_EXCEEDED,
+            Status.Code.UNAVAILABLE,
+            Status.Code.RESOURCE_EXHAUSTED
+    );
+
+    private final AdaptiveConcurrencyLimiter limiter;
+
+    public ConcurrencyLimitServerInterceptor(AdaptiveConcurrencyLimiter limiter) {
+        this.limiter = limiter;
+    }
+
+    @Override
+    public <ReqT, RespT> ServerCall.Listener<ReqT> interceptCall(
+            ServerCall<ReqT, RespT> call, Metadata headers, ServerCallHandler<ReqT, RespT> next) {
+        AdaptiveConcurrencyLimiter.Permit permit = limiter.tryAcquire();
+        if (permit == null) {
+            call.close(Status.RESOURCE_EXHAUSTED.withDescription("Server is overloaded, please retry later"),
+                    new Metadata());
+            return new ServerCall.Listener<>() {};
+        }
+
+        ServerCall<ReqT, RespT> limitedCall = new ForwardingServerCall.SimpleForwardingServerCall<>(call) {
+            @Override
+            public void close(Status status, Metadata trailers) {
+                permit.release(DROPPED_CODES.contains(status.getCode()));
+                super.close(status, trailers);
+            }
+        };
+
+        ServerCall.Listener<ReqT> listener;
+        try {
+            listener = next.startCall(limitedCall, headers);
+        } catch (RuntimeException e) {
+            permit.release();
+            throw e;
+        }
+
+        return new ForwardingServerCallListener.SimpleForwardingServerCallListener<>(listener) {
+            @Override
+            public void onCancel() {
+                permit.release(true);
+                super.onCancel();
+            }
+        };
+    }
+}
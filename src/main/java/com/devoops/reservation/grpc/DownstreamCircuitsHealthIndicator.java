@@ -0,0 +1,36 @@
+package com.devoops.reservation.grpc;
+
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.health.contributor.Health;
+import org.springframework.boot.health.contributor.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Reports downstream circuit breaker states on the health endpoint. The service stays UP
+ * while a circuit is open because reads degrade to cached or placeholder values instead of failing.
+ */
+@Component
+@RequiredArgsConstructor
+public class DownstreamCircuitsHealthIndicator implements HealthIndicator {
+
+    private final CircuitBreakerRegistry circuitBreakerRegistry;
+
+    @Override
+    public Health health() {
+        Health.Builder builder = Health.up();
+        for (CircuitBreaker circuitBreaker : circuitBreakerRegistry.getAllCircuitBreakers()) {
+            CircuitBreaker.Metrics metrics = circuitBreaker.getMetrics();
+            builder.withDetail(circuitBreaker.getName(), Map.of(
+                    "state", circuitBreaker.getState().name(),
+                    "failureRate", metrics.getFailureRate(),
+                    "slowCallRate", metrics.getSlowCallRate(),
+                    "notPermittedCalls", metrics.getNumberOfNotPermittedCalls()
+            ));
+        }
+        return builder.build();
+    }
+}
@@ -0,0 +1,146 @@
+package com.devoops.reservation.grpc;
+
+import com.google.protobuf.MessageLite;
+import io.grpc.Metadata;
+import io.grpc.Status;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+
+/**
+ * Per-method call metrics shared by the server and client interceptors: a latency timer with SLO
+ * buckets, a completed-call counter per status code, an in-flight gauge and message size summaries.
+ * Every meter is tagged with the full method name and the peer, which is the calling service on
+ * the server side and the target channel on the client side.
+ */
+public class GrpcCallMetrics {
+
+    /**
+     * Set by our gRPC clients to identify themselves to the server.
+     */
+    public static final Metadata.Key<String> CALLER_SERVICE_KEY =
+            Metadata.Key.of("x-caller-service", Metadata.ASCII_STRING_MARSHALLER);
+
+    private static final String UNKNOWN_CALLER = "unknown";
+    private static final Pattern CALLER_PATTERN = Pattern.compile("[a-z0-9][a-z0-9-]{0,62}");
+
+    private final String prefix;
+    private final String peerTag;
+    private final MeterRegistry meterRegistry;
+    private final Duration[] sloBuckets;
+    private final ConcurrentMap<List<String>, AtomicInteger> inFlight = new ConcurrentHashMap<>();
+
+    public GrpcCallMetrics(String prefix, String peerTag, MeterRegistry meterRegistry, List<Duration> sloBuckets) {
+        this.prefix = prefix;
+        this.peerTag = peerTag;
+        this.meterRegistry = meterRegistry;
+        this.sloBuckets = sloBuckets.toArray(Duration[]::new);
+    }
+
+    /**
+     * Reads the caller tag from request metadata. Values that are missing or do not look like a
+     * service name are reported as "unknown" to keep the tag cardinality bounded.
+     */
+    public static String callerOf(Metadata headers) {
+        String caller = headers.get(CALLER_SERVICE_KEY);
+        if (caller == null) {
+            return UNKNOWN_CALLER;
+        }
+        caller = caller.toLowerCase(Locale.ROOT);
+        return CALLER_PATTERN.matcher(caller).matches() ? caller : UNKNOWN_CALLER;
+    }
+
+    public Call start(String method, String peer) {
+        return new Call(method, peer);
+    }
+
+    private AtomicInteger inFlightCounter(String method, String peer) {
+        return inFlight.computeIfAbsent(List.of(method, peer), key -> {
+            AtomicInteger counter = new AtomicInteger();
+            Gauge.builder(prefix + ".in.flight", counter, AtomicInteger::get)
+                    .description("Calls currently in progress")
+                    .tag("method", method)
+                    .tag(peerTag, peer)
+                    .register(meterRegistry);
+            return counter;
+        });
+    }
+
+    /**
+     * One observed call. {@link #finish(Status)} is idempotent, so both a close and a
+     * cancellation can report completion without double counting.
+     */
+    public class Call {
+
+        private final String method;
+        private final String peer;
+        private final long startNanos = System.nanoTime();
+        private final AtomicInteger inFlightCounter;
+        private final AtomicBoolean finished = new AtomicBoolean();
+
+        private Call(String method, String peer) {
+            this.method = method;
+            this.peer = peer;
+            this.inFlightCounter = inFlightCounter(method, peer);
+            inFlightCounter.incrementAndGet();
+        }
+
+        public void messageSent(Object message) {
+            recordMessage("sent", message);
+        }
+
+        public void messageReceived(Object message) {
+            recordMessage("received", message);
+        }
+
+        public void finish(Status status) {
+            if (!finished.compareAndSet(false, true)) {
+                return;
+            }
+            inFlightCounter.decrementAndGet();
+            String code = status.getCode().name();
+
+            Timer.builder(prefix + ".latency")
+                    .description("Call latency per method")
+                    .tag("method", method)
+                    .tag(peerTag, peer)
+                    .tag("status", code)
+                    .serviceLevelObjectives(sloBuckets)
+                    .register(meterRegistry)
+                    .record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+            Counter.builder(prefix + ".completed")
+                    .description("Completed calls per method and status code")
+                    .tag("method", method)
+                    .tag(peerTag, peer)
+                    .tag("status", code)
+                    .register(meterRegistry)
+                    .increment();
+        }
+
+        private void recordMessage(String direction, Object message) {
+            if (!(message instanceof MessageLite protoMessage)) {
+                return;
+            }
+            DistributionSummary.builder(prefix + ".message.size")
+                    .description("Serialized message size per method")
+                    .baseUnit("bytes")
+                    .tag("method", method)
+                    .tag(peerTag, peer)
+                    .tag("direction", direction)
+                    .register(meterRegistry)
+                    .record(protoMessage.getSerializedSize());
+        }
+    }
+}
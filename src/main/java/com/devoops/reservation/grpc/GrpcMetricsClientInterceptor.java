@@ -0,0 +1,62 @@
+package com.devoops.reservation.grpc;
+
+import io.grpc.CallOptions;
+import io.grpc.Channel;
+import io.grpc.ClientCall;
+import io.grpc.ClientInterceptor;
+import io.grpc.ForwardingClientCall;
+import io.grpc.ForwardingClientCallListener;
+import io.grpc.Metadata;
+import io.grpc.MethodDescriptor;
+import io.grpc.Status;
+
+/**
+ * Records {@link GrpcCallMetrics} for every call made on a channel, tagged with the channel name,
+ * and identifies this service to the server through the caller metadata header.
+ */
+public class GrpcMetricsClientInterceptor implements ClientInterceptor {
+
+    private final String target;
+    private final String callerService;
+    private final GrpcCallMetrics metrics;
+
+    public GrpcMetricsClientInterceptor(String target, String callerService, GrpcCallMetrics metrics) {
+        this.target = target;
+        this.callerService = callerService;
+        this.metrics = metrics;
+    }
+
+    @Override
+    public <ReqT, RespT> ClientCall<ReqT, RespT> interceptCall(
+            MethodDescriptor<ReqT, RespT> method, CallOptions callOptions, Channel next) {
+        return new ForwardingClientCall.SimpleForwardingClientCall<>(next.newCall(method, callOptions)) {
+
+            private GrpcCallMetrics.Call observed;
+
+            @Override
+            public void start(Listener<RespT> responseListener, Metadata headers) {
+                headers.put(GrpcCallMetrics.CALLER_SERVICE_KEY, callerService);
+                observed = metrics.start(method.getFullMethodName(), target);
+                super.start(new ForwardingClientCallListener.SimpleForwardingClientCallListener<>(responseListener) {
+                    @Override
+                    public void onMessage(RespT message) {
+                        observed.messageReceived(message);
+                        super.onMessage(message);
+                    }
+
+                    @Override
+                    public void onClose(Status status, Metadata trailers) {
+                        observed.finish(status);
+                        super.onClose(status, trailers);
+                    }
+                }, headers);
+            }
+
+            @Override
+            public void sendMessage(ReqT message) {
+                observed.messageSent(message);
+                super.sendMessage(message);
+            }
+        };
+    }
+}
@@ -0,0 +1,64 @@
+package com.devoops.reservation.grpc;
+
+import io.grpc.ForwardingServerCall;
+import io.grpc.ForwardingServerCallListener;
+import io.grpc.Metadata;
+import io.grpc.ServerCall;
+import io.grpc.ServerCallHandler;
+import io.grpc.ServerInterceptor;
+import io.grpc.Status;
+
+/**
+ * Records {@link GrpcCallMetrics} for every call served, tagged with the calling service.
+ */
+public class GrpcMetricsServerInterceptor implements ServerInterceptor {
+
+    private final GrpcCallMetrics metrics;
+
+    public GrpcMetricsServerInterceptor(GrpcCallMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    @Override
+    public <ReqT, RespT> ServerCall.Listener<ReqT> interceptCall(
+            ServerCall<ReqT, RespT> call, Metadata headers, ServerCallHandler<ReqT, RespT> next) {
+        GrpcCallMetrics.Call observed = metrics.start(
+                call.getMethodDescriptor().getFullMethodName(), GrpcCallMetrics.callerOf(headers));
+
+        ServerCall<ReqT, RespT> instrumentedCall = new ForwardingServerCall.SimpleForwardingServerCall<>(call) {
+            @Override
+            public void sendMessage(RespT message) {
+                observed.messageSent(message);
+                super.sendMessage(message);
+            }
+
+            @Override
+            public void close(Status status, Metadata trailers) {
+                observed.finish(status);
+                super.close(status, trailers);
+            }
+        };
+
+        ServerCall.Listener<ReqT> listener;
+        try {
+            listener = next.startCall(instrumentedCall, headers);
+        } catch (RuntimeException e) {
+            observed.finish(Status.fromThrowable(e));
+            throw e;
+        }
+
+        return new ForwardingServerCallListener.SimpleForwardingServerCallListener<>(listener) {
+            @Override
+            public void onMessage(ReqT message) {
+                observed.messageReceived(message);
+                super.onMessage(message);
+            }
+
+            @Override
+            public void onCancel() {
+                observed.finish(Status.CANCELLED);
+                super.onCancel();
+            }
+        };
+    }
+}
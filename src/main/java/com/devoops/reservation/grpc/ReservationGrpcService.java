@@ -1,8 +1,16 @@
 package com.devoops.reservation.grpc;
 
+import com.devoops.reservation.dto.request.ReservationField;
+import com.devoops.reservation.dto.response.ReservationResponse;
 import com.devoops.reservation.entity.Reservation;
+import com.devoops.reservation.exception.InvalidReservationException;
 import com.devoops.reservation.grpc.proto.*;
+import com.devoops.reservation.repository.ReservationCountView;
 import com.devoops.reservation.repository.ReservationRepository;
+import com.devoops.reservation.service.CompletedStayService;
+import com.devoops.reservation.service.ReservationService;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
 import io.grpc.stub.StreamObserver;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -10,7 +18,10 @@ import net.devh.boot.grpc.server.service.GrpcService;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.stream.Collectors;
 
 @GrpcService
 @RequiredArgsConstructor
@@ -18,6 +29,8 @@ import java.util.UUID;
 public class ReservationGrpcService extends ReservationInternalServiceGrpc.ReservationInternalServiceImplBase {
 
     private final ReservationRepository reservationRepository;
+    private final CompletedStayService completedStayService;
+    private final ReservationService reservationService;
 
     @Override
     public void checkReservationsExist(CheckReservationsExistRequest request,
@@ -50,18 +63,7 @@ public class ReservationGrpcService extends ReservationInternalServiceGrpc.Reser
 
         long activeCount = reservationRepository.countActiveReservationsForGuest(guestId, today);
 
-        CheckDeletionResponse.Builder responseBuilder = CheckDeletionResponse.newBuilder()
-                .setActiveReservationCount((int) activeCount);
-
-        if (activeCount > 0) {
-            responseBuilder.setCanBeDeleted(false)
-                    .setReason("Guest has " + activeCount + " active reservation(s)");
-        } else {
-            responseBuilder.setCanBeDeleted(true)
-                    .setReason("");
-        }
-
-        responseObserver.onNext(responseBuilder.build());
+        responseObserver.onNext(guestDeletionResponse(activeCount));
         responseObserver.onCompleted();
     }
 
@@ -75,41 +77,208 @@ public class ReservationGrpcService extends ReservationInternalServiceGrpc.Reser
 
         long activeCount = reservationRepository.countActiveReservationsForHost(hostId, today);
 
+        responseObserver.onNext(hostDeletionResponse(activeCount));
+        responseObserver.onCompleted();
+    }
+
+    @Override
+    public void checkRatingEligibility(CheckRatingEligibilityRequest request,
+                                       StreamObserver<CheckRatingEligibilityResponse> responseObserver) {
+        UUID guestId = UUID.fromString(request.getGuestId());
+        UUID targetId = UUID.fromString(request.getTargetId());
+
+        log.debug("gRPC: Checking rating eligibility for guest {} targeting {} (type={})",
+                guestId, targetId, request.getTargetType());
+
+        boolean eligible = completedStayService
+                .findEligibleTargets(guestId, request.getTargetType(), List.of(targetId))
+                .contains(targetId);
+
+        responseObserver.onNext(ratingEligibilityResponse(eligible));
+        responseObserver.onCompleted();
+    }
+
+    @Override
+    public void checkGuestsCanBeDeleted(CheckGuestsDeletionRequest request,
+                                        StreamObserver<CheckDeletionBatchResponse> responseObserver) {
+        List<UUID> guestIds;
+        try {
+            guestIds = parseBatchIds(request.getGuestIdsList());
+        } catch (IllegalArgumentException | InvalidReservationException e) {
+            responseObserver.onError(invalidArgument(e));
+            return;
+        }
+
+        log.debug("gRPC: Checking if {} guests can be deleted", guestIds.size());
+
+        Map<UUID, Long> activeCounts = guestIds.isEmpty()
+                ? Map.of()
+                : toCountMap(reservationRepository.countActiveReservationsForGuests(guestIds, LocalDate.now()));
+
+        CheckDeletionBatchResponse.Builder responseBuilder = CheckDeletionBatchResponse.newBuilder();
+        for (UUID guestId : guestIds) {
+            responseBuilder.addResults(guestDeletionResponse(activeCounts.getOrDefault(guestId, 0L)));
+        }
+
+        responseObserver.onNext(responseBuilder.build());
+        responseObserver.onCompleted();
+    }
+
+    @Override
+    public void checkHostsCanBeDeleted(CheckHostsDeletionRequest request,
+                                       StreamObserver<CheckDeletionBatchResponse> responseObserver) {
+        List<UUID> hostIds;
+        try {
+            hostIds = parseBatchIds(request.getHostIdsList());
+        } catch (IllegalArgumentException | InvalidReservationException e) {
+            responseObserver.onError(invalidArgument(e));
+            return;
+        }
+
+        log.debug("gRPC: Checking if {} hosts can be deleted", hostIds.size());
+
+        Map<UUID, Long> activeCounts = hostIds.isEmpty()
+                ? Map.of()
+                : toCountMap(reservationRepository.countActiveReservationsForHosts(hostIds, LocalDate.now()));
+
+        CheckDeletionBatchResponse.Builder responseBuilder = CheckDeletionBatchResponse.newBuilder();
+        for (UUID hostId : hostIds) {
+            responseBuilder.addResults(hostDeletionResponse(activeCounts.getOrDefault(hostId, 0L)));
+        }
+
+        responseObserver.onNext(responseBuilder.build());
+        responseObserver.onCompleted();
+    }
+
+    @Override
+    public void checkRatingEligibilityBatch(CheckRatingEligibilityBatchRequest request,
+                                            StreamObserver<CheckRatingEligibilityBatchResponse> responseObserver) {
+        UUID guestId;
+        List<UUID> targetIds;
+        try {
+            guestId = UUID.fromString(request.getGuestId());
+            targetIds = parseBatchIds(request.getTargetIdsList());
+        } catch (IllegalArgumentException | InvalidReservationException e) {
+            responseObserver.onError(invalidArgument(e));
+            return;
+        }
+
+        log.debug("gRPC: Checking rating eligibility for guest {} against {} targets (type={})",
+                guestId, targetIds.size(), request.getTargetType());
+
+        Set<UUID> eligibleTargets = completedStayService.findEligibleTargets(
+                guestId, request.getTargetType(), targetIds);
+
+        CheckRatingEligibilityBatchResponse.Builder responseBuilder = CheckRatingEligibilityBatchResponse.newBuilder();
+        for (UUID targetId : targetIds) {
+            responseBuilder.addResults(ratingEligibilityResponse(eligibleTargets.contains(targetId)));
+        }
+
+        responseObserver.onNext(responseBuilder.build());
+        responseObserver.onCompleted();
+    }
+
+    @Override
+    public void getReservationsByIds(GetReservationsByIdsRequest request,
+                                     StreamObserver<GetReservationsByIdsResponse> responseObserver) {
+        List<UUID> reservationIds;
+        List<ReservationResponse> reservations;
+        try {
+            reservationIds = parseIds(request.getReservationIdsList());
+            log.debug("gRPC: Getting {} reservations by id", reservationIds.size());
+            reservations = reservationService.getByIds(reservationIds,
+                    request.getIncludeNames() ? ReservationField.ALL : Set.of());
+        } catch (IllegalArgumentException | InvalidReservationException e) {
+            responseObserver.onError(invalidArgument(e));
+            return;
+        }
+
+        GetReservationsByIdsResponse.Builder responseBuilder = GetReservationsByIdsResponse.newBuilder();
+        reservations.forEach(reservation -> responseBuilder.addReservations(reservationSummary(reservation)));
+
+        responseObserver.onNext(responseBuilder.build());
+        responseObserver.onCompleted();
+    }
+
+    // === Helper Methods ===
+
+    private ReservationSummary reservationSummary(ReservationResponse reservation) {
+        ReservationSummary.Builder builder = ReservationSummary.newBuilder()
+                .setId(reservation.id().toString())
+                .setAccommodationId(reservation.accommodationId().toString())
+                .setGuestId(reservation.guestId().toString())
+                .setHostId(reservation.hostId().toString())
+                .setStartDate(reservation.startDate().toString())
+                .setEndDate(reservation.endDate().toString())
+                .setGuestCount(reservation.guestCount())
+                .setTotalPrice(reservation.totalPrice().toPlainString())
+                .setStatus(reservation.status().name());
+        if (reservation.accommodationName() != null) {
+            builder.setAccommodationName(reservation.accommodationName());
+        }
+        if (reservation.guestName() != null) {
+            builder.setGuestName(reservation.guestName());
+        }
+        if (reservation.hostName() != null) {
+            builder.setHostName(reservation.hostName());
+        }
+        return builder.build();
+    }
+
+    private CheckDeletionResponse guestDeletionResponse(long activeCount) {
+        return deletionResponse(activeCount, "Guest has " + activeCount + " active reservation(s)");
+    }
+
+    private CheckDeletionResponse hostDeletionResponse(long activeCount) {
+        return deletionResponse(activeCount,
+                "Host has " + activeCount + " active reservation(s) on their accommodations");
+    }
+
+    private CheckDeletionResponse deletionResponse(long activeCount, String blockedReason) {
         CheckDeletionResponse.Builder responseBuilder = CheckDeletionResponse.newBuilder()
                 .setActiveReservationCount((int) activeCount);
 
         if (activeCount > 0) {
             responseBuilder.setCanBeDeleted(false)
-                    .setReason("Host has " + activeCount + " active reservation(s) on their accommodations");
+                    .setReason(blockedReason);
         } else {
             responseBuilder.setCanBeDeleted(true)
                     .setReason("");
         }
 
-        responseObserver.onNext(responseBuilder.build());
-        responseObserver.onCompleted();
+        return responseBuilder.build();
     }
 
-    @Override
-    public void checkRatingEligibility(CheckRatingEligibilityRequest request,
-                                       StreamObserver<CheckRatingEligibilityResponse> responseObserver) {
-        UUID guestId = UUID.fromString(request.getGuestId());
-        UUID targetId = UUID.fromString(request.getTargetId());
-        LocalDate today = LocalDate.now();
+    private CheckRatingEligibilityResponse ratingEligibilityResponse(boolean eligible) {
+        return CheckRatingEligibilityResponse.newBuilder()
+                .setEligible(eligible)
+                .setReason(eligible ? "" : "No completed past stays found")
+                .build();
+    }
 
-        log.debug("gRPC: Checking rating eligibility for guest {} targeting {} (type={})",
-                guestId, targetId, request.getTargetType());
+    /**
+     * Parses the ids of a batch check, capped like the multi-get so the IN list stays bounded.
+     */
+    private List<UUID> parseBatchIds(List<String> ids) {
+        if (ids.size() > ReservationService.MAX_IDS_PER_REQUEST) {
+            throw new InvalidReservationException(
+                    "At most " + ReservationService.MAX_IDS_PER_REQUEST + " ids can be checked at once");
+        }
+        return parseIds(ids);
+    }
 
-        long count = "HOST".equals(request.getTargetType())
-                ? reservationRepository.countCompletedStaysWithHost(guestId, targetId, today)
-                : reservationRepository.countCompletedStaysAtAccommodation(guestId, targetId, today);
+    private static StatusRuntimeException invalidArgument(RuntimeException e) {
+        return Status.INVALID_ARGUMENT.withDescription(e.getMessage()).asRuntimeException();
+    }
 
-        CheckRatingEligibilityResponse response = CheckRatingEligibilityResponse.newBuilder()
-                .setEligible(count > 0)
-                .setReason(count == 0 ? "No completed past stays found" : "")
-                .build();
+    private List<UUID> parseIds(List<String> ids) {
+        return ids.stream()
+                .map(UUID::fromString)
+                .toList();
+    }
 
-        responseObserver.onNext(response);
-        responseObserver.onCompleted();
+    private Map<UUID, Long> toCountMap(List<ReservationCountView> counts) {
+        return counts.stream()
+                .collect(Collectors.toMap(ReservationCountView::getId, ReservationCountView::getReservationCount));
     }
 }
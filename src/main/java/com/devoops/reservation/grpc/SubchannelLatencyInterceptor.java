@@ -0,0 +1,116 @@
+package com.devoops.reservation.grpc;
+
+import io.grpc.CallOptions;
+import io.grpc.Channel;
+import io.grpc.ClientCall;
+import io.grpc.ClientInterceptor;
+import io.grpc.ForwardingClientCall;
+import io.grpc.ForwardingClientCallListener;
+import io.grpc.Grpc;
+import io.grpc.Metadata;
+import io.grpc.MethodDescriptor;
+import io.grpc.Status;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Records call latency per downstream endpoint (the subchannel the call was routed to), so that
+ * one slow replica behind a balanced channel is visible instead of being averaged away.
+ * Replicas come and go with deployments, so the meters of an endpoint that received no call for
+ * {@code idleTimeout} are removed; the endpoint tag only ever holds recently used addresses.
+ */
+public class SubchannelLatencyInterceptor implements ClientInterceptor {
+
+    static final String METER_NAME = "grpc.client.subchannel.latency";
+    private static final String UNASSIGNED = "unassigned";
+
+    private final String client;
+    private final MeterRegistry meterRegistry;
+    private final long idleTimeoutNanos;
+    private final LongSupplier nanoClock;
+    private final Map<String, Long> lastRecordedNanos = new ConcurrentHashMap<>();
+    private final AtomicLong nextSweepNanos;
+
+    public SubchannelLatencyInterceptor(String client, MeterRegistry meterRegistry, Duration idleTimeout) {
+        this(client, meterRegistry, idleTimeout, System::nanoTime);
+    }
+
+    SubchannelLatencyInterceptor(String client, MeterRegistry meterRegistry, Duration idleTimeout,
+                                 LongSupplier nanoClock) {
+        this.client = client;
+        this.meterRegistry = meterRegistry;
+        this.idleTimeoutNanos = idleTimeout.toNanos();
+        this.nanoClock = nanoClock;
+        this.nextSweepNanos = new AtomicLong(nanoClock.getAsLong() + idleTimeoutNanos);
+    }
+
+    @Override
+    public <ReqT, RespT> ClientCall<ReqT, RespT> interceptCall(
+            MethodDescriptor<ReqT, RespT> method, CallOptions callOptions, Channel next) {
+        return new ForwardingClientCall.SimpleForwardingClientCall<>(next.newCall(method, callOptions)) {
+
+            private long startNanos;
+
+            @Override
+            public void start(Listener<RespT> responseListener, Metadata headers) {
+                startNanos = nanoClock.getAsLong();
+                super.start(new ForwardingClientCallListener.SimpleForwardingClientCallListener<>(responseListener) {
+                    @Override
+                    public void onClose(Status status, Metadata trailers) {
+                        SocketAddress endpoint = getAttributes().get(Grpc.TRANSPORT_ATTR_REMOTE_ADDR);
+                        record(endpoint, status, nanoClock.getAsLong() - startNanos);
+                        super.onClose(status, trailers);
+                    }
+                }, headers);
+            }
+        };
+    }
+
+    private void record(SocketAddress endpoint, Status status, long elapsedNanos) {
+        String endpointTag = describe(endpoint);
+        long now = nanoClock.getAsLong();
+        lastRecordedNanos.put(endpointTag, now);
+        Timer.builder(METER_NAME)
+                .description("Downstream call latency per resolved endpoint")
+                .tag("client", client)
+                .tag("endpoint", endpointTag)
+                .tag("status", status.getCode().name())
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(elapsedNanos, TimeUnit.NANOSECONDS);
+        removeIdleEndpoints(now);
+    }
+
+    /**
+     * Removes the meters of endpoints idle for the timeout, at most once per timeout. A call
+     * recorded while its endpoint is being removed may be lost; the next one registers it again.
+     */
+    private void removeIdleEndpoints(long now) {
+        long nextSweep = nextSweepNanos.get();
+        if (now - nextSweep < 0 || !nextSweepNanos.compareAndSet(nextSweep, now + idleTimeoutNanos)) {
+            return;
+        }
+        lastRecordedNanos.forEach((endpointTag, lastRecorded) -> {
+            if (now - lastRecorded >= idleTimeoutNanos && lastRecordedNanos.remove(endpointTag, lastRecorded)) {
+                meterRegistry.find(METER_NAME).tag("client", client).tag("endpoint", endpointTag).meters()
+                        .forEach(meterRegistry::remove);
+            }
+        });
+    }
+
+    private static String describe(SocketAddress endpoint) {
+        if (endpoint instanceof InetSocketAddress inet) {
+            return inet.getHostString() + ":" + inet.getPort();
+        }
+        return endpoint != null ? endpoint.toString() : UNASSIGNED;
+    }
+}
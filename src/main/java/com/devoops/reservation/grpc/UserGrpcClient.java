@@ -3,40 +3,84 @@ package com.devoops.reservation.grpc;
 import com.devoops.reservation.grpc.proto.user.GetUserSummaryRequest;
 import com.devoops.reservation.grpc.proto.user.GetUserSummaryResponse;
 import com.devoops.reservation.grpc.proto.user.UserInternalServiceGrpc;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.grpc.StatusRuntimeException;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
 import net.devh.boot.grpc.client.inject.GrpcClient;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
 import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 
 @Component
 @Slf4j
 public class UserGrpcClient {
 
-    @GrpcClient("user-service")
+    private static final String SERVICE_NAME = "user-service";
+
+    @GrpcClient(SERVICE_NAME)
     private UserInternalServiceGrpc.UserInternalServiceBlockingStub userStub;
 
+    private final CircuitBreaker circuitBreaker;
+    private final Duration deadline;
+    private final Cache<UUID, UserSummaryResult> lastKnownSummaries;
+    private final SingleFlight<UUID, UserSummaryResult> inFlightLookups;
+
+    public UserGrpcClient(
+            CircuitBreakerRegistry circuitBreakerRegistry,
+            MeterRegistry meterRegistry,
+            @Value("${grpc.client.user-service.deadline:2s}") Duration deadline,
+            @Value("${grpc.client.user-service.fallback-cache-size:10000}") long fallbackCacheSize) {
+        this.circuitBreaker = circuitBreakerRegistry.circuitBreaker(SERVICE_NAME);
+        this.deadline = deadline;
+        this.lastKnownSummaries = Caffeine.newBuilder()
+                .maximumSize(fallbackCacheSize)
+                .build();
+        this.inFlightLookups = new SingleFlight<>(SERVICE_NAME, meterRegistry);
+    }
+
+    /**
+     * Looks up a user summary. While the user service is failing or the circuit is open,
+     * the last summary seen for the user is returned, or a not-found result if there is none.
+     */
     public UserSummaryResult getUserSummary(UUID userId) {
+        try {
+            UserSummaryResult result = inFlightLookups.execute(userId,
+                    () -> circuitBreaker.executeSupplier(() -> fetchUserSummary(userId)));
+            if (result.found()) {
+                lastKnownSummaries.put(userId, result);
+            }
+            return result;
+        } catch (CallNotPermittedException | StatusRuntimeException e) {
+            UserSummaryResult cached = lastKnownSummaries.getIfPresent(userId);
+            log.warn("User service unavailable for userId={}, using {} fallback: {}",
+                    userId, cached != null ? "cached" : "placeholder", e.getMessage());
+            return cached != null ? cached : notFound();
+        }
+    }
+
+    private UserSummaryResult fetchUserSummary(UUID userId) {
         log.debug("Calling user service for user summary: userId={}", userId);
 
         GetUserSummaryRequest request = GetUserSummaryRequest.newBuilder()
                 .setUserId(userId.toString())
                 .build();
 
-        GetUserSummaryResponse response = userStub.getUserSummary(request);
+        GetUserSummaryResponse response = userStub
+                .withDeadlineAfter(deadline.toMillis(), TimeUnit.MILLISECONDS)
+                .getUserSummary(request);
 
         log.debug("Received user summary response: found={}", response.getFound());
 
         if (!response.getFound()) {
-            return new UserSummaryResult(
-                    false,
-                    null,
-                    null,
-                    null,
-                    null,
-                    null,
-                    false
-            );
+            return notFound();
         }
 
         return new UserSummaryResult(
@@ -49,4 +93,16 @@ public class UserGrpcClient {
                 response.getIsDeleted()
         );
     }
+
+    private static UserSummaryResult notFound() {
+        return new UserSummaryResult(
+                false,
+                null,
+                null,
+                null,
+                null,
+                null,
+                false
+        );
+    }
 }
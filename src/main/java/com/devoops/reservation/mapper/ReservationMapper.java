@@ -3,6 +3,7 @@ package com.devoops.reservation.mapper;
 import com.devoops.reservation.dto.request.CreateReservationRequest;
 import com.devoops.reservation.dto.response.ReservationResponse;
 import com.devoops.reservation.entity.Reservation;
+import com.devoops.reservation.repository.ReservationView;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 
@@ -19,6 +20,7 @@ public interface ReservationMapper {
     @Mapping(target = "createdAt", ignore = true)
     @Mapping(target = "updatedAt", ignore = true)
     @Mapping(target = "isDeleted", ignore = true)
+    @Mapping(target = "version", ignore = true)
     Reservation toEntity(CreateReservationRequest request);
 
     @Mapping(target = "accommodationName", ignore = true)
@@ -30,4 +32,9 @@ public interface ReservationMapper {
     @Mapping(target = "guestName", source = "guestName")
     @Mapping(target = "hostName", source = "hostName")
     ReservationResponse toResponseWithNames(Reservation reservation, String accommodationName, String guestName, String hostName);
+
+    @Mapping(target = "accommodationName", source = "accommodationName")
+    @Mapping(target = "guestName", source = "guestName")
+    @Mapping(target = "hostName", source = "hostName")
+    ReservationResponse toResponseWithNames(ReservationView reservation, String accommodationName, String guestName, String hostName);
 }
\ No newline at end of file
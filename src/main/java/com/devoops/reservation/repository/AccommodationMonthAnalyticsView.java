@@ -0,0 +1,27 @@
+package com.devoops.reservation.repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Row of the monthly analytics query: one accommodation's occupancy and revenue in one month.
+ */
+public interface AccommodationMonthAnalyticsView {
+
+    UUID getAccommodationId();
+
+    LocalDate getMonth();
+
+    int getDaysInMonth();
+
+    long getOccupiedNights();
+
+    BigDecimal getOccupancyRate();
+
+    BigDecimal getRevenue();
+
+    BigDecimal getRevenueShare();
+
+    long getRevenueRank();
+}
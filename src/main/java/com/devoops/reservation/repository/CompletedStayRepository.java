@@ -0,0 +1,89 @@
+package com.devoops.reservation.repository;
+
+import com.devoops.reservation.entity.CompletedStay;
+import com.devoops.reservation.entity.CompletedStayId;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+public interface CompletedStayRepository extends JpaRepository<CompletedStay, CompletedStayId> {
+
+    /**
+     * Find the hosts, among the given ones, the guest has a rolled-up completed stay with.
+     */
+    @Query("""
+            SELECT DISTINCT c.id.hostId FROM CompletedStay c
+            WHERE c.id.guestId = :guestId
+            AND c.id.hostId IN :hostIds
+            """)
+    List<UUID> findHostIdsWithCompletedStays(
+            @Param("guestId") UUID guestId,
+            @Param("hostIds") Collection<UUID> hostIds
+    );
+
+    /**
+     * Find the accommodations, among the given ones, the guest has a rolled-up completed stay at.
+     */
+    @Query("""
+            SELECT c.id.accommodationId FROM CompletedStay c
+            WHERE c.id.guestId = :guestId
+            AND c.id.accommodationId IN :accommodationIds
+            """)
+    List<UUID> findAccommodationIdsWithCompletedStays(
+            @Param("guestId") UUID guestId,
+            @Param("accommodationIds") Collection<UUID> accommodationIds
+    );
+
+    /**
+     * Roll up approved reservations that ended after {@code after} and before {@code today}.
+     * Returns the number of (guest, accommodation, host) rows inserted or updated. The query space
+     * hint limits second-level cache invalidation to completed_stays instead of every region.
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "completed_stays"))
+    @Query(value = """
+            INSERT INTO completed_stays (guest_id, accommodation_id, host_id, stay_count, last_end_date)
+            SELECT r.guest_id, r.accommodation_id, r.host_id, COUNT(*), MAX(r.end_date)
+            FROM reservations r
+            WHERE r.status = 'APPROVED'
+            AND r.is_deleted = false
+            AND r.end_date > :after
+            AND r.end_date < :today
+            GROUP BY r.guest_id, r.accommodation_id, r.host_id
+            ON CONFLICT (guest_id, accommodation_id, host_id) DO UPDATE
+            SET stay_count = completed_stays.stay_count + EXCLUDED.stay_count,
+                last_end_date = GREATEST(completed_stays.last_end_date, EXCLUDED.last_end_date)
+            """, nativeQuery = true)
+    int rollUpCompletedStays(
+            @Param("after") LocalDate after,
+            @Param("today") LocalDate today
+    );
+
+    /**
+     * Add a single completed stay. Used for stays approved after their end date was already rolled up.
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "completed_stays"))
+    @Query(value = """
+            INSERT INTO completed_stays (guest_id, accommodation_id, host_id, stay_count, last_end_date)
+            VALUES (:guestId, :accommodationId, :hostId, 1, :endDate)
+            ON CONFLICT (guest_id, accommodation_id, host_id) DO UPDATE
+            SET stay_count = completed_stays.stay_count + 1,
+                last_end_date = GREATEST(completed_stays.last_end_date, EXCLUDED.last_end_date)
+            """, nativeQuery = true)
+    int addCompletedStay(
+            @Param("guestId") UUID guestId,
+            @Param("accommodationId") UUID accommodationId,
+            @Param("hostId") UUID hostId,
+            @Param("endDate") LocalDate endDate
+    );
+}
@@ -0,0 +1,142 @@
+package com.devoops.reservation.repository;
+
+import com.devoops.reservation.entity.HostReservationAggregate;
+import com.devoops.reservation.entity.HostReservationAggregateId;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+public interface HostReservationAggregateRepository
+        extends JpaRepository<HostReservationAggregate, HostReservationAggregateId> {
+
+    List<HostReservationAggregate> findByIdHostId(UUID hostId);
+
+    /**
+     * Add signed deltas to a host's accommodation row, creating it on first use.
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "host_reservation_aggregates"))
+    @Query(value = """
+            INSERT INTO host_reservation_aggregates (host_id, accommodation_id, pending_count, approved_count,
+                                                     rejected_count, cancelled_count, expired_count,
+                                                     upcoming_nights, upcoming_revenue, updated_at)
+            VALUES (:hostId, :accommodationId, :pending, :approved, :rejected, :cancelled, :expired,
+                    :upcomingNights, :upcomingRevenue, now())
+            ON CONFLICT (host_id, accommodation_id) DO UPDATE
+            SET pending_count = host_reservation_aggregates.pending_count + EXCLUDED.pending_count,
+                approved_count = host_reservation_aggregates.approved_count + EXCLUDED.approved_count,
+                rejected_count = host_reservation_aggregates.rejected_count + EXCLUDED.rejected_count,
+                cancelled_count = host_reservation_aggregates.cancelled_count + EXCLUDED.cancelled_count,
+                expired_count = host_reservation_aggregates.expired_count + EXCLUDED.expired_count,
+                upcoming_nights = host_reservation_aggregates.upcoming_nights + EXCLUDED.upcoming_nights,
+                upcoming_revenue = host_reservation_aggregates.upcoming_revenue + EXCLUDED.upcoming_revenue,
+                updated_at = now()
+            """, nativeQuery = true)
+    int applyDelta(
+            @Param("hostId") UUID hostId,
+            @Param("accommodationId") UUID accommodationId,
+            @Param("pending") long pending,
+            @Param("approved") long approved,
+            @Param("rejected") long rejected,
+            @Param("cancelled") long cancelled,
+            @Param("expired") long expired,
+            @Param("upcomingNights") long upcomingNights,
+            @Param("upcomingRevenue") BigDecimal upcomingRevenue
+    );
+
+    /**
+     * Next page of host ids that have reservations or aggregate rows, in id order.
+     * Used by the reconciliation job to walk all hosts in chunks.
+     */
+    @Query(value = """
+            SELECT host_id FROM (
+                SELECT DISTINCT host_id FROM reservations WHERE is_deleted = false AND host_id > :after
+                UNION
+                SELECT host_id FROM host_reservation_aggregates WHERE host_id > :after
+            ) hosts
+            ORDER BY host_id
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<UUID> findHostIdsAfter(@Param("after") UUID after, @Param("limit") int limit);
+
+    /**
+     * Take a host's transaction-scoped advisory lock. Transitions and the reconciliation of the
+     * host serialize on it, so no delta is overwritten by a recomputed value, including deltas
+     * that create the host's first aggregate row (row locks cannot cover rows that do not exist yet).
+     */
+    @Query(value = "SELECT 1 FROM pg_advisory_xact_lock(hashtext(CAST(:hostId AS text)))", nativeQuery = true)
+    int lockHost(@Param("hostId") UUID hostId);
+
+    /**
+     * Recompute the given hosts' rows from reservations and overwrite those that drifted.
+     * Returns the number of rows inserted or corrected.
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "host_reservation_aggregates"))
+    @Query(value = """
+            INSERT INTO host_reservation_aggregates (host_id, accommodation_id, pending_count, approved_count,
+                                                     rejected_count, cancelled_count, expired_count,
+                                                     upcoming_nights, upcoming_revenue, updated_at)
+            SELECT r.host_id,
+                   r.accommodation_id,
+                   COUNT(*) FILTER (WHERE r.status = 'PENDING'),
+                   COUNT(*) FILTER (WHERE r.status = 'APPROVED'),
+                   COUNT(*) FILTER (WHERE r.status = 'REJECTED'),
+                   COUNT(*) FILTER (WHERE r.status = 'CANCELLED'),
+                   COUNT(*) FILTER (WHERE r.status = 'EXPIRED'),
+                   COALESCE(SUM(r.end_date - r.start_date)
+                            FILTER (WHERE r.status = 'APPROVED' AND r.end_date >= :today), 0),
+                   COALESCE(SUM(r.total_price)
+                            FILTER (WHERE r.status = 'APPROVED' AND r.end_date >= :today), 0),
+                   now()
+            FROM reservations r
+            WHERE r.host_id IN (:hostIds)
+            AND r.is_deleted = false
+            GROUP BY r.host_id, r.accommodation_id
+            ON CONFLICT (host_id, accommodation_id) DO UPDATE
+            SET pending_count = EXCLUDED.pending_count,
+                approved_count = EXCLUDED.approved_count,
+                rejected_count = EXCLUDED.rejected_count,
+                cancelled_count = EXCLUDED.cancelled_count,
+                expired_count = EXCLUDED.expired_count,
+                upcoming_nights = EXCLUDED.upcoming_nights,
+                upcoming_revenue = EXCLUDED.upcoming_revenue,
+                updated_at = now()
+            WHERE (host_reservation_aggregates.pending_count, host_reservation_aggregates.approved_count,
+                   host_reservation_aggregates.rejected_count, host_reservation_aggregates.cancelled_count,
+                   host_reservation_aggregates.expired_count, host_reservation_aggregates.upcoming_nights,
+                   host_reservation_aggregates.upcoming_revenue)
+                IS DISTINCT FROM
+                  (EXCLUDED.pending_count, EXCLUDED.approved_count, EXCLUDED.rejected_count,
+                   EXCLUDED.cancelled_count, EXCLUDED.expired_count, EXCLUDED.upcoming_nights,
+                   EXCLUDED.upcoming_revenue)
+            """, nativeQuery = true)
+    int reconcileHosts(@Param("hostIds") Collection<UUID> hostIds, @Param("today") LocalDate today);
+
+    /**
+     * Delete the given hosts' rows for accommodations that no longer have any reservation.
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "host_reservation_aggregates"))
+    @Query(value = """
+            DELETE FROM host_reservation_aggregates a
+            WHERE a.host_id IN (:hostIds)
+            AND NOT EXISTS (
+                SELECT 1 FROM reservations r
+                WHERE r.host_id = a.host_id
+                AND r.accommodation_id = a.accommodation_id
+                AND r.is_deleted = false
+            )
+            """, nativeQuery = true)
+    int deleteOrphanedRows(@Param("hostIds") Collection<UUID> hostIds);
+}
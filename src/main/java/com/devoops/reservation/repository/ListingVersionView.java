@@ -0,0 +1,14 @@
+package com.devoops.reservation.repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * Result of a listing version query: the latest modification and the number of rows behind a
+ * listing. Either changes whenever a row of the listing is added, updated or removed.
+ */
+public interface ListingVersionView {
+
+    LocalDateTime getLastModified();
+
+    long getReservationCount();
+}
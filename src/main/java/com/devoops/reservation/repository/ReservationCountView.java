@@ -0,0 +1,13 @@
+package com.devoops.reservation.repository;
+
+import java.util.UUID;
+
+/**
+ * Row of a grouped count query: the grouping ID and the number of matching reservations.
+ */
+public interface ReservationCountView {
+
+    UUID getId();
+
+    long getReservationCount();
+}
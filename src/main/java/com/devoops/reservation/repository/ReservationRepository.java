@@ -2,24 +2,116 @@ package com.devoops.reservation.repository;
 
 import com.devoops.reservation.entity.Reservation;
 import com.devoops.reservation.entity.ReservationStatus;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 public interface ReservationRepository extends JpaRepository<Reservation, UUID> {
 
     List<Reservation> findByGuestId(UUID guestId);
 
+    /**
+     * Find and lock a reservation for a status change. Always read from the database, never from
+     * the second-level cache, so the change starts from the committed state; the row lock makes a
+     * concurrent transition (such as an expiry batch) finish first, whose result is then read.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.cache.retrieveMode", value = "BYPASS"))
+    @Query("SELECT r FROM Reservation r WHERE r.id = :id")
+    Optional<Reservation> findForUpdateById(@Param("id") UUID id);
+
+    @Query("SELECT r.accommodationId FROM Reservation r WHERE r.id = :id")
+    Optional<UUID> findAccommodationIdById(@Param("id") UUID id);
+
+    /**
+     * Take an accommodation's transaction-scoped advisory lock. Approvals serialize on it before
+     * locking any reservation row, so two approvals of overlapping reservations cannot each hold
+     * their own row while waiting for the other's. The two-key form keeps it apart from host locks.
+     */
+    @Query(value = "SELECT 1 FROM pg_advisory_xact_lock(hashtext('accommodation'), hashtext(CAST(:accommodationId AS text)))",
+            nativeQuery = true)
+    int lockAccommodation(@Param("accommodationId") UUID accommodationId);
+
     List<Reservation> findByHostId(UUID hostId);
 
     List<Reservation> findByAccommodationId(UUID accommodationId);
 
     List<Reservation> findByAccommodationIdAndStatus(UUID accommodationId, ReservationStatus status);
 
+    /**
+     * Find a guest's reservations as read-only views.
+     */
+    @Query("""
+            SELECT new com.devoops.reservation.repository.ReservationView(
+                r.id, r.accommodationId, r.guestId, r.hostId, r.startDate, r.endDate,
+                r.guestCount, r.totalPrice, r.status, r.createdAt, r.updatedAt)
+            FROM Reservation r
+            WHERE r.guestId = :guestId
+            """)
+    List<ReservationView> findViewsByGuestId(@Param("guestId") UUID guestId);
+
+    /**
+     * Find a host's reservations as read-only views.
+     */
+    @Query("""
+            SELECT new com.devoops.reservation.repository.ReservationView(
+                r.id, r.accommodationId, r.guestId, r.hostId, r.startDate, r.endDate,
+                r.guestCount, r.totalPrice, r.status, r.createdAt, r.updatedAt)
+            FROM Reservation r
+            WHERE r.hostId = :hostId
+            """)
+    List<ReservationView> findViewsByHostId(@Param("hostId") UUID hostId);
+
+    /**
+     * Version of a single reservation, used for conditional GETs, without loading the entity.
+     */
+    @Query("""
+            SELECT r.guestId AS guestId, r.hostId AS hostId, r.updatedAt AS lastModified FROM Reservation r
+            WHERE r.id = :id
+            """)
+    Optional<ReservationVersionView> findVersionById(@Param("id") UUID id);
+
+    /**
+     * Version of a guest's listing, used for conditional GETs.
+     */
+    @Query("""
+            SELECT MAX(r.updatedAt) AS lastModified, COUNT(r) AS reservationCount FROM Reservation r
+            WHERE r.guestId = :guestId
+            """)
+    ListingVersionView findGuestListingVersion(@Param("guestId") UUID guestId);
+
+    /**
+     * Version of a host's listing, used for conditional GETs. The listing shows each guest's
+     * cancellation count, so the guests' cancelled reservations are part of the version.
+     */
+    @Query(value = """
+            WITH listing AS (
+                SELECT guest_id, updated_at FROM reservations
+                WHERE host_id = :hostId
+                AND is_deleted = false
+            ),
+            cancellations AS (
+                SELECT c.updated_at FROM reservations c
+                WHERE c.guest_id IN (SELECT guest_id FROM listing)
+                AND c.status = 'CANCELLED'
+                AND c.is_deleted = false
+            )
+            SELECT GREATEST((SELECT MAX(updated_at) FROM listing),
+                            (SELECT MAX(updated_at) FROM cancellations)) AS "lastModified",
+                   (SELECT COUNT(*) FROM listing) + (SELECT COUNT(*) FROM cancellations) AS "reservationCount"
+            """, nativeQuery = true)
+    ListingVersionView findHostListingVersion(@Param("hostId") UUID hostId);
+
     /**
      * Find approved reservations that overlap with the given date range.
      * Used to check if dates are available for a new reservation.
@@ -38,9 +130,12 @@ public interface ReservationRepository extends JpaRepository<Reservation, UUID>
     );
 
     /**
-     * Find all pending reservations that overlap with the given date range.
-     * Used when approving a reservation to reject overlapping pending requests.
+     * Find and lock all pending reservations that overlap with the given date range, in id order.
+     * Used when approving a reservation to reject overlapping pending requests. A row held by a
+     * concurrent transition is waited on and dropped if it is no longer pending once that commits.
      */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.cache.retrieveMode", value = "BYPASS"))
     @Query("""
             SELECT r FROM Reservation r
             WHERE r.accommodationId = :accommodationId
@@ -48,6 +143,7 @@ public interface ReservationRepository extends JpaRepository<Reservation, UUID>
             AND r.id != :excludeId
             AND r.startDate < :endDate
             AND r.endDate > :startDate
+            ORDER BY r.id
             """)
     List<Reservation> findOverlappingPending(
             @Param("accommodationId") UUID accommodationId,
@@ -56,12 +152,91 @@ public interface ReservationRepository extends JpaRepository<Reservation, UUID>
             @Param("excludeId") UUID excludeId
     );
 
+    /**
+     * Occupancy and revenue per accommodation and month for a host's approved stays, for every
+     * month from {@code fromMonth} through {@code toMonth} (both first days of a month). Stays
+     * spanning months are split by night and their price is prorated. Accommodations without
+     * nights in a month have no row for it.
+     */
+    @Query(value = """
+            WITH months AS (
+                SELECT m::date AS month_start, (m + INTERVAL '1 month')::date AS month_end
+                FROM generate_series(CAST(:fromMonth AS date), CAST(:toMonth AS date), INTERVAL '1 month') AS m
+            ),
+            monthly AS (
+                SELECT r.accommodation_id,
+                       mo.month_start,
+                       mo.month_end - mo.month_start AS days_in_month,
+                       SUM(LEAST(r.end_date, mo.month_end) - GREATEST(r.start_date, mo.month_start)) AS occupied_nights,
+                       SUM(r.total_price * (LEAST(r.end_date, mo.month_end) - GREATEST(r.start_date, mo.month_start))
+                           / (r.end_date - r.start_date)) AS revenue
+                FROM months mo
+                JOIN reservations r
+                    ON r.start_date < mo.month_end
+                    AND r.end_date > mo.month_start
+                WHERE r.host_id = :hostId
+                AND r.status = 'APPROVED'
+                AND r.is_deleted = false
+                AND r.end_date > CAST(:fromMonth AS date)
+                GROUP BY r.accommodation_id, mo.month_start, mo.month_end
+            )
+            SELECT accommodation_id AS "accommodationId",
+                   month_start AS "month",
+                   days_in_month AS "daysInMonth",
+                   occupied_nights AS "occupiedNights",
+                   ROUND(occupied_nights::numeric / days_in_month, 4) AS "occupancyRate",
+                   ROUND(revenue, 2) AS "revenue",
+                   ROUND(revenue / NULLIF(SUM(revenue) OVER (PARTITION BY month_start), 0), 4) AS "revenueShare",
+                   RANK() OVER (PARTITION BY month_start ORDER BY revenue DESC) AS "revenueRank"
+            FROM monthly
+            ORDER BY month_start, "revenueRank", accommodation_id
+            """, nativeQuery = true)
+    List<AccommodationMonthAnalyticsView> findMonthlyAnalytics(
+            @Param("hostId") UUID hostId,
+            @Param("fromMonth") LocalDate fromMonth,
+            @Param("toMonth") LocalDate toMonth
+    );
+
+    /**
+     * Lock a batch of pending reservations whose stay started before {@code today}.
+     * Rows locked by a concurrent run are skipped instead of waited on.
+     */
+    @Query(value = """
+            SELECT * FROM reservations
+            WHERE status = 'PENDING'
+            AND is_deleted = false
+            AND start_date < :today
+            ORDER BY start_date
+            LIMIT :batchSize
+            FOR UPDATE SKIP LOCKED
+            """, nativeQuery = true)
+    List<Reservation> lockExpiredPending(
+            @Param("today") LocalDate today,
+            @Param("batchSize") int batchSize
+    );
+
     /**
      * Count cancelled reservations for a guest.
      * Used by hosts when reviewing reservation requests.
      */
     long countByGuestIdAndStatus(UUID guestId, ReservationStatus status);
 
+    /**
+     * Count reservations with the given status per guest.
+     * Guests without such reservations are absent from the result.
+     * Used by hosts when reviewing reservation requests.
+     */
+    @Query("""
+            SELECT r.guestId AS id, COUNT(r) AS reservationCount FROM Reservation r
+            WHERE r.guestId IN :guestIds
+            AND r.status = :status
+            GROUP BY r.guestId
+            """)
+    List<ReservationCountView> countByGuestIdsAndStatus(
+            @Param("guestIds") Collection<UUID> guestIds,
+            @Param("status") ReservationStatus status
+    );
+
     /**
      * Count active reservations for a guest (PENDING or APPROVED with endDate >= today).
      * Used to check if guest account can be deleted.
@@ -93,36 +268,112 @@ public interface ReservationRepository extends JpaRepository<Reservation, UUID>
     );
 
     /**
-     * Count completed stays (APPROVED, end date in past) for a guest at a specific accommodation.
-     * Used for rating eligibility checks.
+     * Count active reservations (PENDING or APPROVED with endDate >= today) per guest.
+     * Guests without active reservations are absent from the result.
+     * Used for batched guest account deletion checks.
      */
     @Query("""
-            SELECT COUNT(r) FROM Reservation r
+            SELECT r.guestId AS id, COUNT(r) AS reservationCount FROM Reservation r
+            WHERE r.guestId IN :guestIds
+            AND r.status IN ('PENDING', 'APPROVED')
+            AND r.endDate >= :today
+            GROUP BY r.guestId
+            """)
+    List<ReservationCountView> countActiveReservationsForGuests(
+            @Param("guestIds") Collection<UUID> guestIds,
+            @Param("today") LocalDate today
+    );
+
+    /**
+     * Count active reservations (PENDING or APPROVED with endDate >= today) per host.
+     * Hosts without active reservations are absent from the result.
+     * Used for batched host account deletion checks.
+     */
+    @Query("""
+            SELECT r.hostId AS id, COUNT(r) AS reservationCount FROM Reservation r
+            WHERE r.hostId IN :hostIds
+            AND r.status IN ('PENDING', 'APPROVED')
+            AND r.endDate >= :today
+            GROUP BY r.hostId
+            """)
+    List<ReservationCountView> countActiveReservationsForHosts(
+            @Param("hostIds") Collection<UUID> hostIds,
+            @Param("today") LocalDate today
+    );
+
+    /**
+     * Count completed stays (APPROVED, ended after {@code after} and before today) for a guest per accommodation.
+     * Used for rating eligibility checks of stays not yet rolled up into completed_stays.
+     */
+    @Query("""
+            SELECT r.accommodationId AS id, COUNT(r) AS reservationCount FROM Reservation r
             WHERE r.guestId = :guestId
-            AND r.accommodationId = :accommodationId
+            AND r.accommodationId IN :accommodationIds
             AND r.status = 'APPROVED'
+            AND r.endDate > :after
             AND r.endDate < :today
+            GROUP BY r.accommodationId
             """)
-    long countCompletedStaysAtAccommodation(
+    List<ReservationCountView> countCompletedStaysAtAccommodations(
             @Param("guestId") UUID guestId,
-            @Param("accommodationId") UUID accommodationId,
+            @Param("accommodationIds") Collection<UUID> accommodationIds,
+            @Param("after") LocalDate after,
             @Param("today") LocalDate today
     );
 
     /**
-     * Count completed stays (APPROVED, end date in past) for a guest with a specific host.
-     * Used for rating eligibility checks.
+     * Count completed stays (APPROVED, ended after {@code after} and before today) for a guest per host.
+     * Used for rating eligibility checks of stays not yet rolled up into completed_stays.
      */
     @Query("""
-            SELECT COUNT(r) FROM Reservation r
+            SELECT r.hostId AS id, COUNT(r) AS reservationCount FROM Reservation r
             WHERE r.guestId = :guestId
-            AND r.hostId = :hostId
+            AND r.hostId IN :hostIds
             AND r.status = 'APPROVED'
+            AND r.endDate > :after
             AND r.endDate < :today
+            GROUP BY r.hostId
             """)
-    long countCompletedStaysWithHost(
+    List<ReservationCountView> countCompletedStaysWithHosts(
+            @Param("guestId") UUID guestId,
+            @Param("hostIds") Collection<UUID> hostIds,
+            @Param("after") LocalDate after,
+            @Param("today") LocalDate today
+    );
+
+    /**
+     * Find the earliest end date, today or later, among a guest's approved reservations.
+     */
+    @Query("""
+            SELECT MIN(r.endDate) FROM Reservation r
+            WHERE r.guestId = :guestId
+            AND r.status = 'APPROVED'
+            AND r.endDate >= :today
+            """)
+    Optional<LocalDate> findNextApprovedEndDate(
             @Param("guestId") UUID guestId,
-            @Param("hostId") UUID hostId,
             @Param("today") LocalDate today
     );
+
+    /**
+     * Find a guest's reservations in archived partitions (ended before the retention period).
+     */
+    @Query(value = """
+            SELECT * FROM archive.reservations
+            WHERE guest_id = :guestId
+            AND is_deleted = false
+            ORDER BY end_date DESC
+            """, nativeQuery = true)
+    List<Reservation> findArchivedByGuestId(@Param("guestId") UUID guestId);
+
+    /**
+     * Find a host's reservations in archived partitions (ended before the retention period).
+     */
+    @Query(value = """
+            SELECT * FROM archive.reservations
+            WHERE host_id = :hostId
+            AND is_deleted = false
+            ORDER BY end_date DESC
+            """, nativeQuery = true)
+    List<Reservation> findArchivedByHostId(@Param("hostId") UUID hostId);
 }
@@ -0,0 +1,17 @@
+package com.devoops.reservation.repository;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Result of a single reservation's version query: the last modification, plus the guest and host
+ * needed for the access check.
+ */
+public interface ReservationVersionView {
+
+    UUID getGuestId();
+
+    UUID getHostId();
+
+    LocalDateTime getLastModified();
+}
@@ -0,0 +1,26 @@
+package com.devoops.reservation.repository;
+
+import com.devoops.reservation.entity.ReservationStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Read-only reservation row for list endpoints. Selected with a JPQL constructor expression, so no
+ * managed entity or dirty-checking snapshot is created.
+ */
+public record ReservationView(
+        UUID id,
+        UUID accommodationId,
+        UUID guestId,
+        UUID hostId,
+        LocalDate startDate,
+        LocalDate endDate,
+        int guestCount,
+        BigDecimal totalPrice,
+        ReservationStatus status,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt
+) {}
@@ -0,0 +1,37 @@
+package com.devoops.reservation.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CompletedStayRollupJob {
+
+    private final CompletedStayService completedStayService;
+
+    /**
+     * Catches up on any days missed while no replica was running.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void catchUpOnStartup() {
+        runRollup();
+    }
+
+    @Scheduled(cron = "${reservation.completed-stays.rollup-cron:0 5 0 * * *}")
+    public void rollUpDaily() {
+        runRollup();
+    }
+
+    private void runRollup() {
+        try {
+            completedStayService.rollUp();
+        } catch (RuntimeException e) {
+            log.error("Completed stays rollup failed", e);
+        }
+    }
+}
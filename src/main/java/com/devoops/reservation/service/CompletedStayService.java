@@ -0,0 +1,189 @@
+package com.devoops.reservation.service;
+
+import com.devoops.reservation.entity.Reservation;
+import com.devoops.reservation.entity.RollupWatermark;
+import com.devoops.reservation.repository.CompletedStayRepository;
+import com.devoops.reservation.repository.ReservationCountView;
+import com.devoops.reservation.repository.ReservationRepository;
+import com.devoops.reservation.repository.RollupWatermarkRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class CompletedStayService {
+
+    static final String WATERMARK_NAME = "completed_stays";
+
+    private final CompletedStayRepository completedStayRepository;
+    private final RollupWatermarkRepository watermarkRepository;
+    private final ReservationRepository reservationRepository;
+    private final RatingEligibilityCache eligibilityCache;
+
+    /**
+     * Rolls every approved reservation that ended since the last run into completed_stays.
+     * The watermark row lock makes concurrent runs on several replicas apply each day only once.
+     */
+    @Transactional
+    public int rollUp() {
+        LocalDate today = LocalDate.now();
+        LocalDate processedThrough = today.minusDays(1);
+        RollupWatermark watermark = lockWatermark();
+
+        if (!watermark.getProcessedThrough().isBefore(processedThrough)) {
+            return 0;
+        }
+
+        int rows = completedStayRepository.rollUpCompletedStays(watermark.getProcessedThrough(), today);
+        log.info("Rolled up completed stays ending {} to {}: {} row(s) updated",
+                watermark.getProcessedThrough().plusDays(1), processedThrough, rows);
+
+        watermark.setProcessedThrough(processedThrough);
+        watermarkRepository.save(watermark);
+        return rows;
+    }
+
+    /**
+     * Returns the targets (hosts or accommodations) the guest has at least one completed stay with.
+     * Cached answers are used first. Rolled-up stays are found by key; only stays that ended after
+     * the watermark are counted live.
+     */
+    @Transactional(readOnly = true)
+    public Set<UUID> findEligibleTargets(UUID guestId, String targetType, Collection<UUID> targetIds) {
+        if (targetIds.isEmpty()) {
+            return Set.of();
+        }
+
+        boolean hostTarget = "HOST".equals(targetType);
+        Map<UUID, Boolean> cached = eligibilityCache.getAll(guestId, hostTarget, targetIds);
+        Set<UUID> eligible = new HashSet<>();
+        cached.forEach((targetId, isEligible) -> {
+            if (isEligible) {
+                eligible.add(targetId);
+            }
+        });
+
+        List<UUID> uncached = targetIds.stream()
+                .filter(targetId -> !cached.containsKey(targetId))
+                .distinct()
+                .toList();
+        if (uncached.isEmpty()) {
+            return eligible;
+        }
+
+        Set<UUID> found = findEligibleUncached(guestId, hostTarget, uncached);
+        Instant recheckAt = found.size() < uncached.size() ? nextRecheck(guestId) : null;
+        for (UUID targetId : uncached) {
+            if (found.contains(targetId)) {
+                eligibilityCache.putEligible(guestId, hostTarget, targetId);
+            } else {
+                eligibilityCache.putIneligible(guestId, hostTarget, targetId, recheckAt);
+            }
+        }
+        eligible.addAll(found);
+        return eligible;
+    }
+
+    /**
+     * Reacts to a reservation becoming APPROVED: drops cached negative answers it may change and
+     * records it directly as a completed stay when its end date was already rolled up.
+     * Must run in the approving transaction.
+     */
+    @Transactional
+    public void recordApproval(Reservation reservation) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    eligibilityCache.invalidate(reservation);
+                }
+            });
+        } else {
+            eligibilityCache.invalidate(reservation);
+        }
+
+        if (reservation.getEndDate().isBefore(LocalDate.now())) {
+            recordLateApproval(reservation);
+        }
+    }
+
+    private Set<UUID> findEligibleUncached(UUID guestId, boolean hostTarget, List<UUID> targetIds) {
+        Set<UUID> eligible = new HashSet<>(hostTarget
+                ? completedStayRepository.findHostIdsWithCompletedStays(guestId, targetIds)
+                : completedStayRepository.findAccommodationIdsWithCompletedStays(guestId, targetIds));
+
+        List<UUID> remaining = targetIds.stream()
+                .filter(targetId -> !eligible.contains(targetId))
+                .toList();
+        if (remaining.isEmpty()) {
+            return eligible;
+        }
+
+        LocalDate after = processedThrough();
+        LocalDate today = LocalDate.now();
+        if (!after.isBefore(today.minusDays(1))) {
+            return eligible;
+        }
+
+        List<ReservationCountView> recentStays = hostTarget
+                ? reservationRepository.countCompletedStaysWithHosts(guestId, remaining, after, today)
+                : reservationRepository.countCompletedStaysAtAccommodations(guestId, remaining, after, today);
+        recentStays.forEach(stay -> eligible.add(stay.getId()));
+        return eligible;
+    }
+
+    /**
+     * Records a stay that was approved after its end date had already been rolled up, which the
+     * incremental rollup would otherwise never see.
+     */
+    private void recordLateApproval(Reservation reservation) {
+        RollupWatermark watermark = lockWatermark();
+        if (reservation.getEndDate().isAfter(watermark.getProcessedThrough())) {
+            return;
+        }
+
+        completedStayRepository.addCompletedStay(
+                reservation.getGuestId(),
+                reservation.getAccommodationId(),
+                reservation.getHostId(),
+                reservation.getEndDate()
+        );
+        log.info("Recorded late-approved completed stay for reservation {}", reservation.getId());
+    }
+
+    /**
+     * A stay counts as completed from the day after it ends, so a negative answer can only change
+     * then (or on a new approval, which invalidates it).
+     */
+    private Instant nextRecheck(UUID guestId) {
+        return reservationRepository.findNextApprovedEndDate(guestId, LocalDate.now())
+                .map(endDate -> endDate.plusDays(1).atStartOfDay(ZoneId.systemDefault()).toInstant())
+                .orElse(null);
+    }
+
+    private RollupWatermark lockWatermark() {
+        return watermarkRepository.findForUpdate(WATERMARK_NAME)
+                .orElseGet(() -> watermarkRepository.save(new RollupWatermark(WATERMARK_NAME, LocalDate.EPOCH)));
+    }
+
+    private LocalDate processedThrough() {
+        return watermarkRepository.findById(WATERMARK_NAME)
+                .map(RollupWatermark::getProcessedThrough)
+                .orElse(LocalDate.EPOCH);
+    }
+}
@@ -0,0 +1,83 @@
+package com.devoops.reservation.service;
+
+import com.devoops.reservation.repository.HostReservationAggregateRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Walks all hosts in chunks and recomputes their aggregates from reservations. Runs shortly after
+ * midnight so stays that ended the day before leave the upcoming totals.
+ */
+@Component
+@Slf4j
+public class HostAggregateReconciliationJob {
+
+    static final String LEASE_NAME = "host-aggregate-reconciliation";
+
+    private static final UUID FIRST_HOST_ID = new UUID(0, 0);
+
+    private final HostAggregateService hostAggregateService;
+    private final HostReservationAggregateRepository aggregateRepository;
+    private final SchedulerLease schedulerLease;
+    private final Counter correctedRows;
+    private final int chunkSize;
+    private final Duration leaseDuration;
+
+    public HostAggregateReconciliationJob(
+            HostAggregateService hostAggregateService,
+            HostReservationAggregateRepository aggregateRepository,
+            SchedulerLease schedulerLease,
+            MeterRegistry meterRegistry,
+            @Value("${reservation.host-aggregates.reconciliation-chunk-size:500}") int chunkSize,
+            @Value("${reservation.host-aggregates.reconciliation-lease-duration:1h}") Duration leaseDuration) {
+        this.hostAggregateService = hostAggregateService;
+        this.aggregateRepository = aggregateRepository;
+        this.schedulerLease = schedulerLease;
+        this.correctedRows = Counter.builder("reservation.host-aggregates.reconciled.rows")
+                .description("Host aggregate rows inserted, corrected or removed by reconciliation")
+                .register(meterRegistry);
+        this.chunkSize = chunkSize;
+        this.leaseDuration = leaseDuration;
+    }
+
+    @Scheduled(cron = "${reservation.host-aggregates.reconciliation-cron:0 15 0 * * *}")
+    public void reconcile() {
+        if (!schedulerLease.tryAcquire(LEASE_NAME, leaseDuration)) {
+            log.debug("Host aggregate reconciliation lease is held by another replica, skipping run");
+            return;
+        }
+
+        LocalDate today = LocalDate.now();
+        UUID after = FIRST_HOST_ID;
+        int hosts = 0;
+        int corrected = 0;
+        try {
+            List<UUID> hostIds;
+            do {
+                hostIds = aggregateRepository.findHostIdsAfter(after, chunkSize);
+                if (hostIds.isEmpty()) {
+                    break;
+                }
+                int chunkCorrected = hostAggregateService.reconcileHosts(hostIds, today);
+                correctedRows.increment(chunkCorrected);
+                corrected += chunkCorrected;
+                hosts += hostIds.size();
+                after = hostIds.getLast();
+            } while (hostIds.size() == chunkSize);
+        } catch (RuntimeException e) {
+            log.error("Host aggregate reconciliation failed after {} host(s)", hosts, e);
+            return;
+        }
+
+        log.info("Reconciled host aggregates for {} host(s), {} row(s) corrected", hosts, corrected);
+    }
+}
@@ -0,0 +1,93 @@
+package com.devoops.reservation.service;
+
+import com.devoops.reservation.entity.Reservation;
+import com.devoops.reservation.entity.ReservationStatus;
+import com.devoops.reservation.repository.HostReservationAggregateRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Maintains host_reservation_aggregates. Every transition is applied as a delta in the writing
+ * transaction; the reconciliation recomputes hosts from reservations to fix drift, including
+ * upcoming stays that have ended since the last run.
+ */
+@Service
+@RequiredArgsConstructor
+public class HostAggregateService {
+
+    private final HostReservationAggregateRepository aggregateRepository;
+
+    @EventListener
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void onTransition(ReservationTransitionEvent event) {
+        Reservation reservation = event.reservation();
+        Delta delta = new Delta(LocalDate.now());
+        if (event.from() != null) {
+            delta.add(reservation, event.from(), -1);
+        }
+        if (event.to() != null) {
+            delta.add(reservation, event.to(), 1);
+        }
+
+        aggregateRepository.lockHost(reservation.getHostId());
+        aggregateRepository.applyDelta(
+                reservation.getHostId(),
+                reservation.getAccommodationId(),
+                delta.count(ReservationStatus.PENDING),
+                delta.count(ReservationStatus.APPROVED),
+                delta.count(ReservationStatus.REJECTED),
+                delta.count(ReservationStatus.CANCELLED),
+                delta.count(ReservationStatus.EXPIRED),
+                delta.upcomingNights,
+                delta.upcomingRevenue
+        );
+    }
+
+    /**
+     * Recomputes the aggregates of the given hosts. Returns the number of rows that were missing,
+     * had drifted or were orphaned. The host locks are taken in id order so concurrent
+     * reconciliations of overlapping chunks cannot deadlock.
+     */
+    @Transactional
+    public int reconcileHosts(List<UUID> hostIds, LocalDate today) {
+        hostIds.stream().sorted().distinct().forEach(aggregateRepository::lockHost);
+        int corrected = aggregateRepository.reconcileHosts(hostIds, today);
+        int deleted = aggregateRepository.deleteOrphanedRows(hostIds);
+        return corrected + deleted;
+    }
+
+    private static final class Delta {
+
+        private final LocalDate today;
+        private final Map<ReservationStatus, Long> counts = new EnumMap<>(ReservationStatus.class);
+        private long upcomingNights;
+        private BigDecimal upcomingRevenue = BigDecimal.ZERO;
+
+        private Delta(LocalDate today) {
+            this.today = today;
+        }
+
+        private void add(Reservation reservation, ReservationStatus status, int sign) {
+            counts.merge(status, (long) sign, Long::sum);
+            if (status == ReservationStatus.APPROVED && !reservation.getEndDate().isBefore(today)) {
+                upcomingNights += sign * ChronoUnit.DAYS.between(reservation.getStartDate(), reservation.getEndDate());
+                upcomingRevenue = upcomingRevenue.add(reservation.getTotalPrice().multiply(BigDecimal.valueOf(sign)));
+            }
+        }
+
+        private long count(ReservationStatus status) {
+            return counts.getOrDefault(status, 0L);
+        }
+    }
+}
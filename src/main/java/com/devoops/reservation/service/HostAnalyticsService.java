@@ -0,0 +1,129 @@
+package com.devoops.reservation.service;
+
+import com.devoops.reservation.config.UserContext;
+import com.devoops.reservation.dto.response.AccommodationAnalyticsResponse;
+import com.devoops.reservation.entity.Reservation;
+import com.devoops.reservation.entity.ReservationStatus;
+import com.devoops.reservation.exception.InvalidReservationException;
+import com.devoops.reservation.repository.AccommodationMonthAnalyticsView;
+import com.devoops.reservation.repository.ReservationRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Monthly occupancy and revenue per accommodation, computed in Postgres and cached per
+ * (host, month). A month's figures only depend on the approved stays overlapping it, so a
+ * transition into or out of APPROVED evicts just the months its stay covers. The TTL bounds
+ * staleness from transitions handled by other replicas.
+ */
+@Service
+public class HostAnalyticsService {
+
+    private final ReservationRepository reservationRepository;
+    private final Cache<HostMonth, List<AccommodationAnalyticsResponse>> cache;
+    private final int maxMonths;
+
+    public HostAnalyticsService(
+            ReservationRepository reservationRepository,
+            MeterRegistry meterRegistry,
+            @Value("${reservation.analytics.cache-size:20000}") long cacheSize,
+            @Value("${reservation.analytics.cache-ttl:5m}") Duration cacheTtl,
+            @Value("${reservation.analytics.max-months:24}") int maxMonths) {
+        this.reservationRepository = reservationRepository;
+        this.maxMonths = maxMonths;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(cacheSize)
+                .expireAfterWrite(cacheTtl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "host-analytics");
+    }
+
+    /**
+     * Returns the host's analytics for every month from {@code from} through {@code to}, ordered
+     * by month and revenue rank. Only months missing from the cache are queried, in one round trip.
+     */
+    @Transactional(readOnly = true)
+    public List<AccommodationAnalyticsResponse> getAnalytics(UserContext userContext, YearMonth from, YearMonth to) {
+        if (to.isBefore(from)) {
+            throw new InvalidReservationException("Analytics range must end on or after its start month");
+        }
+        if (from.plusMonths(maxMonths).isBefore(to.plusMonths(1))) {
+            throw new InvalidReservationException("Analytics range can span at most " + maxMonths + " months");
+        }
+
+        UUID hostId = userContext.userId();
+        List<HostMonth> keys = new ArrayList<>();
+        for (YearMonth month = from; !month.isAfter(to); month = month.plusMonths(1)) {
+            keys.add(new HostMonth(hostId, month));
+        }
+
+        Map<HostMonth, List<AccommodationAnalyticsResponse>> months = cache.getAll(keys, this::loadMonths);
+        return keys.stream()
+                .flatMap(key -> months.get(key).stream())
+                .toList();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onTransition(ReservationTransitionEvent event) {
+        if (event.from() != ReservationStatus.APPROVED && event.to() != ReservationStatus.APPROVED) {
+            return;
+        }
+        Reservation reservation = event.reservation();
+        YearMonth last = YearMonth.from(reservation.getEndDate().minusDays(1));
+        for (YearMonth month = YearMonth.from(reservation.getStartDate()); !month.isAfter(last);
+                month = month.plusMonths(1)) {
+            cache.invalidate(new HostMonth(reservation.getHostId(), month));
+        }
+    }
+
+    private Map<HostMonth, List<AccommodationAnalyticsResponse>> loadMonths(Set<? extends HostMonth> missing) {
+        UUID hostId = missing.iterator().next().hostId();
+        YearMonth first = missing.stream().map(HostMonth::month).min(Comparator.naturalOrder()).orElseThrow();
+        YearMonth last = missing.stream().map(HostMonth::month).max(Comparator.naturalOrder()).orElseThrow();
+
+        Map<HostMonth, List<AccommodationAnalyticsResponse>> loaded = new HashMap<>();
+        missing.forEach(key -> loaded.put(key, new ArrayList<>()));
+        for (AccommodationMonthAnalyticsView row : reservationRepository.findMonthlyAnalytics(
+                hostId, first.atDay(1), last.atDay(1))) {
+            List<AccommodationAnalyticsResponse> month = loaded.get(new HostMonth(hostId, YearMonth.from(row.getMonth())));
+            if (month != null) {
+                month.add(toResponse(row));
+            }
+        }
+        loaded.replaceAll((key, rows) -> List.copyOf(rows));
+        return loaded;
+    }
+
+    private static AccommodationAnalyticsResponse toResponse(AccommodationMonthAnalyticsView row) {
+        return new AccommodationAnalyticsResponse(
+                row.getAccommodationId(),
+                YearMonth.from(row.getMonth()),
+                row.getDaysInMonth(),
+                row.getOccupiedNights(),
+                row.getOccupancyRate(),
+                row.getRevenue(),
+                row.getRevenueShare(),
+                row.getRevenueRank()
+        );
+    }
+
+    private record HostMonth(UUID hostId, YearMonth month) {}
+}
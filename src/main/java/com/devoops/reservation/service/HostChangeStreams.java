@@ -0,0 +1,164 @@
+package com.devoops.reservation.service;
+
+import com.devoops.reservation.dto.message.ReservationChangeMessage;
+import com.devoops.reservation.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Open Server-Sent Event streams of hosts, fed with committed reservation changes. Every stream
+ * owns a bounded buffer drained by its own virtual thread, so an idle stream costs a parked thread
+ * and a slow client only ever delays itself. A client that lets its buffer fill up is disconnected
+ * and is expected to refetch its listing when it reconnects.
+ */
+@Component
+@Slf4j
+public class HostChangeStreams {
+
+    static final String EVENT_NAME = "reservation";
+
+    private final ConcurrentHashMap<UUID, Set<Subscription>> subscriptions = new ConcurrentHashMap<>();
+    private final AtomicInteger connections = new AtomicInteger();
+    private final MeterRegistry meterRegistry;
+    private final int maxConnections;
+    private final int bufferSize;
+    private final Duration heartbeatInterval;
+    private final Duration timeout;
+
+    public HostChangeStreams(
+            MeterRegistry meterRegistry,
+            @Value("${reservation.sse.max-connections:10000}") int maxConnections,
+            @Value("${reservation.sse.buffer-size:64}") int bufferSize,
+            @Value("${reservation.sse.heartbeat-interval:15s}") Duration heartbeatInterval,
+            @Value("${reservation.sse.timeout:30m}") Duration timeout) {
+        this.meterRegistry = meterRegistry;
+        this.maxConnections = maxConnections;
+        this.bufferSize = bufferSize;
+        this.heartbeatInterval = heartbeatInterval;
+        this.timeout = timeout;
+        Gauge.builder("reservation.sse.connections", connections, AtomicInteger::get)
+                .description("Open host reservation event streams")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Opens a stream of the host's reservation changes. Throws {@link ServiceUnavailableException}
+     * once the replica holds the maximum number of streams.
+     */
+    public SseEmitter subscribe(UUID hostId) {
+        if (connections.incrementAndGet() > maxConnections) {
+            connections.decrementAndGet();
+            throw new ServiceUnavailableException("Too many open event streams, please retry later");
+        }
+
+        SseEmitter emitter = new SseEmitter(timeout.toMillis());
+        Subscription subscription = new Subscription(hostId, emitter);
+        // Added inside compute so it cannot race with the last stream of the host removing the set
+        subscriptions.compute(hostId, (id, hostSubscriptions) -> {
+            Set<Subscription> updated = hostSubscriptions != null ? hostSubscriptions : ConcurrentHashMap.newKeySet();
+            updated.add(subscription);
+            return updated;
+        });
+        emitter.onCompletion(subscription::close);
+        emitter.onTimeout(subscription::close);
+        emitter.onError(error -> subscription.close());
+        subscription.writer = Thread.ofVirtual().name("sse-host-" + hostId).start(subscription::drain);
+        return emitter;
+    }
+
+    /**
+     * Queues the change on every stream of its host without blocking.
+     */
+    public void publish(ReservationChangeMessage change) {
+        Set<Subscription> hostSubscriptions = subscriptions.get(change.hostId());
+        if (hostSubscriptions == null) {
+            return;
+        }
+        for (Subscription subscription : hostSubscriptions) {
+            if (subscription.buffer.offer(change)) {
+                count("queued");
+            } else {
+                count("overflow");
+                log.debug("Event stream of host {} fell {} events behind, disconnecting", change.hostId(), bufferSize);
+                subscription.close();
+                subscription.emitter.complete();
+            }
+        }
+    }
+
+    private void count(String result) {
+        Counter.builder("reservation.sse.events")
+                .description("Reservation changes offered to host event streams, by result")
+                .tag("result", result)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    private final class Subscription {
+
+        private final UUID hostId;
+        private final SseEmitter emitter;
+        private final BlockingQueue<ReservationChangeMessage> buffer = new ArrayBlockingQueue<>(bufferSize);
+        private final AtomicBoolean closed = new AtomicBoolean();
+        private volatile Thread writer;
+
+        Subscription(UUID hostId, SseEmitter emitter) {
+            this.hostId = hostId;
+            this.emitter = emitter;
+        }
+
+        void drain() {
+            try {
+                while (!closed.get()) {
+                    ReservationChangeMessage change = buffer.poll(heartbeatInterval.toMillis(), TimeUnit.MILLISECONDS);
+                    if (change == null) {
+                        // Keeps proxies from dropping the idle connection and detects gone clients
+                        emitter.send(SseEmitter.event().comment("heartbeat"));
+                    } else {
+                        emitter.send(SseEmitter.event()
+                                .name(EVENT_NAME)
+                                .data(change, MediaType.APPLICATION_JSON));
+                    }
+                }
+            } catch (IOException | IllegalStateException e) {
+                log.debug("Event stream of host {} closed: {}", hostId, e.getMessage());
+                close();
+                emitter.completeWithError(e);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        void close() {
+            if (!closed.compareAndSet(false, true)) {
+                return;
+            }
+            subscriptions.computeIfPresent(hostId, (id, hostSubscriptions) -> {
+                hostSubscriptions.remove(this);
+                return hostSubscriptions.isEmpty() ? null : hostSubscriptions;
+            });
+            connections.decrementAndGet();
+            Thread currentWriter = writer;
+            if (currentWriter != null && currentWriter != Thread.currentThread()) {
+                currentWriter.interrupt();
+            }
+        }
+    }
+}
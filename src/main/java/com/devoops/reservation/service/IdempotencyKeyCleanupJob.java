@@ -0,0 +1,57 @@
+package com.devoops.reservation.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Deletes expired idempotency keys in bounded batches. Batches skip locked rows, so replicas
+ * running the job at the same time split the work instead of needing a lease.
+ */
+@Component
+@Slf4j
+public class IdempotencyKeyCleanupJob {
+
+    private final IdempotencyKeyStore keyStore;
+    private final Counter deletedKeys;
+    private final int batchSize;
+    private final int maxBatchesPerRun;
+
+    public IdempotencyKeyCleanupJob(
+            IdempotencyKeyStore keyStore,
+            MeterRegistry meterRegistry,
+            @Value("${reservation.idempotency.cleanup-batch-size:1000}") int batchSize,
+            @Value("${reservation.idempotency.cleanup-max-batches-per-run:50}") int maxBatchesPerRun) {
+        this.keyStore = keyStore;
+        this.deletedKeys = Counter.builder("reservation.idempotency.keys.deleted")
+                .description("Expired idempotency keys deleted by the cleanup job")
+                .register(meterRegistry);
+        this.batchSize = batchSize;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+    }
+
+    @Scheduled(fixedDelayString = "${reservation.idempotency.cleanup-interval:15m}",
+            initialDelayString = "${reservation.idempotency.cleanup-initial-delay:2m}")
+    public void deleteExpiredKeys() {
+        int deleted = 0;
+        try {
+            for (int batch = 0; batch < maxBatchesPerRun; batch++) {
+                int rows = keyStore.deleteExpired(batchSize);
+                deleted += rows;
+                deletedKeys.increment(rows);
+                if (rows < batchSize) {
+                    break;
+                }
+            }
+        } catch (RuntimeException e) {
+            log.error("Idempotency key cleanup failed after deleting {} key(s)", deleted, e);
+        }
+
+        if (deleted > 0) {
+            log.info("Deleted {} expired idempotency key(s)", deleted);
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.devoops.reservation.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Idempotency keys stored in idempotency_keys. Claims must run inside the transaction doing the
+ * work they guard, so the claim and the result commit or roll back together.
+ */
+@Component
+@RequiredArgsConstructor
+public class IdempotencyKeyStore {
+
+    static final String IN_PROGRESS = "IN_PROGRESS";
+    static final String COMPLETED = "COMPLETED";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Claims the key for a request, taking over an expired record. Blocks while another
+     * transaction holds an uncommitted claim on the same key, and returns false once the key
+     * turns out to be taken.
+     */
+    public boolean claim(UUID userId, String key, String requestHash, Duration ttl) {
+        int rows = jdbcTemplate.update("""
+                INSERT INTO idempotency_keys (user_id, idempotency_key, request_hash, status, expires_at)
+                VALUES (?, ?, ?, ?, now() + make_interval(secs => ?))
+                ON CONFLICT (user_id, idempotency_key) DO UPDATE
+                SET request_hash = EXCLUDED.request_hash,
+                    status = EXCLUDED.status,
+                    response_body = NULL,
+                    created_at = now(),
+                    expires_at = EXCLUDED.expires_at
+                WHERE idempotency_keys.expires_at <= now()
+                """, userId, key, requestHash, IN_PROGRESS, ttl.toMillis() / 1000.0);
+        return rows > 0;
+    }
+
+    public Optional<StoredRequest> find(UUID userId, String key) {
+        return jdbcTemplate.query("""
+                        SELECT request_hash, status, response_body
+                        FROM idempotency_keys
+                        WHERE user_id = ? AND idempotency_key = ?
+                        """,
+                (rs, rowNum) -> new StoredRequest(
+                        rs.getString("request_hash"),
+                        rs.getString("status"),
+                        rs.getString("response_body")),
+                userId, key).stream().findFirst();
+    }
+
+    public void complete(UUID userId, String key, String responseBody) {
+        jdbcTemplate.update("""
+                UPDATE idempotency_keys
+                SET status = ?, response_body = ?
+                WHERE user_id = ? AND idempotency_key = ?
+                """, COMPLETED, responseBody, userId, key);
+    }
+
+    /**
+     * Deletes up to {@code batchSize} expired keys. Rows locked by a concurrent takeover are
+     * skipped rather than waited on.
+     */
+    public int deleteExpired(int batchSize) {
+        return jdbcTemplate.update("""
+                DELETE FROM idempotency_keys
+                WHERE (user_id, idempotency_key) IN (
+                    SELECT user_id, idempotency_key
+                    FROM idempotency_keys
+                    WHERE expires_at <= now()
+                    LIMIT ?
+                    FOR UPDATE SKIP LOCKED
+                )
+                """, batchSize);
+    }
+
+    public record StoredRequest(String requestHash, String status, String responseBody) {
+
+        public boolean isCompleted() {
+            return COMPLETED.equals(status);
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package com.devoops.reservation.service;
+
+import com.devoops.reservation.config.UserContext;
+import com.devoops.reservation.dto.request.CreateReservationRequest;
+import com.devoops.reservation.dto.response.ReservationResponse;
+import com.devoops.reservation.exception.IdempotencyKeyConflictException;
+import com.devoops.reservation.exception.InvalidReservationException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.UUID;
+
+/**
+ * Runs reservation creation at most once per {@code Idempotency-Key}. The key is claimed in the
+ * creating transaction: a retry after a commit replays the stored response without pricing,
+ * inserting or notifying again, and a concurrent duplicate waits on the claim of the first attempt.
+ * Failed attempts roll their claim back, so they can be retried with the same key.
+ */
+@Service
+@Slf4j
+public class IdempotencyService {
+
+    static final int MAX_KEY_LENGTH = 255;
+
+    private final IdempotencyKeyStore keyStore;
+    private final ReservationService reservationService;
+    private final MeterRegistry meterRegistry;
+    private final Duration keyTtl;
+    // The application's mapper, so a replayed response is stored the way the API serializes it
+    private final JsonMapper jsonMapper;
+
+    public IdempotencyService(
+            IdempotencyKeyStore keyStore,
+            ReservationService reservationService,
+            MeterRegistry meterRegistry,
+            @Value("${reservation.idempotency.key-ttl:24h}") Duration keyTtl,
+            JsonMapper jsonMapper) {
+        this.keyStore = keyStore;
+        this.reservationService = reservationService;
+        this.meterRegistry = meterRegistry;
+        this.keyTtl = keyTtl;
+        this.jsonMapper = jsonMapper;
+    }
+
+    @Transactional
+    public ReservationResponse create(String idempotencyKey, CreateReservationRequest request, UserContext userContext) {
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_KEY_LENGTH) {
+            throw new InvalidReservationException(
+                    "Idempotency-Key must be between 1 and " + MAX_KEY_LENGTH + " characters");
+        }
+
+        UUID userId = userContext.userId();
+        String requestHash = hash(request);
+        if (keyStore.claim(userId, idempotencyKey, requestHash, keyTtl)) {
+            ReservationResponse response = reservationService.create(request, userContext);
+            keyStore.complete(userId, idempotencyKey, write(response));
+            record("executed");
+            return response;
+        }
+
+        IdempotencyKeyStore.StoredRequest stored = keyStore.find(userId, idempotencyKey)
+                .orElseThrow(() -> conflict("Idempotency-Key expired while the request was retried"));
+        if (!stored.requestHash().equals(requestHash)) {
+            throw conflict("Idempotency-Key was already used for a different request");
+        }
+        if (!stored.isCompleted()) {
+            throw conflict("A request with this Idempotency-Key is still in progress");
+        }
+
+        log.debug("Replaying reservation create for user {} and Idempotency-Key {}", userId, idempotencyKey);
+        record("replayed");
+        return read(stored.responseBody());
+    }
+
+    private IdempotencyKeyConflictException conflict(String message) {
+        record("conflict");
+        return new IdempotencyKeyConflictException(message);
+    }
+
+    private void record(String result) {
+        Counter.builder("reservation.idempotency.requests")
+                .description("Reservation creates carrying an Idempotency-Key, by result")
+                .tag("result", result)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    static String hash(CreateReservationRequest request) {
+        String canonical = request.accommodationId() + "|" + request.startDate() + "|"
+                + request.endDate() + "|" + request.guestCount();
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(canonical.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private String write(ReservationResponse response) {
+        try {
+            return jsonMapper.writeValueAsString(response);
+        } catch (JacksonException e) {
+            throw new IllegalStateException("Could not store the reservation response", e);
+        }
+    }
+
+    private ReservationResponse read(String responseBody) {
+        try {
+            return jsonMapper.readValue(responseBody, ReservationResponse.class);
+        } catch (JacksonException e) {
+            throw new IllegalStateException("Could not read the stored reservation response", e);
+        }
+    }
+}
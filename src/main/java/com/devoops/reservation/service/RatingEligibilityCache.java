@@ -0,0 +1,118 @@
+package com.devoops.reservation.service;
+
+import com.devoops.reservation.entity.Reservation;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Caches rating eligibility answers per (guest, target type, target). A completed stay never
+ * stops being completed, so positive answers never expire. Negative answers only hold until the
+ * guest's next approved stay ends, capped by {@code negative-max-ttl} because approvals handled
+ * by other replicas do not invalidate this cache.
+ */
+@Component
+public class RatingEligibilityCache {
+
+    private static final String HOST = "HOST";
+    private static final String ACCOMMODATION = "ACCOMMODATION";
+
+    private final Cache<EligibilityKey, CachedEligibility> cache;
+    private final Duration negativeMaxTtl;
+
+    public RatingEligibilityCache(
+            MeterRegistry meterRegistry,
+            @Value("${reservation.rating-eligibility.cache-size:100000}") long cacheSize,
+            @Value("${reservation.rating-eligibility.negative-max-ttl:10m}") Duration negativeMaxTtl) {
+        this.negativeMaxTtl = negativeMaxTtl;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(cacheSize)
+                .expireAfter(new EligibilityExpiry())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "rating-eligibility");
+    }
+
+    /**
+     * Returns the cached answers for the given targets; targets without a live entry are absent.
+     */
+    public Map<UUID, Boolean> getAll(UUID guestId, boolean hostTarget, Collection<UUID> targetIds) {
+        Map<UUID, Boolean> answers = new HashMap<>();
+        for (UUID targetId : targetIds) {
+            CachedEligibility cached = cache.getIfPresent(key(guestId, hostTarget, targetId));
+            if (cached != null) {
+                answers.put(targetId, cached.eligible());
+            }
+        }
+        return answers;
+    }
+
+    public void putEligible(UUID guestId, boolean hostTarget, UUID targetId) {
+        cache.put(key(guestId, hostTarget, targetId), new CachedEligibility(true, null));
+    }
+
+    /**
+     * Caches a negative answer until {@code recheckAt}, the moment the guest's next stay completes.
+     * A null {@code recheckAt} means the guest has no upcoming stay.
+     */
+    public void putIneligible(UUID guestId, boolean hostTarget, UUID targetId, Instant recheckAt) {
+        cache.put(key(guestId, hostTarget, targetId), new CachedEligibility(false, recheckAt));
+    }
+
+    /**
+     * Drops the answers an approved reservation can turn from negative to positive.
+     */
+    public void invalidate(Reservation reservation) {
+        cache.invalidate(key(reservation.getGuestId(), true, reservation.getHostId()));
+        cache.invalidate(key(reservation.getGuestId(), false, reservation.getAccommodationId()));
+    }
+
+    private static EligibilityKey key(UUID guestId, boolean hostTarget, UUID targetId) {
+        return new EligibilityKey(guestId, hostTarget ? HOST : ACCOMMODATION, targetId);
+    }
+
+    private record EligibilityKey(UUID guestId, String targetType, UUID targetId) {}
+
+    private record CachedEligibility(boolean eligible, Instant recheckAt) {}
+
+    private class EligibilityExpiry implements Expiry<EligibilityKey, CachedEligibility> {
+
+        @Override
+        public long expireAfterCreate(EligibilityKey key, CachedEligibility value, long currentTime) {
+            if (value.eligible()) {
+                return Long.MAX_VALUE;
+            }
+            Duration ttl = negativeMaxTtl;
+            if (value.recheckAt() != null) {
+                Duration untilRecheck = Duration.between(Instant.now(), value.recheckAt());
+                if (untilRecheck.compareTo(ttl) < 0) {
+                    ttl = untilRecheck.isNegative() ? Duration.ZERO : untilRecheck;
+                }
+            }
+            return ttl.toNanos();
+        }
+
+        @Override
+        public long expireAfterUpdate(EligibilityKey key, CachedEligibility value, long currentTime,
+                                      long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(EligibilityKey key, CachedEligibility value, long currentTime,
+                                    long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.devoops.reservation.service;
+
+import com.devoops.reservation.dto.message.ReservationChangeMessage;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+
+/**
+ * Listens on the reservation change channel and hands committed transitions to the host event
+ * streams. Uses its own connection outside the pools, since LISTEN pins the session for the
+ * lifetime of the replica. Notifications sent while the connection is being re-established are
+ * lost; streams are a freshness hint and clients still refetch on reconnect.
+ */
+@Component
+@Slf4j
+public class ReservationChangeListener {
+
+    private final HostChangeStreams hostChangeStreams;
+    private final Counter receivedNotifications;
+    private final String url;
+    private final String username;
+    private final String password;
+    private final Duration pollInterval;
+    private final Duration retryDelay;
+
+    private volatile boolean running;
+    private Thread listenerThread;
+
+    public ReservationChangeListener(
+            HostChangeStreams hostChangeStreams,
+            MeterRegistry meterRegistry,
+            @Value("${spring.datasource.url}") String url,
+            @Value("${spring.datasource.username}") String username,
+            @Value("${spring.datasource.password}") String password,
+            @Value("${reservation.sse.listen-poll-interval:10s}") Duration pollInterval,
+            @Value("${reservation.sse.listen-retry-delay:5s}") Duration retryDelay) {
+        this.hostChangeStreams = hostChangeStreams;
+        this.receivedNotifications = Counter.builder("reservation.changes.notifications")
+                .description("Reservation change notifications received from Postgres")
+                .register(meterRegistry);
+        this.url = url;
+        this.username = username;
+        this.password = password;
+        this.pollInterval = pollInterval;
+        this.retryDelay = retryDelay;
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        listenerThread = Thread.ofVirtual().name("reservation-change-listener").start(this::listen);
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        if (listenerThread != null) {
+            listenerThread.interrupt();
+        }
+    }
+
+    private void listen() {
+        while (running) {
+            try (Connection connection = DriverManager.getConnection(url, username, password)) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + ReservationChangeNotifier.CHANNEL);
+                }
+                log.info("Listening for reservation changes on channel {}", ReservationChangeNotifier.CHANNEL);
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications((int) pollInterval.toMillis());
+                    if (notifications != null) {
+                        for (PGNotification notification : notifications) {
+                            dispatch(notification.getParameter());
+                        }
+                    }
+                }
+            } catch (SQLException e) {
+                if (!running) {
+                    return;
+                }
+                log.warn("Reservation change listener lost its connection, retrying in {}: {}",
+                        retryDelay, e.getMessage());
+                try {
+                    Thread.sleep(retryDelay);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    private void dispatch(String payload) {
+        receivedNotifications.increment();
+        try {
+            hostChangeStreams.publish(
+                    ReservationChangeNotifier.OBJECT_MAPPER.readValue(payload, ReservationChangeMessage.class));
+        } catch (JsonProcessingException e) {
+            log.warn("Ignoring malformed reservation change notification: {}", e.getMessage());
+        }
+    }
+}
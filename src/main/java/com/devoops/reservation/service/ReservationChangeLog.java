@@ -0,0 +1,86 @@
+package com.devoops.reservation.service;
+
+import com.devoops.reservation.entity.Reservation;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Stamps every changed reservation with the next value of the global change sequence, for delta
+ * sync. Stamping happens right before commit, so the counter row is only locked for the commit
+ * itself; that lock puts sequence values in commit order.
+ */
+@Component
+@RequiredArgsConstructor
+public class ReservationChangeLog {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onTransition(ReservationTransitionEvent event) {
+        Reservation reservation = event.reservation();
+        jdbcTemplate.update("""
+                WITH next AS (
+                    UPDATE reservation_change_sequence SET value = value + 1 RETURNING value
+                )
+                INSERT INTO reservation_changes (reservation_id, seq, guest_id, host_id, deleted, changed_at)
+                SELECT ?, next.value, ?, ?, ?, now() FROM next
+                ON CONFLICT (reservation_id) DO UPDATE
+                SET seq = EXCLUDED.seq,
+                    deleted = EXCLUDED.deleted,
+                    changed_at = EXCLUDED.changed_at
+                """,
+                reservation.getId(), reservation.getGuestId(), reservation.getHostId(), event.to() == null);
+    }
+
+    /**
+     * Turns the changes of reservations archived out of the reservations table into tombstones
+     * with fresh sequence values, so synced clients drop them from their active lists.
+     */
+    public int recordArchived() {
+        return jdbcTemplate.update("""
+                WITH archived AS (
+                    SELECT c.reservation_id, row_number() OVER (ORDER BY c.seq) AS n
+                    FROM reservation_changes c
+                    WHERE NOT c.deleted
+                    AND NOT EXISTS (SELECT 1 FROM reservations r WHERE r.id = c.reservation_id)
+                ),
+                bumped AS (
+                    UPDATE reservation_change_sequence
+                    SET value = value + (SELECT COUNT(*) FROM archived)
+                    RETURNING value - (SELECT COUNT(*) FROM archived) AS base
+                )
+                UPDATE reservation_changes c
+                SET seq = bumped.base + archived.n, deleted = true, changed_at = now()
+                FROM archived, bumped
+                WHERE c.reservation_id = archived.reservation_id
+                """);
+    }
+
+    /**
+     * Changes after {@code since} of the reservations the user is the host of (or the guest of,
+     * when {@code asHost} is false), oldest first.
+     */
+    public List<Change> findChanges(UUID userId, boolean asHost, long since, int limit) {
+        String userColumn = asHost ? "host_id" : "guest_id";
+        return jdbcTemplate.query("""
+                        SELECT seq, reservation_id, deleted
+                        FROM reservation_changes
+                        WHERE %s = ? AND seq > ?
+                        ORDER BY seq
+                        LIMIT ?
+                        """.formatted(userColumn),
+                (rs, rowNum) -> new Change(
+                        rs.getLong("seq"),
+                        rs.getObject("reservation_id", UUID.class),
+                        rs.getBoolean("deleted")),
+                userId, since, limit);
+    }
+
+    public record Change(long seq, UUID reservationId, boolean deleted) {}
+}
@@ -0,0 +1,57 @@
+package com.devoops.reservation.service;
+
+import com.devoops.reservation.dto.message.ReservationChangeMessage;
+import com.devoops.reservation.entity.Reservation;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCallback;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Announces every reservation transition on a Postgres notification channel. NOTIFY is
+ * transactional, so listeners on every replica (this one included) only hear about transitions
+ * that committed, in commit order.
+ */
+@Component
+@RequiredArgsConstructor
+public class ReservationChangeNotifier {
+
+    static final String CHANNEL = "reservation_changes";
+
+    static final ObjectMapper OBJECT_MAPPER = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @EventListener
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void onTransition(ReservationTransitionEvent event) {
+        Reservation reservation = event.reservation();
+        ReservationChangeMessage message = new ReservationChangeMessage(
+                reservation.getId(),
+                reservation.getAccommodationId(),
+                reservation.getGuestId(),
+                reservation.getHostId(),
+                event.from(),
+                event.to(),
+                reservation.getStartDate(),
+                reservation.getEndDate());
+
+        String payload;
+        try {
+            payload = OBJECT_MAPPER.writeValueAsString(message);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize reservation change " + reservation.getId(), e);
+        }
+        jdbcTemplate.execute("SELECT pg_notify(?, ?)", (PreparedStatementCallback<Boolean>) statement -> {
+            statement.setString(1, CHANNEL);
+            statement.setString(2, payload);
+            return statement.execute();
+        });
+    }
+}
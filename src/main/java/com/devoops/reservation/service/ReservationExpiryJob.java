@@ -0,0 +1,120 @@
+package com.devoops.reservation.service;
+
+import com.devoops.reservation.entity.Reservation;
+import com.devoops.reservation.grpc.AccommodationGrpcClient;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Moves PENDING reservations whose stay already started to EXPIRED, in bounded batches, and tells
+ * the guests their request was declined. Only the replica holding the lease runs the job; the
+ * batches lock with SKIP LOCKED, so an overlapping run after a lease handover cannot double-expire.
+ */
+@Component
+@Slf4j
+public class ReservationExpiryJob {
+
+    static final String LEASE_NAME = "reservation-expiry";
+
+    private final ReservationExpiryService expiryService;
+    private final SchedulerLease schedulerLease;
+    private final ReservationEventPublisherService eventPublisher;
+    private final AccommodationGrpcClient accommodationGrpcClient;
+    private final MeterRegistry meterRegistry;
+    private final DistributionSummary rowsPerRun;
+    private final int batchSize;
+    private final int maxBatchesPerRun;
+    private final Duration leaseDuration;
+
+    public ReservationExpiryJob(
+            ReservationExpiryService expiryService,
+            SchedulerLease schedulerLease,
+            ReservationEventPublisherService eventPublisher,
+            AccommodationGrpcClient accommodationGrpcClient,
+            MeterRegistry meterRegistry,
+            @Value("${reservation.expiry.batch-size:200}") int batchSize,
+            @Value("${reservation.expiry.max-batches-per-run:50}") int maxBatchesPerRun,
+            @Value("${reservation.expiry.lease-duration:10m}") Duration leaseDuration) {
+        this.expiryService = expiryService;
+        this.schedulerLease = schedulerLease;
+        this.eventPublisher = eventPublisher;
+        this.accommodationGrpcClient = accommodationGrpcClient;
+        this.meterRegistry = meterRegistry;
+        this.rowsPerRun = DistributionSummary.builder("reservation.expiry.run.rows")
+                .description("Pending reservations expired per run")
+                .register(meterRegistry);
+        this.batchSize = batchSize;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+        this.leaseDuration = leaseDuration;
+    }
+
+    @Scheduled(fixedDelayString = "${reservation.expiry.interval:5m}",
+            initialDelayString = "${reservation.expiry.initial-delay:1m}")
+    public void expireStalePending() {
+        if (!schedulerLease.tryAcquire(LEASE_NAME, leaseDuration)) {
+            log.debug("Reservation expiry lease is held by another replica, skipping run");
+            return;
+        }
+
+        LocalDate today = LocalDate.now();
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "success";
+        int expired = 0;
+        try {
+            for (int batch = 0; batch < maxBatchesPerRun; batch++) {
+                List<Reservation> reservations = expiryService.expireBatch(today, batchSize);
+                expired += reservations.size();
+                reservations.forEach(this::notifyGuest);
+                if (reservations.size() < batchSize) {
+                    break;
+                }
+            }
+        } catch (RuntimeException e) {
+            outcome = "failure";
+            log.error("Reservation expiry run failed after expiring {} reservation(s)", expired, e);
+        } finally {
+            sample.stop(Timer.builder("reservation.expiry.run.duration")
+                    .description("Duration of reservation expiry runs")
+                    .tag("outcome", outcome)
+                    .register(meterRegistry));
+            rowsPerRun.record(expired);
+        }
+
+        if (expired > 0) {
+            log.info("Expired {} pending reservation(s) whose stay started before {}", expired, today);
+        }
+    }
+
+    @PreDestroy
+    public void releaseLease() {
+        try {
+            schedulerLease.release(LEASE_NAME);
+        } catch (RuntimeException e) {
+            log.warn("Releasing reservation expiry lease failed: {}", e.getMessage());
+        }
+    }
+
+    private void notifyGuest(Reservation reservation) {
+        try {
+            String accommodationName = accommodationGrpcClient.getAccommodationName(
+                    reservation.getAccommodationId(),
+                    reservation.getStartDate(),
+                    reservation.getEndDate(),
+                    reservation.getGuestCount()
+            );
+            eventPublisher.publishReservationResponse(reservation, accommodationName, false);
+        } catch (RuntimeException e) {
+            log.warn("Expiry notification failed for reservation {}: {}", reservation.getId(), e.getMessage());
+        }
+    }
+}
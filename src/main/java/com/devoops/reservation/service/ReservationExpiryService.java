@@ -0,0 +1,37 @@
+package com.devoops.reservation.service;
+
+import com.devoops.reservation.entity.Reservation;
+import com.devoops.reservation.entity.ReservationStatus;
+import com.devoops.reservation.repository.ReservationRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+public class ReservationExpiryService {
+
+    private final ReservationRepository reservationRepository;
+    private final ApplicationEventPublisher applicationEventPublisher;
+
+    /**
+     * Expires one batch of pending reservations whose stay started before {@code today}.
+     * Returns the expired reservations so notifications can be sent once the batch has committed.
+     * Reservations a host is approving or rejecting right now are locked and skipped; they are no
+     * longer pending once that transition commits.
+     */
+    @Transactional
+    public List<Reservation> expireBatch(LocalDate today, int batchSize) {
+        List<Reservation> reservations = reservationRepository.lockExpiredPending(today, batchSize);
+        for (Reservation reservation : reservations) {
+            reservation.setStatus(ReservationStatus.EXPIRED);
+            applicationEventPublisher.publishEvent(
+                    ReservationTransitionEvent.transitioned(reservation, ReservationStatus.PENDING));
+        }
+        return reservationRepository.saveAll(reservations);
+    }
+}
@@ -0,0 +1,77 @@
+package com.devoops.reservation.service;
+
+import com.devoops.reservation.entity.Reservation;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+
+/**
+ * Keeps yearly reservations partitions created ahead of time and moves partitions older than the
+ * retention period into the archive schema. Reservations ending past the last yearly partition wait
+ * in the default partition until their year is created. Both SQL functions serialize on an advisory lock, so
+ * running on several replicas at once is safe.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ReservationPartitionJob {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManagerFactory entityManagerFactory;
+    private final ReservationChangeLog reservationChangeLog;
+
+    @Value("${reservation.partitions.years-ahead:2}")
+    private int yearsAhead;
+
+    @Value("${reservation.partitions.retention-years:3}")
+    private int retentionYears;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void ensurePartitionsOnStartup() {
+        try {
+            ensurePartitions();
+        } catch (RuntimeException e) {
+            log.error("Creating reservations partitions failed", e);
+        }
+    }
+
+    @Scheduled(cron = "${reservation.partitions.maintenance-cron:0 30 1 * * *}")
+    public void maintainPartitions() {
+        try {
+            ensurePartitions();
+            archivePartitions();
+        } catch (RuntimeException e) {
+            log.error("Reservations partition maintenance failed", e);
+        }
+    }
+
+    private void ensurePartitions() {
+        int currentYear = LocalDate.now().getYear();
+        Integer created = jdbcTemplate.queryForObject(
+                "SELECT ensure_reservation_partitions(?, ?)", Integer.class, currentYear, currentYear + yearsAhead);
+        if (created != null && created > 0) {
+            log.info("Created {} reservations partition(s) up to {}", created, currentYear + yearsAhead);
+        }
+    }
+
+    private void archivePartitions() {
+        int beforeYear = LocalDate.now().getYear() - retentionYears;
+        Integer archived = jdbcTemplate.queryForObject(
+                "SELECT archive_reservation_partitions(?)", Integer.class, beforeYear);
+        if (archived != null && archived > 0) {
+            log.info("Archived {} reservations partition(s) ending before {}", archived, beforeYear);
+            // Archived rows moved outside Hibernate, so cached copies must not outlive them
+            entityManagerFactory.getCache().evict(Reservation.class);
+            int tombstones = reservationChangeLog.recordArchived();
+            log.info("Recorded {} archived reservation(s) as delta sync tombstones", tombstones);
+        }
+    }
+}
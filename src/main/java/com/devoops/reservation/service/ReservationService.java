@@ -2,8 +2,12 @@ package com.devoops.reservation.service;
 
 import com.devoops.reservation.config.UserContext;
 import com.devoops.reservation.dto.request.CreateReservationRequest;
+import com.devoops.reservation.dto.request.ReservationField;
+import com.devoops.reservation.dto.response.HostSummaryResponse;
+import com.devoops.reservation.dto.response.ReservationChangesResponse;
 import com.devoops.reservation.dto.response.ReservationResponse;
 import com.devoops.reservation.dto.response.ReservationWithGuestInfoResponse;
+import com.devoops.reservation.entity.HostReservationAggregate;
 import com.devoops.reservation.entity.Reservation;
 import com.devoops.reservation.entity.ReservationStatus;
 import com.devoops.reservation.exception.AccommodationNotFoundException;
@@ -15,26 +19,46 @@ import com.devoops.reservation.grpc.AccommodationValidationResult;
 import com.devoops.reservation.grpc.UserGrpcClient;
 import com.devoops.reservation.grpc.UserSummaryResult;
 import com.devoops.reservation.mapper.ReservationMapper;
+import com.devoops.reservation.repository.HostReservationAggregateRepository;
+import com.devoops.reservation.repository.ReservationCountView;
 import com.devoops.reservation.repository.ReservationRepository;
+import com.devoops.reservation.repository.ReservationVersionView;
+import com.devoops.reservation.repository.ReservationView;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.EnumMap;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class ReservationService {
 
+    public static final int MAX_IDS_PER_REQUEST = 100;
+    public static final int MAX_CHANGES_PER_PAGE = 500;
+
     private final ReservationRepository reservationRepository;
     private final ReservationMapper reservationMapper;
     private final AccommodationGrpcClient accommodationGrpcClient;
     private final UserGrpcClient userGrpcClient;
     private final ReservationEventPublisherService eventPublisher;
+    private final CompletedStayService completedStayService;
+    private final HostReservationAggregateRepository hostAggregateRepository;
+    private final ApplicationEventPublisher applicationEventPublisher;
+    private final ReservationChangeLog reservationChangeLog;
 
     @Transactional
     public ReservationResponse create(CreateReservationRequest request, UserContext userContext) {
@@ -88,47 +112,204 @@ public class ReservationService {
         reservation = reservationRepository.saveAndFlush(reservation);
         log.info("Created reservation {} for guest {} at accommodation {}",
                 reservation.getId(), userContext.userId(), request.accommodationId());
+        applicationEventPublisher.publishEvent(ReservationTransitionEvent.created(reservation));
+
+        if (reservation.getStatus() == ReservationStatus.APPROVED) {
+            completedStayService.recordApproval(reservation);
+        }
 
         eventPublisher.publishReservationCreated(reservation, validationResult.accommodationName());
 
-        return toResponseWithNames(reservation);
+        return toResponseWithNames(reservation, validationResult.accommodationName());
+    }
+
+    /**
+     * Version of a single reservation, after the same access check as {@link #getById}.
+     * Reads only the timestamp and the ids the check needs, like the listing versions.
+     */
+    @Transactional(readOnly = true)
+    public ReservationVersion getReservationVersion(UUID id, UserContext userContext) {
+        ReservationVersionView version = reservationRepository.findVersionById(id)
+                .orElseThrow(() -> new ReservationNotFoundException("Reservation not found with id: " + id));
+        validateAccessToReservation(version.getGuestId(), version.getHostId(), userContext);
+        return new ReservationVersion(version.getLastModified(), 1);
+    }
+
+    @Transactional(readOnly = true)
+    public ReservationVersion getGuestListingVersion(UserContext userContext) {
+        return ReservationVersion.from(reservationRepository.findGuestListingVersion(userContext.userId()));
     }
 
     @Transactional(readOnly = true)
-    public ReservationResponse getById(UUID id, UserContext userContext) {
+    public ReservationVersion getHostListingVersion(UserContext userContext) {
+        return ReservationVersion.from(reservationRepository.findHostListingVersion(userContext.userId()));
+    }
+
+    @Transactional(readOnly = true)
+    public ReservationResponse getById(UUID id, UserContext userContext, Set<ReservationField> fields) {
         Reservation reservation = findReservationOrThrow(id);
         validateAccessToReservation(reservation, userContext);
-        return toResponseWithNames(reservation);
+        return toResponse(reservation, fields);
     }
 
+    /**
+     * Multi-get for callers that would otherwise issue one {@link #getById} per reservation.
+     * Reservations that do not exist or that the caller may not see are left out instead of
+     * failing the batch; the rest keep the order of {@code ids}.
+     */
     @Transactional(readOnly = true)
-    public List<ReservationResponse> getByGuestId(UserContext userContext) {
-        List<Reservation> reservations = reservationRepository.findByGuestId(userContext.userId());
-        return toResponseListWithNames(reservations);
+    public List<ReservationResponse> getByIds(List<UUID> ids, UserContext userContext, Set<ReservationField> fields) {
+        List<Reservation> visible = findAllInOrder(ids).stream()
+                .filter(reservation -> reservation.getGuestId().equals(userContext.userId())
+                        || reservation.getHostId().equals(userContext.userId()))
+                .toList();
+        return toResponses(visible, fields);
     }
 
+    /**
+     * Multi-get for trusted internal callers, without the per-user access check.
+     */
     @Transactional(readOnly = true)
-    public List<ReservationResponse> getByHostId(UserContext userContext) {
-        List<Reservation> reservations = reservationRepository.findByHostId(userContext.userId());
-        return toResponseListWithNames(reservations);
+    public List<ReservationResponse> getByIds(List<UUID> ids, Set<ReservationField> fields) {
+        return toResponses(findAllInOrder(ids), fields);
     }
 
+    /**
+     * Delta sync: the caller's reservations (as host for hosts, as guest otherwise) that changed
+     * after the {@code since} cursor, oldest change first, with tombstones for deleted and
+     * archived ones.
+     */
     @Transactional(readOnly = true)
-    public List<ReservationWithGuestInfoResponse> getByHostIdWithGuestInfo(UserContext userContext) {
-        List<Reservation> reservations = reservationRepository.findByHostId(userContext.userId());
-        return reservations.stream()
-                .map(reservation -> {
-                    ReservationResponse response = toResponseWithNames(reservation);
-                    long cancellationCount = reservationRepository.countByGuestIdAndStatus(
-                            reservation.getGuestId(), ReservationStatus.CANCELLED);
-                    return ReservationWithGuestInfoResponse.from(response, cancellationCount);
+    public ReservationChangesResponse getChanges(
+            UserContext userContext,
+            long since,
+            int limit,
+            Set<ReservationField> fields) {
+        if (since < 0) {
+            throw new InvalidReservationException("Change cursor must not be negative");
+        }
+        if (limit < 1 || limit > MAX_CHANGES_PER_PAGE) {
+            throw new InvalidReservationException("Change page size must be between 1 and " + MAX_CHANGES_PER_PAGE);
+        }
+
+        boolean asHost = "HOST".equalsIgnoreCase(userContext.role());
+        List<ReservationChangeLog.Change> changes =
+                reservationChangeLog.findChanges(userContext.userId(), asHost, since, limit);
+
+        List<UUID> changedIds = changes.stream()
+                .filter(change -> !change.deleted())
+                .map(ReservationChangeLog.Change::reservationId)
+                .toList();
+        Map<UUID, ReservationResponse> current = changedIds.isEmpty()
+                ? Map.of()
+                : toResponses(reservationRepository.findAllById(changedIds).stream()
+                        .filter(reservation -> !reservation.isDeleted())
+                        .toList(), fields).stream()
+                        .collect(Collectors.toMap(ReservationResponse::id, Function.identity()));
+
+        // A reservation gone since its change was logged is sent as a tombstone; its own change follows
+        List<ReservationChangesResponse.Change> page = changes.stream()
+                .map(change -> {
+                    ReservationResponse reservation = current.get(change.reservationId());
+                    return new ReservationChangesResponse.Change(
+                            change.seq(), change.reservationId(), reservation == null, reservation);
                 })
                 .toList();
+        long cursor = changes.isEmpty() ? since : changes.getLast().seq();
+        return new ReservationChangesResponse(cursor, changes.size() == limit, page);
+    }
+
+    @Transactional(readOnly = true)
+    public List<ReservationResponse> getByGuestId(UserContext userContext, Set<ReservationField> fields) {
+        List<ReservationView> reservations = reservationRepository.findViewsByGuestId(userContext.userId());
+        return reservations.stream()
+                .map(reservation -> toResponse(reservation, fields))
+                .toList();
+    }
+
+    @Transactional(readOnly = true)
+    public List<ReservationResponse> getByHostId(UserContext userContext, Set<ReservationField> fields) {
+        List<ReservationView> reservations = reservationRepository.findViewsByHostId(userContext.userId());
+        return reservations.stream()
+                .map(reservation -> toResponse(reservation, fields))
+                .toList();
+    }
+
+    @Transactional(readOnly = true)
+    public List<ReservationResponse> getArchivedByGuestId(UserContext userContext, Set<ReservationField> fields) {
+        List<Reservation> reservations = reservationRepository.findArchivedByGuestId(userContext.userId());
+        return reservations.stream()
+                .map(reservation -> toResponse(reservation, fields))
+                .toList();
+    }
+
+    @Transactional(readOnly = true)
+    public List<ReservationResponse> getArchivedByHostId(UserContext userContext, Set<ReservationField> fields) {
+        List<Reservation> reservations = reservationRepository.findArchivedByHostId(userContext.userId());
+        return reservations.stream()
+                .map(reservation -> toResponse(reservation, fields))
+                .toList();
+    }
+
+    @Transactional(readOnly = true)
+    public List<ReservationWithGuestInfoResponse> getByHostIdWithGuestInfo(
+            UserContext userContext, Set<ReservationField> fields) {
+        List<ReservationView> reservations = reservationRepository.findViewsByHostId(userContext.userId());
+        if (reservations.isEmpty()) {
+            return List.of();
+        }
+
+        Map<UUID, Long> cancellationCounts = fields.contains(ReservationField.GUEST_CANCELLATION_COUNT)
+                ? countGuestCancellations(reservations)
+                : null;
+
+        return reservations.stream()
+                .map(reservation -> ReservationWithGuestInfoResponse.from(
+                        toResponse(reservation, fields),
+                        cancellationCounts != null ? cancellationCounts.getOrDefault(reservation.guestId(), 0L) : null))
+                .toList();
+    }
+
+    // One grouped count for all guests instead of one query per reservation
+    private Map<UUID, Long> countGuestCancellations(List<ReservationView> reservations) {
+        List<UUID> guestIds = reservations.stream()
+                .map(ReservationView::guestId)
+                .distinct()
+                .toList();
+        return reservationRepository
+                .countByGuestIdsAndStatus(guestIds, ReservationStatus.CANCELLED).stream()
+                .collect(Collectors.toMap(ReservationCountView::getId, ReservationCountView::getReservationCount));
+    }
+
+    /**
+     * Dashboard totals for the host, read from the incrementally maintained aggregates instead of
+     * listing and enriching every reservation.
+     */
+    @Transactional(readOnly = true)
+    public HostSummaryResponse getHostSummary(UserContext userContext) {
+        List<HostSummaryResponse.AccommodationSummary> accommodations = hostAggregateRepository
+                .findByIdHostId(userContext.userId()).stream()
+                .map(ReservationService::toAccommodationSummary)
+                .toList();
+
+        Map<ReservationStatus, Long> statusCounts = new EnumMap<>(ReservationStatus.class);
+        long upcomingNights = 0;
+        BigDecimal upcomingRevenue = BigDecimal.ZERO;
+        for (HostSummaryResponse.AccommodationSummary accommodation : accommodations) {
+            accommodation.statusCounts().forEach((status, count) -> statusCounts.merge(status, count, Long::sum));
+            upcomingNights += accommodation.upcomingNights();
+            upcomingRevenue = upcomingRevenue.add(accommodation.upcomingRevenue());
+        }
+        for (ReservationStatus status : ReservationStatus.values()) {
+            statusCounts.putIfAbsent(status, 0L);
+        }
+
+        return new HostSummaryResponse(statusCounts, upcomingNights, upcomingRevenue, accommodations);
     }
 
     @Transactional
     public void deleteRequest(UUID id, UserContext userContext) {
-        Reservation reservation = findReservationOrThrow(id);
+        Reservation reservation = findReservationForUpdateOrThrow(id);
 
         // Only the guest who created the reservation can delete it
         if (!reservation.getGuestId().equals(userContext.userId())) {
@@ -144,12 +325,13 @@ public class ReservationService {
 
         reservation.setDeleted(true);
         reservationRepository.save(reservation);
+        applicationEventPublisher.publishEvent(ReservationTransitionEvent.deleted(reservation));
         log.info("Guest {} deleted reservation request {}", userContext.userId(), id);
     }
 
     @Transactional
     public void cancelReservation(UUID id, UserContext userContext) {
-        Reservation reservation = findReservationOrThrow(id);
+        Reservation reservation = findReservationForUpdateOrThrow(id);
 
         // Only the guest who created the reservation can cancel it
         if (!reservation.getGuestId().equals(userContext.userId())) {
@@ -175,6 +357,8 @@ public class ReservationService {
 
         reservation.setStatus(ReservationStatus.CANCELLED);
         reservationRepository.save(reservation);
+        applicationEventPublisher.publishEvent(
+                ReservationTransitionEvent.transitioned(reservation, ReservationStatus.APPROVED));
         log.info("Guest {} cancelled reservation {}", userContext.userId(), id);
 
         String accommodationName = fetchAccommodationName(reservation);
@@ -183,7 +367,9 @@ public class ReservationService {
 
     @Transactional
     public ReservationResponse approveReservation(UUID id, UserContext userContext) {
-        Reservation reservation = findReservationOrThrow(id);
+        // Approvals on one accommodation lock their reservations one at a time
+        reservationRepository.findAccommodationIdById(id).ifPresent(reservationRepository::lockAccommodation);
+        Reservation reservation = findReservationForUpdateOrThrow(id);
 
         // Only the host who owns this reservation can approve it
         if (!reservation.getHostId().equals(userContext.userId())) {
@@ -197,12 +383,7 @@ public class ReservationService {
             );
         }
 
-        // Approve the reservation
-        reservation.setStatus(ReservationStatus.APPROVED);
-        reservationRepository.save(reservation);
-        log.info("Host {} approved reservation {}", userContext.userId(), id);
-
-        // Auto-reject overlapping pending reservations
+        // Lock the overlapping pending reservations before any transition event takes the host lock
         List<Reservation> overlappingPending = reservationRepository.findOverlappingPending(
                 reservation.getAccommodationId(),
                 reservation.getStartDate(),
@@ -210,23 +391,36 @@ public class ReservationService {
                 reservation.getId()
         );
 
+        // Approve the reservation
+        reservation.setStatus(ReservationStatus.APPROVED);
+        reservationRepository.save(reservation);
+        applicationEventPublisher.publishEvent(
+                ReservationTransitionEvent.transitioned(reservation, ReservationStatus.PENDING));
+        log.info("Host {} approved reservation {}", userContext.userId(), id);
+
+        completedStayService.recordApproval(reservation);
+
+        // Auto-reject overlapping pending reservations
         for (Reservation overlapping : overlappingPending) {
             overlapping.setStatus(ReservationStatus.REJECTED);
-            reservationRepository.save(overlapping);
+            applicationEventPublisher.publishEvent(
+                    ReservationTransitionEvent.transitioned(overlapping, ReservationStatus.PENDING));
             log.info("Auto-rejected overlapping reservation {} due to approval of reservation {}",
                     overlapping.getId(), id);
         }
+        // Flushed as one JDBC batch (hibernate.jdbc.batch_size)
+        reservationRepository.saveAll(overlappingPending);
 
         // Fetch accommodation name and publish notification
         String accommodationName = fetchAccommodationName(reservation);
         eventPublisher.publishReservationResponse(reservation, accommodationName, true);
 
-        return toResponseWithNames(reservation);
+        return toResponseWithNames(reservation, accommodationName);
     }
 
     @Transactional
     public ReservationResponse rejectReservation(UUID id, UserContext userContext) {
-        Reservation reservation = findReservationOrThrow(id);
+        Reservation reservation = findReservationForUpdateOrThrow(id);
 
         // Only the host who owns this reservation can reject it
         if (!reservation.getHostId().equals(userContext.userId())) {
@@ -242,23 +436,68 @@ public class ReservationService {
 
         reservation.setStatus(ReservationStatus.REJECTED);
         reservationRepository.save(reservation);
+        applicationEventPublisher.publishEvent(
+                ReservationTransitionEvent.transitioned(reservation, ReservationStatus.PENDING));
         log.info("Host {} rejected reservation {}", userContext.userId(), id);
 
         // Fetch accommodation name and publish notification
         String accommodationName = fetchAccommodationName(reservation);
         eventPublisher.publishReservationResponse(reservation, accommodationName, false);
 
-        return toResponseWithNames(reservation);
+        return toResponseWithNames(reservation, accommodationName);
     }
 
     // === Helper Methods ===
 
+    private List<Reservation> findAllInOrder(List<UUID> ids) {
+        List<UUID> distinctIds = ids.stream().distinct().toList();
+        if (distinctIds.isEmpty()) {
+            throw new InvalidReservationException("At least one reservation id is required");
+        }
+        if (distinctIds.size() > MAX_IDS_PER_REQUEST) {
+            throw new InvalidReservationException(
+                    "At most " + MAX_IDS_PER_REQUEST + " reservation ids can be requested at once");
+        }
+
+        Map<UUID, Reservation> byId = reservationRepository.findAllById(distinctIds).stream()
+                .filter(reservation -> !reservation.isDeleted())
+                .collect(Collectors.toMap(Reservation::getId, Function.identity()));
+        return distinctIds.stream()
+                .map(byId::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
     private Reservation findReservationOrThrow(UUID id) {
+        // A second-level cache hit bypasses the is_deleted restriction
         return reservationRepository.findById(id)
+                .filter(reservation -> !reservation.isDeleted())
                 .orElseThrow(() -> new ReservationNotFoundException(
                         "Reservation not found with id: " + id));
     }
 
+    private Reservation findReservationForUpdateOrThrow(UUID id) {
+        return reservationRepository.findForUpdateById(id)
+                .orElseThrow(() -> new ReservationNotFoundException(
+                        "Reservation not found with id: " + id));
+    }
+
+    private static HostSummaryResponse.AccommodationSummary toAccommodationSummary(
+            HostReservationAggregate aggregate) {
+        Map<ReservationStatus, Long> statusCounts = new EnumMap<>(ReservationStatus.class);
+        statusCounts.put(ReservationStatus.PENDING, aggregate.getPendingCount());
+        statusCounts.put(ReservationStatus.APPROVED, aggregate.getApprovedCount());
+        statusCounts.put(ReservationStatus.REJECTED, aggregate.getRejectedCount());
+        statusCounts.put(ReservationStatus.CANCELLED, aggregate.getCancelledCount());
+        statusCounts.put(ReservationStatus.EXPIRED, aggregate.getExpiredCount());
+        return new HostSummaryResponse.AccommodationSummary(
+                aggregate.getId().getAccommodationId(),
+                statusCounts,
+                aggregate.getUpcomingNights(),
+                aggregate.getUpcomingRevenue()
+        );
+    }
+
     private void validateDates(LocalDate startDate, LocalDate endDate) {
         if (!endDate.isAfter(startDate)) {
             throw new InvalidReservationException("End date must be after start date");
@@ -266,8 +505,12 @@ public class ReservationService {
     }
 
     private void validateAccessToReservation(Reservation reservation, UserContext userContext) {
-        boolean isGuest = reservation.getGuestId().equals(userContext.userId());
-        boolean isHost = reservation.getHostId().equals(userContext.userId());
+        validateAccessToReservation(reservation.getGuestId(), reservation.getHostId(), userContext);
+    }
+
+    private void validateAccessToReservation(UUID guestId, UUID hostId, UserContext userContext) {
+        boolean isGuest = guestId.equals(userContext.userId());
+        boolean isHost = hostId.equals(userContext.userId());
 
         if (!isGuest && !isHost) {
             throw new ForbiddenException("You do not have access to this reservation");
@@ -275,13 +518,21 @@ public class ReservationService {
     }
 
     private String fetchAccommodationName(Reservation reservation) {
-        AccommodationValidationResult accommodationInfo = accommodationGrpcClient.validateAndCalculatePrice(
+        return accommodationGrpcClient.getAccommodationName(
                 reservation.getAccommodationId(),
                 reservation.getStartDate(),
                 reservation.getEndDate(),
                 reservation.getGuestCount()
         );
-        return accommodationInfo.valid() ? accommodationInfo.accommodationName() : "Unknown Accommodation";
+    }
+
+    private String fetchAccommodationName(ReservationView reservation) {
+        return accommodationGrpcClient.getAccommodationName(
+                reservation.accommodationId(),
+                reservation.startDate(),
+                reservation.endDate(),
+                reservation.guestCount()
+        );
     }
 
     private String fetchUserName(UUID userId) {
@@ -289,16 +540,64 @@ public class ReservationService {
         return userSummary.found() ? userSummary.getFullName() : "Unknown User";
     }
 
-    private ReservationResponse toResponseWithNames(Reservation reservation) {
-        String accommodationName = fetchAccommodationName(reservation);
+    private ReservationResponse toResponseWithNames(Reservation reservation, String accommodationName) {
         String guestName = fetchUserName(reservation.getGuestId());
         String hostName = fetchUserName(reservation.getHostId());
         return reservationMapper.toResponseWithNames(reservation, accommodationName, guestName, hostName);
     }
 
-    private List<ReservationResponse> toResponseListWithNames(List<Reservation> reservations) {
+    /**
+     * Maps a reservation for a read endpoint, resolving only the requested names. Names that are
+     * not requested stay null and cost no remote call.
+     */
+    private ReservationResponse toResponse(Reservation reservation, Set<ReservationField> fields) {
+        String accommodationName = fields.contains(ReservationField.ACCOMMODATION_NAME)
+                ? fetchAccommodationName(reservation)
+                : null;
+        String guestName = fetchUserNameIf(fields, ReservationField.GUEST_NAME, reservation.getGuestId());
+        String hostName = fetchUserNameIf(fields, ReservationField.HOST_NAME, reservation.getHostId());
+        return reservationMapper.toResponseWithNames(reservation, accommodationName, guestName, hostName);
+    }
+
+    private ReservationResponse toResponse(ReservationView reservation, Set<ReservationField> fields) {
+        String accommodationName = fields.contains(ReservationField.ACCOMMODATION_NAME)
+                ? fetchAccommodationName(reservation)
+                : null;
+        String guestName = fetchUserNameIf(fields, ReservationField.GUEST_NAME, reservation.guestId());
+        String hostName = fetchUserNameIf(fields, ReservationField.HOST_NAME, reservation.hostId());
+        return reservationMapper.toResponseWithNames(reservation, accommodationName, guestName, hostName);
+    }
+
+    /**
+     * Batch variant of {@link #toResponse(Reservation, Set)}: each accommodation and user is looked
+     * up once, however many of the reservations reference it.
+     */
+    private List<ReservationResponse> toResponses(List<Reservation> reservations, Set<ReservationField> fields) {
+        Map<UUID, String> accommodationNames = new HashMap<>();
+        if (fields.contains(ReservationField.ACCOMMODATION_NAME)) {
+            reservations.forEach(reservation -> accommodationNames.computeIfAbsent(
+                    reservation.getAccommodationId(), id -> fetchAccommodationName(reservation)));
+        }
+        Map<UUID, String> userNames = new HashMap<>();
+        for (Reservation reservation : reservations) {
+            if (fields.contains(ReservationField.GUEST_NAME)) {
+                userNames.computeIfAbsent(reservation.getGuestId(), this::fetchUserName);
+            }
+            if (fields.contains(ReservationField.HOST_NAME)) {
+                userNames.computeIfAbsent(reservation.getHostId(), this::fetchUserName);
+            }
+        }
+
         return reservations.stream()
-                .map(this::toResponseWithNames)
+                .map(reservation -> reservationMapper.toResponseWithNames(
+                        reservation,
+                        accommodationNames.get(reservation.getAccommodationId()),
+                        fields.contains(ReservationField.GUEST_NAME) ? userNames.get(reservation.getGuestId()) : null,
+                        fields.contains(ReservationField.HOST_NAME) ? userNames.get(reservation.getHostId()) : null))
                 .toList();
     }
+
+    private String fetchUserNameIf(Set<ReservationField> fields, ReservationField field, UUID userId) {
+        return fields.contains(field) ? fetchUserName(userId) : null;
+    }
 }
@@ -0,0 +1,26 @@
+package com.devoops.reservation.service;
+
+import com.devoops.reservation.entity.Reservation;
+import com.devoops.reservation.entity.ReservationStatus;
+
+/**
+ * Published inside the writing transaction whenever a reservation is created, changes status or is
+ * soft-deleted. {@code from} is null for a new reservation and {@code to} is null for a deletion.
+ */
+public record ReservationTransitionEvent(
+        Reservation reservation,
+        ReservationStatus from,
+        ReservationStatus to
+) {
+    public static ReservationTransitionEvent created(Reservation reservation) {
+        return new ReservationTransitionEvent(reservation, null, reservation.getStatus());
+    }
+
+    public static ReservationTransitionEvent transitioned(Reservation reservation, ReservationStatus from) {
+        return new ReservationTransitionEvent(reservation, from, reservation.getStatus());
+    }
+
+    public static ReservationTransitionEvent deleted(Reservation reservation) {
+        return new ReservationTransitionEvent(reservation, reservation.getStatus(), null);
+    }
+}
@@ -0,0 +1,16 @@
+package com.devoops.reservation.service;
+
+import com.devoops.reservation.repository.ListingVersionView;
+
+import java.time.LocalDateTime;
+
+/**
+ * Cheap fingerprint of a reservation read, checked against conditional request headers before
+ * the response is built. {@code lastModified} is null for an empty listing.
+ */
+public record ReservationVersion(LocalDateTime lastModified, long reservationCount) {
+
+    public static ReservationVersion from(ListingVersionView view) {
+        return new ReservationVersion(view.getLastModified(), view.getReservationCount());
+    }
+}
@@ -0,0 +1,47 @@
+package com.devoops.reservation.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.UUID;
+
+/**
+ * Leader leases for scheduled jobs, stored in scheduler_leases. A replica holds a lease until it
+ * expires and renews it on every run, so a job keeps running on one replica and moves to another
+ * only once the holder stops renewing.
+ */
+@Component
+@RequiredArgsConstructor
+public class SchedulerLease {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final String owner = ManagementFactory.getRuntimeMXBean().getName() + "/" + UUID.randomUUID();
+
+    /**
+     * Acquires or renews the named lease for {@code duration}. Returns false while another
+     * replica holds an unexpired lease.
+     */
+    public boolean tryAcquire(String name, Duration duration) {
+        int rows = jdbcTemplate.update("""
+                INSERT INTO scheduler_leases (name, owner, expires_at)
+                VALUES (?, ?, now() + make_interval(secs => ?))
+                ON CONFLICT (name) DO UPDATE
+                SET owner = EXCLUDED.owner, expires_at = EXCLUDED.expires_at
+                WHERE scheduler_leases.owner = EXCLUDED.owner
+                OR scheduler_leases.expires_at < now()
+                """, name, owner, duration.toMillis() / 1000.0);
+        return rows > 0;
+    }
+
+    /**
+     * Gives up the named lease if this replica holds it, so another replica can take over at once.
+     */
+    public void release(String name) {
+        jdbcTemplate.update("UPDATE scheduler_leases SET expires_at = now() WHERE name = ? AND owner = ?",
+                name, owner);
+    }
+}
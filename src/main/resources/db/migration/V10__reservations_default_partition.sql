@@ -0,0 +1,38 @@
+-- Reservations ending after the last yearly partition land in the default partition instead of
+-- failing the insert. ensure_reservation_partitions moves them into their yearly partition once the
+-- partition maintenance job creates it.
+
+CREATE TABLE reservations_default PARTITION OF reservations DEFAULT;
+
+-- Creates the yearly partitions reservations_y<year> for from_year..to_year that do not exist yet
+-- (live or archived), moving matching rows out of the default partition first. Returns the number of
+-- partitions created.
+CREATE OR REPLACE FUNCTION ensure_reservation_partitions(from_year INTEGER, to_year INTEGER) RETURNS INTEGER AS $$
+DECLARE
+    partition_year INTEGER;
+    partition_name TEXT;
+    created INTEGER := 0;
+BEGIN
+    PERFORM pg_advisory_xact_lock(hashtext('reservation_partitions'));
+    FOR partition_year IN from_year..to_year LOOP
+        partition_name := 'reservations_y' || partition_year;
+        IF to_regclass(partition_name) IS NULL
+           AND to_regclass('archive.' || partition_name) IS NULL THEN
+            -- A partition cannot be created while the default partition holds rows in its range
+            EXECUTE format('CREATE TABLE %I (LIKE reservations INCLUDING DEFAULTS INCLUDING CONSTRAINTS)',
+                partition_name);
+            EXECUTE format('WITH moved AS (DELETE FROM reservations_default WHERE end_date >= %L AND end_date < %L RETURNING *) '
+                    || 'INSERT INTO %I SELECT * FROM moved',
+                make_date(partition_year, 1, 1),
+                make_date(partition_year + 1, 1, 1),
+                partition_name);
+            EXECUTE format('ALTER TABLE reservations ATTACH PARTITION %I FOR VALUES FROM (%L) TO (%L)',
+                partition_name,
+                make_date(partition_year, 1, 1),
+                make_date(partition_year + 1, 1, 1));
+            created := created + 1;
+        END IF;
+    END LOOP;
+    RETURN created;
+END;
+$$ LANGUAGE plpgsql;
@@ -0,0 +1,5 @@
+-- Optimistic lock version of each reservation. The archive table gets the column too, since live
+-- partitions can only be attached to it with identical columns.
+
+ALTER TABLE reservations ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE archive.reservations ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,29 @@
+-- Completed stays (APPROVED reservations whose end date has passed), rolled up per
+-- guest, accommodation and host so rating eligibility is a primary-key lookup
+CREATE TABLE completed_stays (
+    guest_id UUID NOT NULL,
+    accommodation_id UUID NOT NULL,
+    host_id UUID NOT NULL,
+    stay_count INTEGER NOT NULL,
+    last_end_date DATE NOT NULL,
+    PRIMARY KEY (guest_id, accommodation_id, host_id)
+);
+
+CREATE INDEX idx_completed_stays_guest_host ON completed_stays(guest_id, host_id);
+
+-- Progress of incremental rollup jobs: every end date up to processed_through is rolled up
+CREATE TABLE rollup_watermarks (
+    name VARCHAR(64) PRIMARY KEY,
+    processed_through DATE NOT NULL
+);
+
+-- Backfill from existing reservations
+INSERT INTO completed_stays (guest_id, accommodation_id, host_id, stay_count, last_end_date)
+SELECT guest_id, accommodation_id, host_id, COUNT(*), MAX(end_date)
+FROM reservations
+WHERE status = 'APPROVED'
+  AND is_deleted = false
+  AND end_date < CURRENT_DATE
+GROUP BY guest_id, accommodation_id, host_id;
+
+INSERT INTO rollup_watermarks (name, processed_through) VALUES ('completed_stays', CURRENT_DATE - 1);
@@ -0,0 +1,16 @@
+-- Time-ordered UUIDs (RFC 9562 version 7) for rows inserted without an application-generated id.
+-- The random bits come from gen_random_uuid(); the first 48 bits are replaced by the Unix time in
+-- milliseconds and the version nibble is changed from 4 to 7. Existing version 4 ids stay valid.
+CREATE FUNCTION uuid_generate_v7() RETURNS UUID AS $$
+    SELECT encode(
+        set_bit(
+            set_bit(
+                overlay(uuid_send(gen_random_uuid())
+                        PLACING substring(int8send(floor(extract(EPOCH FROM clock_timestamp()) * 1000)::BIGINT) FROM 3)
+                        FROM 1 FOR 6),
+                52, 1),
+            53, 1),
+        'hex')::UUID;
+$$ LANGUAGE sql VOLATILE;
+
+ALTER TABLE reservations ALTER COLUMN id SET DEFAULT uuid_generate_v7();
@@ -0,0 +1,93 @@
+-- Partition reservations by end_date (one partition per year) so that queries bounded by end_date
+-- only touch recent partitions, and old years can be detached into the archive schema.
+-- Rewrites the table in one transaction; run during a maintenance window on large installations.
+
+CREATE SCHEMA IF NOT EXISTS archive;
+
+ALTER TABLE reservations RENAME TO reservations_unpartitioned;
+
+CREATE TABLE reservations (LIKE reservations_unpartitioned INCLUDING DEFAULTS INCLUDING CONSTRAINTS)
+    PARTITION BY RANGE (end_date);
+
+-- Historical reservations detached from the live table; only read through the archive query path
+CREATE TABLE archive.reservations (LIKE reservations INCLUDING DEFAULTS INCLUDING CONSTRAINTS)
+    PARTITION BY RANGE (end_date);
+ALTER TABLE archive.reservations ADD PRIMARY KEY (id, end_date);
+CREATE INDEX idx_archive_reservations_guest_id ON archive.reservations(guest_id);
+CREATE INDEX idx_archive_reservations_host_id ON archive.reservations(host_id);
+
+-- Creates the yearly partitions reservations_y<year> for from_year..to_year that do not exist yet
+-- (live or archived). Returns the number of partitions created.
+CREATE FUNCTION ensure_reservation_partitions(from_year INTEGER, to_year INTEGER) RETURNS INTEGER AS $$
+DECLARE
+    partition_year INTEGER;
+    created INTEGER := 0;
+BEGIN
+    PERFORM pg_advisory_xact_lock(hashtext('reservation_partitions'));
+    FOR partition_year IN from_year..to_year LOOP
+        IF to_regclass(format('reservations_y%s', partition_year)) IS NULL
+           AND to_regclass(format('archive.reservations_y%s', partition_year)) IS NULL THEN
+            EXECUTE format('CREATE TABLE %I PARTITION OF reservations FOR VALUES FROM (%L) TO (%L)',
+                'reservations_y' || partition_year,
+                make_date(partition_year, 1, 1),
+                make_date(partition_year + 1, 1, 1));
+            created := created + 1;
+        END IF;
+    END LOOP;
+    RETURN created;
+END;
+$$ LANGUAGE plpgsql;
+
+-- Detaches the live partitions for years before before_year and attaches them to
+-- archive.reservations. Returns the number of partitions archived.
+CREATE FUNCTION archive_reservation_partitions(before_year INTEGER) RETURNS INTEGER AS $$
+DECLARE
+    part RECORD;
+    archived INTEGER := 0;
+BEGIN
+    PERFORM pg_advisory_xact_lock(hashtext('reservation_partitions'));
+    FOR part IN
+        SELECT c.relname AS name, substring(c.relname FROM '^reservations_y(\d{4})$')::INTEGER AS partition_year
+        FROM pg_inherits i
+        JOIN pg_class c ON c.oid = i.inhrelid
+        WHERE i.inhparent = 'reservations'::regclass
+        AND c.relname ~ '^reservations_y\d{4}$'
+        ORDER BY c.relname
+    LOOP
+        CONTINUE WHEN part.partition_year >= before_year;
+        EXECUTE format('ALTER TABLE reservations DETACH PARTITION %I', part.name);
+        EXECUTE format('ALTER TABLE %I SET SCHEMA archive', part.name);
+        EXECUTE format('ALTER TABLE archive.reservations ATTACH PARTITION archive.%I FOR VALUES FROM (%L) TO (%L)',
+            part.name,
+            make_date(part.partition_year, 1, 1),
+            make_date(part.partition_year + 1, 1, 1));
+        archived := archived + 1;
+    END LOOP;
+    RETURN archived;
+END;
+$$ LANGUAGE plpgsql;
+
+-- Partitions covering the existing rows and the next two years
+SELECT ensure_reservation_partitions(
+    LEAST(
+        EXTRACT(YEAR FROM CURRENT_DATE)::INTEGER,
+        COALESCE((SELECT EXTRACT(YEAR FROM MIN(end_date))::INTEGER FROM reservations_unpartitioned), 9999)),
+    GREATEST(
+        EXTRACT(YEAR FROM CURRENT_DATE)::INTEGER + 2,
+        COALESCE((SELECT EXTRACT(YEAR FROM MAX(end_date))::INTEGER FROM reservations_unpartitioned), 0)));
+
+INSERT INTO reservations SELECT * FROM reservations_unpartitioned;
+
+DROP TABLE reservations_unpartitioned;
+
+-- The partition key must be part of the primary key
+ALTER TABLE reservations ADD PRIMARY KEY (id, end_date);
+
+CREATE INDEX idx_reservations_accommodation_id ON reservations(accommodation_id);
+CREATE INDEX idx_reservations_guest_id ON reservations(guest_id);
+CREATE INDEX idx_reservations_host_id ON reservations(host_id);
+CREATE INDEX idx_reservations_status ON reservations(status);
+CREATE INDEX idx_reservations_dates ON reservations(start_date, end_date);
+CREATE INDEX idx_reservations_accommodation_dates
+    ON reservations(accommodation_id, start_date, end_date)
+    WHERE is_deleted = false;
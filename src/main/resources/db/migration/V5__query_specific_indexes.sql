@@ -0,0 +1,38 @@
+-- Partial composite indexes matching the predicates of the hot repository queries.
+-- Every entity query carries is_deleted = false through @SQLRestriction.
+
+-- findOverlappingApproved
+CREATE INDEX idx_reservations_overlap_approved
+    ON reservations(accommodation_id, start_date, end_date)
+    WHERE status = 'APPROVED' AND is_deleted = false;
+
+-- findOverlappingPending
+CREATE INDEX idx_reservations_overlap_pending
+    ON reservations(accommodation_id, start_date, end_date)
+    WHERE status = 'PENDING' AND is_deleted = false;
+
+-- countActiveReservationsForGuest / countActiveReservationsForGuests
+CREATE INDEX idx_reservations_active_guest
+    ON reservations(guest_id, end_date)
+    WHERE status IN ('PENDING', 'APPROVED') AND is_deleted = false;
+
+-- countActiveReservationsForHost / countActiveReservationsForHosts
+CREATE INDEX idx_reservations_active_host
+    ON reservations(host_id, end_date)
+    WHERE status IN ('PENDING', 'APPROVED') AND is_deleted = false;
+
+-- countCompletedStaysWithHosts / countCompletedStaysAtAccommodations / findNextApprovedEndDate;
+-- the included target columns let the completed stay counts run as index-only scans
+CREATE INDEX idx_reservations_approved_guest
+    ON reservations(guest_id, end_date) INCLUDE (host_id, accommodation_id)
+    WHERE status = 'APPROVED' AND is_deleted = false;
+
+-- CompletedStayRepository.rollUpCompletedStays
+CREATE INDEX idx_reservations_approved_end_date
+    ON reservations(end_date)
+    WHERE status = 'APPROVED' AND is_deleted = false;
+
+-- Superseded by the partial indexes above
+DROP INDEX idx_reservations_status;
+DROP INDEX idx_reservations_dates;
+DROP INDEX idx_reservations_accommodation_dates;
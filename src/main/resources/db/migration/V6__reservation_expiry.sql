@@ -0,0 +1,14 @@
+-- Terminal status for PENDING requests whose stay started before the host answered
+ALTER TYPE reservation_status ADD VALUE IF NOT EXISTS 'EXPIRED';
+
+-- ReservationRepository.lockExpiredPending
+CREATE INDEX idx_reservations_pending_start_date
+    ON reservations(start_date)
+    WHERE status = 'PENDING' AND is_deleted = false;
+
+-- Leader leases for scheduled jobs: a job runs only on the replica holding its unexpired lease
+CREATE TABLE scheduler_leases (
+    name       VARCHAR(100) PRIMARY KEY,
+    owner      VARCHAR(255) NOT NULL,
+    expires_at TIMESTAMPTZ  NOT NULL
+);
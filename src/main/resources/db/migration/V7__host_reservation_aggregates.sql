@@ -0,0 +1,32 @@
+-- Host dashboard counters per host and accommodation, updated incrementally on every reservation
+-- transition and reconciled against reservations by HostAggregateReconciliationJob
+CREATE TABLE host_reservation_aggregates (
+    host_id UUID NOT NULL,
+    accommodation_id UUID NOT NULL,
+    pending_count BIGINT NOT NULL DEFAULT 0,
+    approved_count BIGINT NOT NULL DEFAULT 0,
+    rejected_count BIGINT NOT NULL DEFAULT 0,
+    cancelled_count BIGINT NOT NULL DEFAULT 0,
+    expired_count BIGINT NOT NULL DEFAULT 0,
+    upcoming_nights BIGINT NOT NULL DEFAULT 0,
+    upcoming_revenue NUMERIC(14, 2) NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP NOT NULL DEFAULT now(),
+    PRIMARY KEY (host_id, accommodation_id)
+);
+
+-- Backfill from existing reservations
+INSERT INTO host_reservation_aggregates (host_id, accommodation_id, pending_count, approved_count,
+                                         rejected_count, cancelled_count, expired_count,
+                                         upcoming_nights, upcoming_revenue)
+SELECT host_id,
+       accommodation_id,
+       COUNT(*) FILTER (WHERE status = 'PENDING'),
+       COUNT(*) FILTER (WHERE status = 'APPROVED'),
+       COUNT(*) FILTER (WHERE status = 'REJECTED'),
+       COUNT(*) FILTER (WHERE status = 'CANCELLED'),
+       COUNT(*) FILTER (WHERE status = 'EXPIRED'),
+       COALESCE(SUM(end_date - start_date) FILTER (WHERE status = 'APPROVED' AND end_date >= CURRENT_DATE), 0),
+       COALESCE(SUM(total_price) FILTER (WHERE status = 'APPROVED' AND end_date >= CURRENT_DATE), 0)
+FROM reservations
+WHERE is_deleted = false
+GROUP BY host_id, accommodation_id;
@@ -0,0 +1,16 @@
+-- Idempotency-Key records for POST /api/reservation, scoped per user. A key is claimed in the
+-- same transaction that creates the reservation, so a concurrent retry blocks on the claim until
+-- the first attempt commits (and then replays it) or rolls back (and then runs itself).
+CREATE TABLE idempotency_keys (
+    user_id         UUID         NOT NULL,
+    idempotency_key VARCHAR(255) NOT NULL,
+    request_hash    VARCHAR(64)  NOT NULL,
+    status          VARCHAR(20)  NOT NULL,
+    response_body   TEXT,
+    created_at      TIMESTAMPTZ  NOT NULL DEFAULT now(),
+    expires_at      TIMESTAMPTZ  NOT NULL,
+    PRIMARY KEY (user_id, idempotency_key)
+);
+
+-- IdempotencyKeyStore.deleteExpired
+CREATE INDEX idx_idempotency_keys_expires_at ON idempotency_keys(expires_at);
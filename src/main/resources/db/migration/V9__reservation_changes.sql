@@ -0,0 +1,30 @@
+-- Delta sync: the latest change of every reservation, stamped with a global change sequence.
+-- Sequence values are taken from a single counter row locked until commit, so they are assigned
+-- in commit order and a reader's cursor can never skip a change that commits late (which a plain
+-- Postgres sequence would allow).
+CREATE TABLE reservation_change_sequence (
+    id    BOOLEAN PRIMARY KEY DEFAULT true CHECK (id),
+    value BIGINT  NOT NULL
+);
+
+CREATE TABLE reservation_changes (
+    reservation_id UUID        PRIMARY KEY,
+    seq            BIGINT      NOT NULL UNIQUE,
+    guest_id       UUID        NOT NULL,
+    host_id        UUID        NOT NULL,
+    -- Tombstone: soft-deleted, or archived out of the reservations table
+    deleted        BOOLEAN     NOT NULL,
+    changed_at     TIMESTAMPTZ NOT NULL DEFAULT now()
+);
+
+-- ReservationChangeLog.findChanges
+CREATE INDEX idx_reservation_changes_guest_seq ON reservation_changes(guest_id, seq);
+CREATE INDEX idx_reservation_changes_host_seq ON reservation_changes(host_id, seq);
+
+-- Backfill existing reservations in update order
+INSERT INTO reservation_changes (reservation_id, seq, guest_id, host_id, deleted)
+SELECT id, row_number() OVER (ORDER BY updated_at, id), guest_id, host_id, is_deleted
+FROM reservations;
+
+INSERT INTO reservation_change_sequence (value)
+SELECT COALESCE(MAX(seq), 0) FROM reservation_changes;
@@ -0,0 +1,129 @@
+package com.devoops.reservation.benchmark;
+
+import com.devoops.reservation.config.UserContext;
+import com.devoops.reservation.dto.response.AccommodationAnalyticsResponse;
+import com.devoops.reservation.repository.ReservationRepository;
+import com.devoops.reservation.service.HostAnalyticsService;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Monthly analytics for a synthetic host with 50k approved stays spread over 500 accommodations.
+ * Measures the window-function query on its own and the (host, month) cached service path.
+ * Run with {@code ./gradlew benchmark}.
+ */
+@Tag("benchmark")
+@SpringBootTest
+@Testcontainers
+@ActiveProfiles("test")
+@Slf4j
+class HostAnalyticsBenchmarkTest {
+
+    private static final int ROWS = 50_000;
+    private static final int ACCOMMODATIONS = 500;
+    private static final int WARMUP_ITERATIONS = 5;
+    private static final int MEASURED_ITERATIONS = 20;
+    private static final UUID HOST_ID = UUID.randomUUID();
+    private static final UserContext HOST_CONTEXT = new UserContext(HOST_ID, "HOST");
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine")
+            .withDatabaseName("reservation_db_test")
+            .withUsername("test")
+            .withPassword("test");
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+        registry.add("spring.flyway.url", postgres::getJdbcUrl);
+        registry.add("spring.flyway.user", postgres::getUsername);
+        registry.add("spring.flyway.password", postgres::getPassword);
+    }
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @Autowired
+    private HostAnalyticsService hostAnalyticsService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate readOnlyTransaction;
+
+    @BeforeEach
+    void seed() {
+        readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+        if (reservationRepository.count() > 0) {
+            return;
+        }
+        // Back-to-back 3-night stays with a one-day gap, 100 per accommodation, starting today
+        jdbcTemplate.update("""
+                INSERT INTO reservations (accommodation_id, guest_id, host_id, start_date, end_date,
+                                          guest_count, total_price, status)
+                SELECT md5('accommodation-' || (n % ?))::uuid, gen_random_uuid(), ?,
+                       CURRENT_DATE + (n / ?) * 4, CURRENT_DATE + (n / ?) * 4 + 3,
+                       2, 300.00 + (n % 7) * 25, 'APPROVED'
+                FROM generate_series(0, ? - 1) AS n
+                """, ACCOMMODATIONS, HOST_ID, ACCOMMODATIONS, ACCOMMODATIONS, ROWS);
+        jdbcTemplate.execute("ANALYZE reservations");
+    }
+
+    @Test
+    @DisplayName("Monthly analytics over a year for a host with 50k reservations")
+    void measureMonthlyAnalytics() {
+        YearMonth from = YearMonth.now();
+        YearMonth to = from.plusMonths(11);
+
+        double queryMillis = measure(() -> readOnlyTransaction.execute(status ->
+                reservationRepository.findMonthlyAnalytics(HOST_ID, from.atDay(1), to.atDay(1))));
+        List<AccommodationAnalyticsResponse> rows = hostAnalyticsService.getAnalytics(HOST_CONTEXT, from, to);
+        double cachedMillis = measure(() -> hostAnalyticsService.getAnalytics(HOST_CONTEXT, from, to));
+
+        log.info("Analytics for {} reservations, {} months, {} rows", ROWS, 12, rows.size());
+        log.info("Window-function query: {} ms", "%.2f".formatted(queryMillis));
+        log.info("Cached (host, month): {} ms", "%.3f".formatted(cachedMillis));
+
+        assertThat(rows).isNotEmpty();
+        assertThat(rows).allSatisfy(row -> assertThat(row.occupancyRate()).isLessThanOrEqualTo(BigDecimal.ONE));
+        assertThat(cachedMillis).isLessThan(queryMillis);
+    }
+
+    private static double measure(Runnable action) {
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            action.run();
+        }
+        long startNanos = System.nanoTime();
+        for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+            action.run();
+        }
+        return (System.nanoTime() - startNanos) / 1_000_000.0 / MEASURED_ITERATIONS;
+    }
+}
@@ -0,0 +1,130 @@
+package com.devoops.reservation.benchmark;
+
+import com.devoops.reservation.dto.response.ReservationResponse;
+import com.devoops.reservation.mapper.ReservationMapper;
+import com.devoops.reservation.repository.ReservationRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares a 10k-row host listing loaded as managed entities (before) with the constructor
+ * projection (after). Name enrichment over gRPC is left out so only persistence and mapping are
+ * measured. Run with {@code ./gradlew benchmark}.
+ */
+@Tag("benchmark")
+@SpringBootTest
+@Testcontainers
+@ActiveProfiles("test")
+@Slf4j
+class HostListingBenchmarkTest {
+
+    private static final int ROWS = 10_000;
+    private static final int WARMUP_ITERATIONS = 10;
+    private static final int MEASURED_ITERATIONS = 30;
+    private static final UUID HOST_ID = UUID.randomUUID();
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine")
+            .withDatabaseName("reservation_db_test")
+            .withUsername("test")
+            .withPassword("test");
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+        registry.add("spring.flyway.url", postgres::getJdbcUrl);
+        registry.add("spring.flyway.user", postgres::getUsername);
+        registry.add("spring.flyway.password", postgres::getPassword);
+    }
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @Autowired
+    private ReservationMapper reservationMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate readOnlyTransaction;
+
+    @BeforeEach
+    void seed() {
+        readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+        if (reservationRepository.count() > 0) {
+            return;
+        }
+        jdbcTemplate.update("""
+                INSERT INTO reservations (accommodation_id, guest_id, host_id, start_date, end_date,
+                                          guest_count, total_price, status)
+                SELECT gen_random_uuid(), gen_random_uuid(), ?, CURRENT_DATE + (n % 300), CURRENT_DATE + (n % 300) + 3,
+                       2, 450.00, 'APPROVED'
+                FROM generate_series(1, ?) AS n
+                """, HOST_ID, ROWS);
+    }
+
+    @Test
+    @DisplayName("Projection listing allocates less than entity listing")
+    void compareEntityAndProjectionListing() {
+        Result entities = measure(() -> reservationRepository.findByHostId(HOST_ID).stream()
+                .map(reservationMapper::toResponse)
+                .toList());
+        Result views = measure(() -> reservationRepository.findViewsByHostId(HOST_ID).stream()
+                .map(view -> reservationMapper.toResponseWithNames(view, null, null, null))
+                .toList());
+
+        log.info("Host listing of {} rows", ROWS);
+        log.info("Entities (before): {} ms, {} KiB allocated",
+                "%.1f".formatted(entities.millis()), entities.allocatedBytes() / 1024);
+        log.info("Views (after): {} ms, {} KiB allocated",
+                "%.1f".formatted(views.millis()), views.allocatedBytes() / 1024);
+
+        assertThat(views.allocatedBytes()).isLessThan(entities.allocatedBytes());
+    }
+
+    private Result measure(Supplier<List<ReservationResponse>> listing) {
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            assertThat(readOnlyTransaction.execute(status -> listing.get())).hasSize(ROWS);
+        }
+
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long allocatedBefore = threads.getCurrentThreadAllocatedBytes();
+        long startNanos = System.nanoTime();
+        for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+            readOnlyTransaction.execute(status -> listing.get());
+        }
+        long elapsedNanos = System.nanoTime() - startNanos;
+        long allocated = threads.getCurrentThreadAllocatedBytes() - allocatedBefore;
+
+        return new Result(elapsedNanos / 1_000_000.0 / MEASURED_ITERATIONS, allocated / MEASURED_ITERATIONS);
+    }
+
+    private record Result(double millis, long allocatedBytes) {}
+}
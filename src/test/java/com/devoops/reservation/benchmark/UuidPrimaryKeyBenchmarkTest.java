@@ -0,0 +1,125 @@
+package com.devoops.reservation.benchmark;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares insert throughput and primary key index size of random (v4) and time-ordered (v7)
+ * UUID keys. Run with {@code ./gradlew benchmark}; the row count is set by {@code -PbenchmarkRows}.
+ */
+@Tag("benchmark")
+@Testcontainers
+@Slf4j
+class UuidPrimaryKeyBenchmarkTest {
+
+    private static final int ROWS = Integer.getInteger("benchmark.rows", 2_000_000);
+    private static final int BATCH_SIZE = 5_000;
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine")
+            .withDatabaseName("reservation_db_benchmark")
+            .withUsername("test")
+            .withPassword("test")
+            .withCommand("postgres", "-c", "fsync=off", "-c", "shared_buffers=256MB");
+
+    private static Connection connection;
+
+    @BeforeAll
+    static void connect() throws SQLException {
+        connection = DriverManager.getConnection(
+                postgres.getJdbcUrl() + "&reWriteBatchedInserts=true", postgres.getUsername(), postgres.getPassword());
+    }
+
+    @AfterAll
+    static void disconnect() throws SQLException {
+        connection.close();
+    }
+
+    @Test
+    @DisplayName("UUIDv7 keys insert faster and build a smaller primary key index than UUIDv4")
+    void compareRandomAndTimeOrderedKeys() throws SQLException {
+        Result v4 = run("keys_v4", UUID::randomUUID);
+        Result v7 = run("keys_v7", UuidPrimaryKeyBenchmarkTest::uuidV7);
+
+        log.info("{} rows", ROWS);
+        log.info("UUIDv4: {} rows/s, pkey index {} KiB", Math.round(v4.rowsPerSecond()), v4.indexBytes() / 1024);
+        log.info("UUIDv7: {} rows/s, pkey index {} KiB", Math.round(v7.rowsPerSecond()), v7.indexBytes() / 1024);
+
+        assertThat(v7.indexBytes()).isLessThan(v4.indexBytes());
+    }
+
+    private Result run(String table, Supplier<UUID> ids) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("""
+                    CREATE TABLE %s (
+                        id UUID PRIMARY KEY,
+                        guest_id UUID NOT NULL,
+                        start_date DATE NOT NULL,
+                        end_date DATE NOT NULL
+                    )
+                    """.formatted(table));
+        }
+
+        LocalDate today = LocalDate.now();
+        long startNanos = System.nanoTime();
+        connection.setAutoCommit(false);
+        try (PreparedStatement insert = connection.prepareStatement(
+                "INSERT INTO %s (id, guest_id, start_date, end_date) VALUES (?, ?, ?, ?)".formatted(table))) {
+            for (int row = 1; row <= ROWS; row++) {
+                insert.setObject(1, ids.get());
+                insert.setObject(2, UUID.randomUUID());
+                insert.setObject(3, today);
+                insert.setObject(4, today.plusDays(3));
+                insert.addBatch();
+                if (row % BATCH_SIZE == 0) {
+                    insert.executeBatch();
+                    connection.commit();
+                }
+            }
+            insert.executeBatch();
+            connection.commit();
+        } finally {
+            connection.setAutoCommit(true);
+        }
+        double seconds = (System.nanoTime() - startNanos) / 1_000_000_000.0;
+
+        try (Statement statement = connection.createStatement();
+             ResultSet size = statement.executeQuery("SELECT pg_relation_size('%s_pkey')".formatted(table))) {
+            size.next();
+            return new Result(ROWS / seconds, size.getLong(1));
+        }
+    }
+
+    /**
+     * Same layout as Hibernate's VERSION_7 generator: 48-bit millisecond timestamp, version 7,
+     * random remainder with the RFC 4122 variant.
+     */
+    private static UUID uuidV7() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long mostSignificant = (System.currentTimeMillis() << 16) | 0x7000L | (random.nextLong() & 0x0FFFL);
+        long leastSignificant = (random.nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+        return new UUID(mostSignificant, leastSignificant);
+    }
+
+    private record Result(double rowsPerSecond, long indexBytes) {}
+}
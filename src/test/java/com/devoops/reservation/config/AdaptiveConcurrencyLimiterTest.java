@@ -0,0 +1,150 @@
+package com.devoops.reservation.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdaptiveConcurrencyLimiterTest {
+
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    @DisplayName("Calls above the limit are rejected and counted")
+    void tryAcquire_AboveLimit_ReturnsNull() {
+        var limiter = limiter(2, Duration.ofSeconds(10));
+
+        var first = limiter.tryAcquire();
+        var second = limiter.tryAcquire();
+
+        assertThat(first).isNotNull();
+        assertThat(second).isNotNull();
+        assertThat(limiter.tryAcquire()).isNull();
+        assertThat(meterRegistry.get("reservation.concurrency.rejected").counter().count()).isEqualTo(1.0);
+
+        first.release();
+        assertThat(limiter.tryAcquire()).isNotNull();
+    }
+
+    @Test
+    @DisplayName("Fast calls while the limiter is busy grow the limit by one")
+    void release_FastCallUnderLoad_IncreasesLimit() {
+        var limiter = limiter(2, Duration.ofSeconds(10));
+
+        var first = limiter.tryAcquire();
+        var second = limiter.tryAcquire();
+        second.release(); // released at full utilisation: grows
+        first.release();  // released at half utilisation of the new limit: holds
+
+        assertThat(limiter.getLimit()).isEqualTo(3);
+        assertThat(meterRegistry.get("reservation.concurrency.limit").gauge().value()).isEqualTo(3.0);
+    }
+
+    @Test
+    @DisplayName("Dropped or slow calls back the limit off multiplicatively")
+    void release_DroppedOrSlowCall_DecreasesLimit() {
+        var limiter = limiter(10, Duration.ZERO);
+
+        limiter.tryAcquire().release(true);
+        assertThat(limiter.getLimit()).isEqualTo(9);
+
+        limiter.tryAcquire().release();
+        assertThat(limiter.getLimit()).isEqualTo(8);
+    }
+
+    @Test
+    @DisplayName("Releasing a permit twice only counts once")
+    void release_CalledTwice_ReleasesOnce() {
+        var limiter = limiter(1, Duration.ofSeconds(10));
+
+        var permit = limiter.tryAcquire();
+        permit.release();
+        permit.release();
+
+        assertThat(meterRegistry.get("reservation.concurrency.in.flight").gauge().value()).isZero();
+    }
+
+    @Test
+    @DisplayName("A few slow calls among fast ones leave the limit alone")
+    void release_FewSlowCallsInWindow_KeepsLimit() {
+        AtomicLong clock = new AtomicLong();
+        var limiter = windowedLimiter(clock);
+
+        for (int window = 0; window < 5; window++) {
+            for (int call = 0; call < 20; call++) {
+                complete(limiter, clock, Duration.ofMillis(call % 10 == 0 ? 400 : 50), false);
+            }
+        }
+
+        assertThat(limiter.getLimit()).isEqualTo(50);
+    }
+
+    @Test
+    @DisplayName("A window whose p90 latency is over target backs the limit off once")
+    void release_SlowWindow_DecreasesLimitOnce() {
+        AtomicLong clock = new AtomicLong();
+        var limiter = windowedLimiter(clock);
+
+        for (int call = 0; call < 20; call++) {
+            complete(limiter, clock, Duration.ofMillis(400), false);
+        }
+
+        assertThat(limiter.getLimit()).isEqualTo(45);
+    }
+
+    @Test
+    @DisplayName("Dropped calls count as slow in their window")
+    void release_WindowWithManyDroppedCalls_DecreasesLimit() {
+        AtomicLong clock = new AtomicLong();
+        var limiter = windowedLimiter(clock);
+
+        for (int call = 0; call < 20; call++) {
+            complete(limiter, clock, Duration.ofMillis(50), call < 3);
+        }
+
+        assertThat(limiter.getLimit()).isEqualTo(45);
+    }
+
+    @Test
+    @DisplayName("The limit holds until the window has enough samples")
+    void release_IncompleteWindow_KeepsLimit() {
+        AtomicLong clock = new AtomicLong();
+        var limiter = windowedLimiter(clock);
+
+        for (int call = 0; call < 19; call++) {
+            complete(limiter, clock, Duration.ofSeconds(1), false);
+        }
+
+        assertThat(limiter.getLimit()).isEqualTo(50);
+    }
+
+    /**
+     * A limiter deciding on every sample, as the tests above rely on.
+     */
+    private AdaptiveConcurrencyLimiter limiter(int initialLimit, Duration latencyTarget) {
+        return new AdaptiveConcurrencyLimiter("read", initialLimit, 1, 100, latencyTarget, 0.9,
+                Duration.ZERO, 1, meterRegistry);
+    }
+
+    private AdaptiveConcurrencyLimiter windowedLimiter(AtomicLong clock) {
+        return new AdaptiveConcurrencyLimiter("read", 50, 5, 200, Duration.ofMillis(250), 0.9,
+                Duration.ofSeconds(1), 20, meterRegistry, clock::get);
+    }
+
+    private static void complete(AdaptiveConcurrencyLimiter limiter, AtomicLong clock, Duration latency,
+                                 boolean dropped) {
+        var permit = limiter.tryAcquire();
+        clock.addAndGet(latency.toNanos());
+        permit.release(dropped);
+    }
+}
@@ -0,0 +1,154 @@
+package com.devoops.reservation.config;
+
+import io.grpc.Grpc;
+import io.grpc.InsecureChannelCredentials;
+import io.grpc.ManagedChannel;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class GrpcClientConfigTest {
+
+    private static final String GET_USER_SUMMARY = "user.UserInternalService/GetUserSummary";
+    private static final String VALIDATE = "accommodation.AccommodationInternalService/ValidateAndCalculatePrice";
+
+    private static GrpcClientPolicyProperties policy(List<String> idempotentMethods, boolean hedgingEnabled) {
+        return policy(idempotentMethods, hedgingEnabled, false);
+    }
+
+    private static GrpcClientPolicyProperties policy(
+            List<String> idempotentMethods, boolean hedgingEnabled, boolean outlierDetectionEnabled) {
+        return new GrpcClientPolicyProperties(
+                idempotentMethods,
+                new GrpcClientPolicyProperties.Hedging(hedgingEnabled, 2, Duration.ofMillis(40)),
+                new GrpcClientPolicyProperties.Retry(3, Duration.ofMillis(100), Duration.ofSeconds(1), 2.0),
+                new GrpcClientPolicyProperties.Throttling(10, 0.1),
+                new GrpcClientPolicyProperties.LoadBalancing("round_robin",
+                        new GrpcClientPolicyProperties.OutlierDetection(outlierDetectionEnabled, Duration.ofSeconds(10),
+                                Duration.ofSeconds(30), Duration.ofSeconds(300), 25, 50, 2, 20)));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<Map<String, Object>> methodConfigs(Map<String, Object> serviceConfig) {
+        return (List<Map<String, Object>>) serviceConfig.get("methodConfig");
+    }
+
+    @Test
+    @DisplayName("Each idempotent method gets its own method config named by service and method")
+    void buildServiceConfig_WithIdempotentMethods_NamesEachMethod() {
+        Map<String, Object> serviceConfig = GrpcClientConfig.buildServiceConfig(
+                policy(List.of(GET_USER_SUMMARY, VALIDATE), false));
+
+        assertThat(methodConfigs(serviceConfig))
+                .extracting(methodConfig -> methodConfig.get("name"))
+                .containsExactly(
+                        List.of(Map.of("service", "user.UserInternalService", "method", "GetUserSummary")),
+                        List.of(Map.of("service", "accommodation.AccommodationInternalService",
+                                "method", "ValidateAndCalculatePrice")));
+    }
+
+    @Test
+    @DisplayName("Without hedging the methods get a retry policy on UNAVAILABLE only")
+    void buildServiceConfig_WithHedgingDisabled_AppliesRetryPolicy() {
+        Map<String, Object> methodConfig = methodConfigs(
+                GrpcClientConfig.buildServiceConfig(policy(List.of(VALIDATE), false))).getFirst();
+
+        assertThat(methodConfig).doesNotContainKey("hedgingPolicy");
+        assertThat(methodConfig.get("retryPolicy")).isEqualTo(Map.of(
+                "maxAttempts", 3.0,
+                "initialBackoff", "0.1s",
+                "maxBackoff", "1.0s",
+                "backoffMultiplier", 2.0,
+                "retryableStatusCodes", List.of("UNAVAILABLE")));
+    }
+
+    @Test
+    @DisplayName("With hedging the methods get a hedging policy and no retry policy")
+    void buildServiceConfig_WithHedgingEnabled_AppliesHedgingPolicyOnly() {
+        Map<String, Object> serviceConfig = GrpcClientConfig.buildServiceConfig(
+                policy(List.of(GET_USER_SUMMARY, VALIDATE), true));
+
+        assertThat(methodConfigs(serviceConfig)).allSatisfy(methodConfig -> {
+            assertThat(methodConfig).doesNotContainKey("retryPolicy");
+            assertThat(methodConfig.get("hedgingPolicy")).isEqualTo(Map.of(
+                    "maxAttempts", 2.0,
+                    "hedgingDelay", "0.04s",
+                    "nonFatalStatusCodes", List.of("UNAVAILABLE")));
+        });
+    }
+
+    @Test
+    @DisplayName("No method ever carries both a retry and a hedging policy")
+    void buildServiceConfig_NeverCombinesRetryAndHedging() {
+        for (boolean hedgingEnabled : new boolean[] {true, false}) {
+            assertThat(methodConfigs(GrpcClientConfig.buildServiceConfig(
+                    policy(List.of(GET_USER_SUMMARY, VALIDATE), hedgingEnabled))))
+                    .allSatisfy(methodConfig -> assertThat(
+                            methodConfig.containsKey("retryPolicy") ^ methodConfig.containsKey("hedgingPolicy"))
+                            .isTrue());
+        }
+    }
+
+    @Test
+    @DisplayName("Without idempotent methods no method is retried, but throttling is still set")
+    void buildServiceConfig_WithoutIdempotentMethods_HasNoMethodConfig() {
+        Map<String, Object> serviceConfig = GrpcClientConfig.buildServiceConfig(policy(null, true));
+
+        assertThat(methodConfigs(serviceConfig)).isEmpty();
+        assertThat(serviceConfig.get("retryThrottling")).isEqualTo(Map.of("maxTokens", 10.0, "tokenRatio", 0.1));
+    }
+
+    @Test
+    @DisplayName("A method not in package.Service/Method form is rejected")
+    void buildServiceConfig_WithMalformedMethod_Throws() {
+        assertThatThrownBy(() -> GrpcClientConfig.buildServiceConfig(policy(List.of("GetUserSummary"), false)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("GetUserSummary");
+    }
+
+    @Test
+    @DisplayName("Without outlier detection the balancing policy is used directly")
+    void buildServiceConfig_WithOutlierDetectionDisabled_UsesBalancingPolicy() {
+        Map<String, Object> serviceConfig = GrpcClientConfig.buildServiceConfig(policy(List.of(), false, false));
+
+        assertThat(serviceConfig.get("loadBalancingConfig")).isEqualTo(List.of(Map.of("round_robin", Map.of())));
+    }
+
+    @Test
+    @DisplayName("With outlier detection the balancing policy is wrapped as its child policy")
+    void buildServiceConfig_WithOutlierDetectionEnabled_WrapsBalancingPolicy() {
+        Map<String, Object> serviceConfig = GrpcClientConfig.buildServiceConfig(policy(List.of(), false, true));
+
+        assertThat(serviceConfig.get("loadBalancingConfig")).isEqualTo(List.of(Map.of(
+                "outlier_detection_experimental", Map.of(
+                        "interval", "10.0s",
+                        "baseEjectionTime", "30.0s",
+                        "maxEjectionTime", "300.0s",
+                        "maxEjectionPercentage", 25.0,
+                        "failurePercentageEjection", Map.of(
+                                "threshold", 50.0,
+                                "enforcementPercentage", 100.0,
+                                "minimumHosts", 2.0,
+                                "requestVolume", 20.0),
+                        "childPolicy", List.of(Map.of("round_robin", Map.of()))))));
+    }
+
+    @Test
+    @DisplayName("gRPC accepts the generated config as a channel's default service config")
+    void buildServiceConfig_IsAcceptedByChannelBuilder() {
+        for (boolean enabled : new boolean[] {true, false}) {
+            ManagedChannel channel = Grpc.newChannelBuilder("dns:///localhost:9090", InsecureChannelCredentials.create())
+                    .defaultServiceConfig(GrpcClientConfig.buildServiceConfig(
+                            policy(List.of(GET_USER_SUMMARY, VALIDATE), enabled, enabled)))
+                    .enableRetry()
+                    .build();
+            channel.shutdownNow();
+        }
+    }
+}
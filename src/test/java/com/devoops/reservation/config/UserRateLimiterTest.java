@@ -0,0 +1,81 @@
+package com.devoops.reservation.config;
+
+import com.github.benmanes.caffeine.cache.Ticker;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UserRateLimiterTest {
+
+    private static final UUID USER_ID = UUID.randomUUID();
+
+    private final AtomicLong nanos = new AtomicLong();
+    private final Ticker ticker = nanos::get;
+    private SimpleMeterRegistry meterRegistry;
+    private UserRateLimiter rateLimiter;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        // Bursts of 2, then one call every 6 seconds
+        var properties = new RateLimitProperties(
+                Map.of("create", new RateLimitProperties.Bucket(2, 10, Duration.ofMinutes(1))),
+                Duration.ofMinutes(10),
+                1000);
+        rateLimiter = new UserRateLimiter(properties, meterRegistry, ticker);
+    }
+
+    private void advance(Duration duration) {
+        nanos.addAndGet(duration.toNanos());
+    }
+
+    @Test
+    @DisplayName("Calls beyond the burst are throttled until a token is refilled")
+    void tryAcquire_BeyondCapacity_ReturnsWaitUntilNextToken() {
+        assertThat(rateLimiter.tryAcquire("create", USER_ID)).isZero();
+        assertThat(rateLimiter.tryAcquire("create", USER_ID)).isZero();
+
+        assertThat(rateLimiter.tryAcquire("create", USER_ID)).isEqualTo(Duration.ofSeconds(6));
+        assertThat(meterRegistry.get("reservation.rate-limit.throttled").tag("bucket", "create").counter().count())
+                .isEqualTo(1.0);
+
+        advance(Duration.ofSeconds(6));
+        assertThat(rateLimiter.tryAcquire("create", USER_ID)).isZero();
+    }
+
+    @Test
+    @DisplayName("Users have separate buckets")
+    void tryAcquire_OtherUser_HasOwnBucket() {
+        rateLimiter.tryAcquire("create", USER_ID);
+        rateLimiter.tryAcquire("create", USER_ID);
+
+        assertThat(rateLimiter.tryAcquire("create", UUID.randomUUID())).isZero();
+    }
+
+    @Test
+    @DisplayName("Refill never exceeds the bucket capacity")
+    void tryAcquire_AfterLongIdle_AllowsOnlyCapacity() {
+        rateLimiter.tryAcquire("create", USER_ID);
+        advance(Duration.ofMinutes(5));
+
+        assertThat(rateLimiter.tryAcquire("create", USER_ID)).isZero();
+        assertThat(rateLimiter.tryAcquire("create", USER_ID)).isZero();
+        assertThat(rateLimiter.tryAcquire("create", USER_ID)).isPositive();
+    }
+
+    @Test
+    @DisplayName("Endpoints without a configured bucket are not limited")
+    void tryAcquire_UnknownBucket_AlwaysAllows() {
+        for (int i = 0; i < 10; i++) {
+            assertThat(rateLimiter.tryAcquire("unconfigured", USER_ID)).isZero();
+        }
+    }
+}
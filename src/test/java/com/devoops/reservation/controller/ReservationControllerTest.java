@@ -1,17 +1,34 @@
 package com.devoops.reservation.controller;
 
+import com.devoops.reservation.config.ConditionalGetHandler;
+import com.devoops.reservation.config.RateLimitInterceptor;
+import com.devoops.reservation.config.RateLimitProperties;
 import com.devoops.reservation.config.RoleAuthorizationInterceptor;
 import com.devoops.reservation.config.UserContext;
 import com.devoops.reservation.config.UserContextResolver;
+import com.devoops.reservation.config.UserRateLimiter;
+import com.devoops.reservation.dto.request.ReservationField;
+import com.devoops.reservation.dto.response.AccommodationAnalyticsResponse;
+import com.devoops.reservation.dto.response.HostSummaryResponse;
+import com.devoops.reservation.dto.response.ReservationChangesResponse;
 import com.devoops.reservation.dto.response.ReservationResponse;
 import com.devoops.reservation.dto.response.ReservationWithGuestInfoResponse;
+import com.devoops.reservation.entity.Reservation;
 import com.devoops.reservation.entity.ReservationStatus;
 import com.devoops.reservation.exception.ForbiddenException;
 import com.devoops.reservation.exception.GlobalExceptionHandler;
+import com.devoops.reservation.exception.IdempotencyKeyConflictException;
 import com.devoops.reservation.exception.InvalidReservationException;
 import com.devoops.reservation.exception.ReservationNotFoundException;
+import com.devoops.reservation.exception.ServiceUnavailableException;
+import com.devoops.reservation.service.HostAnalyticsService;
+import com.devoops.reservation.service.HostChangeStreams;
+import com.devoops.reservation.service.IdempotencyService;
 import com.devoops.reservation.service.ReservationService;
+import com.devoops.reservation.service.ReservationVersion;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Ticker;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -19,22 +36,32 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.CannotAcquireLockException;
 import org.springframework.http.MediaType;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.YearMonth;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 
+import static org.hamcrest.Matchers.endsWith;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -47,6 +74,18 @@ class ReservationControllerTest {
     @Mock
     private ReservationService reservationService;
 
+    @Mock
+    private HostAnalyticsService hostAnalyticsService;
+
+    @Mock
+    private IdempotencyService idempotencyService;
+
+    @Mock
+    private HostChangeStreams hostChangeStreams;
+
+    @Spy
+    private ConditionalGetHandler conditionalGetHandler = new ConditionalGetHandler(new SimpleMeterRegistry());
+
     @InjectMocks
     private ReservationController reservationController;
 
@@ -56,6 +95,8 @@ class ReservationControllerTest {
     private static final UUID HOST_ID = UUID.randomUUID();
     private static final UUID ACCOMMODATION_ID = UUID.randomUUID();
     private static final UUID RESERVATION_ID = UUID.randomUUID();
+    private static final ReservationVersion VERSION =
+            new ReservationVersion(LocalDateTime.of(2026, 3, 1, 12, 0), 1);
 
     @BeforeEach
     void setUp() {
@@ -129,6 +170,70 @@ class ReservationControllerTest {
                     .andExpect(jsonPath("$.status").value("PENDING"));
         }
 
+        @Test
+        @DisplayName("With Idempotency-Key creates through the idempotency service")
+        void create_WithIdempotencyKey_UsesIdempotencyService() throws Exception {
+            when(idempotencyService.create(eq("retry-1"), any(), any(UserContext.class)))
+                    .thenReturn(createResponse());
+
+            mockMvc.perform(post("/api/reservation")
+                            .header("X-User-Id", GUEST_ID.toString())
+                            .header("X-User-Role", "GUEST")
+                            .header("Idempotency-Key", "retry-1")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(validCreateRequest())))
+                    .andExpect(status().isCreated())
+                    .andExpect(jsonPath("$.id").value(RESERVATION_ID.toString()));
+
+            verify(reservationService, never()).create(any(), any(UserContext.class));
+        }
+
+        @Test
+        @DisplayName("With Idempotency-Key reused for another request returns 409")
+        void create_WithReusedIdempotencyKey_Returns409() throws Exception {
+            when(idempotencyService.create(eq("retry-1"), any(), any(UserContext.class)))
+                    .thenThrow(new IdempotencyKeyConflictException("Idempotency-Key was already used for a different request"));
+
+            mockMvc.perform(post("/api/reservation")
+                            .header("X-User-Id", GUEST_ID.toString())
+                            .header("X-User-Role", "GUEST")
+                            .header("Idempotency-Key", "retry-1")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(validCreateRequest())))
+                    .andExpect(status().isConflict());
+        }
+
+        @Test
+        @DisplayName("Beyond the user's rate limit returns 429 with Retry-After")
+        void create_BeyondRateLimit_Returns429() throws Exception {
+            var properties = new RateLimitProperties(
+                    Map.of("create", new RateLimitProperties.Bucket(1, 1, Duration.ofSeconds(30))),
+                    Duration.ofMinutes(10),
+                    1000);
+            MockMvc rateLimitedMockMvc = MockMvcBuilders.standaloneSetup(reservationController)
+                    .setControllerAdvice(new GlobalExceptionHandler())
+                    .setCustomArgumentResolvers(new UserContextResolver())
+                    .addInterceptors(new RateLimitInterceptor(
+                            new UserRateLimiter(properties, new SimpleMeterRegistry(), Ticker.systemTicker())))
+                    .build();
+            when(reservationService.create(any(), any(UserContext.class)))
+                    .thenReturn(createResponse());
+
+            var request = post("/api/reservation")
+                    .header("X-User-Id", GUEST_ID.toString())
+                    .header("X-User-Role", "GUEST")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(validCreateRequest()));
+
+            rateLimitedMockMvc.perform(request)
+                    .andExpect(status().isCreated());
+            rateLimitedMockMvc.perform(request)
+                    .andExpect(status().isTooManyRequests())
+                    .andExpect(header().string("Retry-After", "30"));
+
+            verify(reservationService).create(any(), any(UserContext.class));
+        }
+
         @Test
         @DisplayName("With missing auth headers returns 401")
         void create_WithMissingAuthHeaders_Returns401() throws Exception {
@@ -197,6 +302,20 @@ class ReservationControllerTest {
                             .content(objectMapper.writeValueAsString(validCreateRequest())))
                     .andExpect(status().isBadRequest());
         }
+
+        @Test
+        @DisplayName("With accommodation service unavailable for pricing returns 503")
+        void create_WithAccommodationServiceUnavailable_Returns503() throws Exception {
+            when(reservationService.create(any(), any(UserContext.class)))
+                    .thenThrow(new ServiceUnavailableException("Accommodation service is temporarily unavailable"));
+
+            mockMvc.perform(post("/api/reservation")
+                            .header("X-User-Id", GUEST_ID.toString())
+                            .header("X-User-Role", "GUEST")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(validCreateRequest())))
+                    .andExpect(status().isServiceUnavailable());
+        }
     }
 
     @Nested
@@ -206,7 +325,9 @@ class ReservationControllerTest {
         @Test
         @DisplayName("With existing ID and guest role returns 200")
         void getById_WithExistingIdAndGuestRole_Returns200() throws Exception {
-            when(reservationService.getById(eq(RESERVATION_ID), any(UserContext.class)))
+            when(reservationService.getReservationVersion(eq(RESERVATION_ID), any(UserContext.class)))
+                    .thenReturn(VERSION);
+            when(reservationService.getById(eq(RESERVATION_ID), any(UserContext.class), eq(ReservationField.ALL)))
                     .thenReturn(createResponse());
 
             mockMvc.perform(get("/api/reservation/{id}", RESERVATION_ID)
@@ -219,7 +340,9 @@ class ReservationControllerTest {
         @Test
         @DisplayName("With existing ID and host role returns 200")
         void getById_WithExistingIdAndHostRole_Returns200() throws Exception {
-            when(reservationService.getById(eq(RESERVATION_ID), any(UserContext.class)))
+            when(reservationService.getReservationVersion(eq(RESERVATION_ID), any(UserContext.class)))
+                    .thenReturn(VERSION);
+            when(reservationService.getById(eq(RESERVATION_ID), any(UserContext.class), eq(ReservationField.ALL)))
                     .thenReturn(createResponse());
 
             mockMvc.perform(get("/api/reservation/{id}", RESERVATION_ID)
@@ -233,7 +356,7 @@ class ReservationControllerTest {
         @DisplayName("With non-existing ID returns 404")
         void getById_WithNonExistingId_Returns404() throws Exception {
             UUID id = UUID.randomUUID();
-            when(reservationService.getById(eq(id), any(UserContext.class)))
+            when(reservationService.getReservationVersion(eq(id), any(UserContext.class)))
                     .thenThrow(new ReservationNotFoundException("Not found"));
 
             mockMvc.perform(get("/api/reservation/{id}", id)
@@ -245,7 +368,7 @@ class ReservationControllerTest {
         @Test
         @DisplayName("With unauthorized user returns 403")
         void getById_WithUnauthorizedUser_Returns403() throws Exception {
-            when(reservationService.getById(eq(RESERVATION_ID), any(UserContext.class)))
+            when(reservationService.getReservationVersion(eq(RESERVATION_ID), any(UserContext.class)))
                     .thenThrow(new ForbiddenException("Access denied"));
 
             mockMvc.perform(get("/api/reservation/{id}", RESERVATION_ID)
@@ -253,6 +376,142 @@ class ReservationControllerTest {
                             .header("X-User-Role", "GUEST"))
                     .andExpect(status().isForbidden());
         }
+
+        @Test
+        @DisplayName("Returns ETag and Last-Modified validators")
+        void getById_ReturnsValidators() throws Exception {
+            when(reservationService.getReservationVersion(eq(RESERVATION_ID), any(UserContext.class)))
+                    .thenReturn(VERSION);
+            when(reservationService.getById(eq(RESERVATION_ID), any(UserContext.class), eq(ReservationField.ALL)))
+                    .thenReturn(createResponse());
+
+            mockMvc.perform(get("/api/reservation/{id}", RESERVATION_ID)
+                            .header("X-User-Id", GUEST_ID.toString())
+                            .header("X-User-Role", "GUEST"))
+                    .andExpect(status().isOk())
+                    .andExpect(header().exists("ETag"))
+                    .andExpect(header().exists("Last-Modified"))
+                    .andExpect(header().string("Cache-Control", "no-cache, private"));
+        }
+
+        @Test
+        @DisplayName("With matching If-None-Match returns 304 without loading the reservation")
+        void getById_WithMatchingETag_Returns304() throws Exception {
+            when(reservationService.getReservationVersion(eq(RESERVATION_ID), any(UserContext.class)))
+                    .thenReturn(VERSION);
+            when(reservationService.getById(eq(RESERVATION_ID), any(UserContext.class), eq(ReservationField.ALL)))
+                    .thenReturn(createResponse());
+
+            String etag = mockMvc.perform(get("/api/reservation/{id}", RESERVATION_ID)
+                            .header("X-User-Id", GUEST_ID.toString())
+                            .header("X-User-Role", "GUEST"))
+                    .andReturn().getResponse().getHeader("ETag");
+
+            mockMvc.perform(get("/api/reservation/{id}", RESERVATION_ID)
+                            .header("X-User-Id", GUEST_ID.toString())
+                            .header("X-User-Role", "GUEST")
+                            .header("If-None-Match", etag))
+                    .andExpect(status().isNotModified())
+                    .andExpect(content().string(""));
+
+            verify(reservationService).getById(eq(RESERVATION_ID), any(UserContext.class), eq(ReservationField.ALL));
+        }
+    }
+
+    @Nested
+    @DisplayName("GET /api/reservation?ids=")
+    class GetByIdsEndpoint {
+
+        @Test
+        @DisplayName("Returns 200 with the requested reservations")
+        void getByIds_Returns200WithList() throws Exception {
+            UUID otherId = UUID.randomUUID();
+            when(reservationService.getByIds(eq(List.of(RESERVATION_ID, otherId)), any(UserContext.class),
+                    eq(ReservationField.ALL)))
+                    .thenReturn(List.of(createResponse()));
+
+            mockMvc.perform(get("/api/reservation")
+                            .param("ids", RESERVATION_ID + "," + otherId)
+                            .header("X-User-Id", GUEST_ID.toString())
+                            .header("X-User-Role", "GUEST"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$[0].id").value(RESERVATION_ID.toString()));
+        }
+
+        @Test
+        @DisplayName("With too many ids returns 400")
+        void getByIds_WithTooManyIds_Returns400() throws Exception {
+            when(reservationService.getByIds(any(), any(UserContext.class), eq(ReservationField.ALL)))
+                    .thenThrow(new InvalidReservationException("At most 100 reservation ids can be requested at once"));
+
+            mockMvc.perform(get("/api/reservation")
+                            .param("ids", RESERVATION_ID.toString())
+                            .header("X-User-Id", GUEST_ID.toString())
+                            .header("X-User-Role", "GUEST"))
+                    .andExpect(status().isBadRequest());
+        }
+    }
+
+    @Nested
+    @DisplayName("GET /api/reservation/changes")
+    class GetChangesEndpoint {
+
+        @Test
+        @DisplayName("Returns 200 with the changes after the cursor")
+        void getChanges_Returns200WithPage() throws Exception {
+            ReservationChangesResponse page = new ReservationChangesResponse(7L, false, List.of(
+                    new ReservationChangesResponse.Change(7L, RESERVATION_ID, true, null)));
+            when(reservationService.getChanges(any(UserContext.class), eq(5L), eq(100), eq(ReservationField.ALL)))
+                    .thenReturn(page);
+
+            mockMvc.perform(get("/api/reservation/changes")
+                            .param("since", "5")
+                            .header("X-User-Id", GUEST_ID.toString())
+                            .header("X-User-Role", "GUEST"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.cursor").value(7))
+                    .andExpect(jsonPath("$.hasMore").value(false))
+                    .andExpect(jsonPath("$.changes[0].deleted").value(true))
+                    .andExpect(jsonPath("$.changes[0].reservation").doesNotExist());
+        }
+
+        @Test
+        @DisplayName("With a negative cursor returns 400")
+        void getChanges_WithNegativeCursor_Returns400() throws Exception {
+            when(reservationService.getChanges(any(UserContext.class), eq(-1L), eq(100), eq(ReservationField.ALL)))
+                    .thenThrow(new InvalidReservationException("Change cursor must not be negative"));
+
+            mockMvc.perform(get("/api/reservation/changes")
+                            .param("since", "-1")
+                            .header("X-User-Id", GUEST_ID.toString())
+                            .header("X-User-Role", "GUEST"))
+                    .andExpect(status().isBadRequest());
+        }
+    }
+
+    @Nested
+    @DisplayName("GET /api/reservation/host/stream")
+    class StreamHostChangesEndpoint {
+
+        @Test
+        @DisplayName("Opens an event stream for the host")
+        void streamHostChanges_StartsAsyncStream() throws Exception {
+            when(hostChangeStreams.subscribe(HOST_ID)).thenReturn(new SseEmitter());
+
+            mockMvc.perform(get("/api/reservation/host/stream")
+                            .header("X-User-Id", HOST_ID.toString())
+                            .header("X-User-Role", "HOST"))
+                    .andExpect(request().asyncStarted());
+        }
+
+        @Test
+        @DisplayName("With GUEST role returns 403")
+        void streamHostChanges_WithGuestRole_Returns403() throws Exception {
+            mockMvc.perform(get("/api/reservation/host/stream")
+                            .header("X-User-Id", GUEST_ID.toString())
+                            .header("X-User-Role", "GUEST"))
+                    .andExpect(status().isForbidden());
+        }
     }
 
     @Nested
@@ -262,7 +521,8 @@ class ReservationControllerTest {
         @Test
         @DisplayName("Returns 200 with list")
         void getByGuest_Returns200WithList() throws Exception {
-            when(reservationService.getByGuestId(any(UserContext.class)))
+            when(reservationService.getGuestListingVersion(any(UserContext.class))).thenReturn(VERSION);
+            when(reservationService.getByGuestId(any(UserContext.class), eq(ReservationField.ALL)))
                     .thenReturn(List.of(createResponse()));
 
             mockMvc.perform(get("/api/reservation/guest")
@@ -280,6 +540,37 @@ class ReservationControllerTest {
                             .header("X-User-Role", "HOST"))
                     .andExpect(status().isForbidden());
         }
+
+        @Test
+        @DisplayName("With changed listing returns 200 despite a stale If-None-Match")
+        void getByGuest_WithStaleETag_Returns200() throws Exception {
+            when(reservationService.getGuestListingVersion(any(UserContext.class)))
+                    .thenReturn(new ReservationVersion(LocalDateTime.of(2026, 3, 2, 8, 0), 2));
+            when(reservationService.getByGuestId(any(UserContext.class), eq(ReservationField.ALL)))
+                    .thenReturn(List.of(createResponse()));
+
+            mockMvc.perform(get("/api/reservation/guest")
+                            .header("X-User-Id", GUEST_ID.toString())
+                            .header("X-User-Role", "GUEST")
+                            .header("If-None-Match", "W/\"guest-1-0\""))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$[0].id").value(RESERVATION_ID.toString()));
+        }
+
+        @Test
+        @DisplayName("With an empty listing and matching If-None-Match returns 304")
+        void getByGuest_WithEmptyListingAndMatchingETag_Returns304() throws Exception {
+            when(reservationService.getGuestListingVersion(any(UserContext.class)))
+                    .thenReturn(new ReservationVersion(null, 0));
+
+            mockMvc.perform(get("/api/reservation/guest")
+                            .header("X-User-Id", GUEST_ID.toString())
+                            .header("X-User-Role", "GUEST")
+                            .header("If-None-Match", "W/\"guest-0-0\""))
+                    .andExpect(status().isNotModified());
+
+            verify(reservationService, never()).getByGuestId(any(UserContext.class), eq(ReservationField.ALL));
+        }
     }
 
     @Nested
@@ -289,7 +580,8 @@ class ReservationControllerTest {
         @Test
         @DisplayName("Returns 200 with list including guest cancellation count")
         void getByHost_Returns200WithList() throws Exception {
-            when(reservationService.getByHostIdWithGuestInfo(any(UserContext.class)))
+            when(reservationService.getHostListingVersion(any(UserContext.class))).thenReturn(VERSION);
+            when(reservationService.getByHostIdWithGuestInfo(any(UserContext.class), eq(ReservationField.ALL)))
                     .thenReturn(List.of(createResponseWithGuestInfo()));
 
             mockMvc.perform(get("/api/reservation/host")
@@ -300,6 +592,34 @@ class ReservationControllerTest {
                     .andExpect(jsonPath("$[0].guestCancellationCount").value(2));
         }
 
+        @Test
+        @DisplayName("With fields passes the selection and varies the ETag")
+        void getByHost_WithFields_PassesSelection() throws Exception {
+            when(reservationService.getHostListingVersion(any(UserContext.class))).thenReturn(VERSION);
+            when(reservationService.getByHostIdWithGuestInfo(any(UserContext.class),
+                    eq(Set.of(ReservationField.GUEST_NAME))))
+                    .thenReturn(List.of(createResponseWithGuestInfo()));
+
+            mockMvc.perform(get("/api/reservation/host")
+                            .param("fields", "id,status,guestName")
+                            .header("X-User-Id", HOST_ID.toString())
+                            .header("X-User-Role", "HOST"))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string("ETag", endsWith("-fields=guestName\"")));
+        }
+
+        @Test
+        @DisplayName("With an unknown field returns 400")
+        void getByHost_WithUnknownField_Returns400() throws Exception {
+            mockMvc.perform(get("/api/reservation/host")
+                            .param("fields", "guestEmail")
+                            .header("X-User-Id", HOST_ID.toString())
+                            .header("X-User-Role", "HOST"))
+                    .andExpect(status().isBadRequest());
+
+            verify(reservationService, never()).getHostListingVersion(any(UserContext.class));
+        }
+
         @Test
         @DisplayName("With GUEST role returns 403")
         void getByHost_WithGuestRole_Returns403() throws Exception {
@@ -310,6 +630,96 @@ class ReservationControllerTest {
         }
     }
 
+    @Nested
+    @DisplayName("GET /api/reservation/host/summary")
+    class GetHostSummaryEndpoint {
+
+        @Test
+        @DisplayName("With HOST role returns 200 with totals")
+        void getHostSummary_WithHostRole_Returns200() throws Exception {
+            var summary = new HostSummaryResponse(
+                    Map.of(ReservationStatus.PENDING, 2L), 5, new BigDecimal("1000.00"), List.of());
+            when(reservationService.getHostSummary(any(UserContext.class))).thenReturn(summary);
+
+            mockMvc.perform(get("/api/reservation/host/summary")
+                            .header("X-User-Id", HOST_ID.toString())
+                            .header("X-User-Role", "HOST"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.statusCounts.PENDING").value(2))
+                    .andExpect(jsonPath("$.upcomingNights").value(5));
+        }
+
+        @Test
+        @DisplayName("With GUEST role returns 403")
+        void getHostSummary_WithGuestRole_Returns403() throws Exception {
+            mockMvc.perform(get("/api/reservation/host/summary")
+                            .header("X-User-Id", GUEST_ID.toString())
+                            .header("X-User-Role", "GUEST"))
+                    .andExpect(status().isForbidden());
+        }
+    }
+
+    @Nested
+    @DisplayName("GET /api/reservation/host/analytics")
+    class GetHostAnalyticsEndpoint {
+
+        @Test
+        @DisplayName("With HOST role returns 200 with monthly rows")
+        void getHostAnalytics_WithHostRole_Returns200() throws Exception {
+            var row = new AccommodationAnalyticsResponse(ACCOMMODATION_ID, YearMonth.of(2026, 3), 31, 10,
+                    new BigDecimal("0.3226"), new BigDecimal("2000.00"), new BigDecimal("1.0000"), 1);
+            when(hostAnalyticsService.getAnalytics(any(UserContext.class), eq(YearMonth.of(2026, 1)),
+                    eq(YearMonth.of(2026, 6)))).thenReturn(List.of(row));
+
+            mockMvc.perform(get("/api/reservation/host/analytics")
+                            .param("from", "2026-01")
+                            .param("to", "2026-06")
+                            .header("X-User-Id", HOST_ID.toString())
+                            .header("X-User-Role", "HOST"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$[0].accommodationId").value(ACCOMMODATION_ID.toString()))
+                    .andExpect(jsonPath("$[0].occupiedNights").value(10));
+        }
+
+        @Test
+        @DisplayName("With GUEST role returns 403")
+        void getHostAnalytics_WithGuestRole_Returns403() throws Exception {
+            mockMvc.perform(get("/api/reservation/host/analytics")
+                            .param("from", "2026-01")
+                            .param("to", "2026-06")
+                            .header("X-User-Id", GUEST_ID.toString())
+                            .header("X-User-Role", "GUEST"))
+                    .andExpect(status().isForbidden());
+        }
+    }
+
+    @Nested
+    @DisplayName("GET /api/reservation/{guest|host}/archive")
+    class GetArchivedEndpoints {
+
+        @Test
+        @DisplayName("Guest archive returns 200 with list")
+        void getArchivedByGuest_Returns200WithList() throws Exception {
+            when(reservationService.getArchivedByGuestId(any(UserContext.class), eq(ReservationField.ALL)))
+                    .thenReturn(List.of(createResponse()));
+
+            mockMvc.perform(get("/api/reservation/guest/archive")
+                            .header("X-User-Id", GUEST_ID.toString())
+                            .header("X-User-Role", "GUEST"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$[0].id").value(RESERVATION_ID.toString()));
+        }
+
+        @Test
+        @DisplayName("Host archive with GUEST role returns 403")
+        void getArchivedByHost_WithGuestRole_Returns403() throws Exception {
+            mockMvc.perform(get("/api/reservation/host/archive")
+                            .header("X-User-Id", GUEST_ID.toString())
+                            .header("X-User-Role", "GUEST"))
+                    .andExpect(status().isForbidden());
+        }
+    }
+
     @Nested
     @DisplayName("DELETE /api/reservation/{id}")
     class DeleteEndpoint {
@@ -509,6 +919,30 @@ class ReservationControllerTest {
                             .header("X-User-Role", "HOST"))
                     .andExpect(status().isBadRequest());
         }
+
+        @Test
+        @DisplayName("With a concurrent change returns 409")
+        void approve_WithConcurrentChange_Returns409() throws Exception {
+            when(reservationService.approveReservation(eq(RESERVATION_ID), any(UserContext.class)))
+                    .thenThrow(new ObjectOptimisticLockingFailureException(Reservation.class, RESERVATION_ID));
+
+            mockMvc.perform(put("/api/reservation/{id}/approve", RESERVATION_ID)
+                            .header("X-User-Id", HOST_ID.toString())
+                            .header("X-User-Role", "HOST"))
+                    .andExpect(status().isConflict());
+        }
+
+        @Test
+        @DisplayName("With a lock timeout or deadlock returns 409")
+        void approve_WithPessimisticLockFailure_Returns409() throws Exception {
+            when(reservationService.approveReservation(eq(RESERVATION_ID), any(UserContext.class)))
+                    .thenThrow(new CannotAcquireLockException("deadlock detected"));
+
+            mockMvc.perform(put("/api/reservation/{id}/approve", RESERVATION_ID)
+                            .header("X-User-Id", HOST_ID.toString())
+                            .header("X-User-Role", "HOST"))
+                    .andExpect(status().isConflict());
+        }
     }
 
     @Nested
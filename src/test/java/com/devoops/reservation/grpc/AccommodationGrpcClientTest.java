@@ -0,0 +1,192 @@
+package com.devoops.reservation.grpc;
+
+import com.devoops.reservation.exception.ServiceUnavailableException;
+import com.devoops.reservation.grpc.proto.accommodation.AccommodationInternalServiceGrpc;
+import com.devoops.reservation.grpc.proto.accommodation.ReservationValidationRequest;
+import com.devoops.reservation.grpc.proto.accommodation.ReservationValidationResponse;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.grpc.Status;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class AccommodationGrpcClientTest {
+
+    private static final UUID ACCOMMODATION_ID = UUID.randomUUID();
+    private static final UUID HOST_ID = UUID.randomUUID();
+    private static final LocalDate START_DATE = LocalDate.now().plusDays(10);
+    private static final LocalDate END_DATE = LocalDate.now().plusDays(15);
+
+    @Mock
+    private AccommodationInternalServiceGrpc.AccommodationInternalServiceBlockingStub accommodationStub;
+
+    private CircuitBreakerRegistry circuitBreakerRegistry;
+    private AccommodationGrpcClient client;
+
+    @BeforeEach
+    void setUp() {
+        circuitBreakerRegistry = CircuitBreakerRegistry.ofDefaults();
+        client = new AccommodationGrpcClient(circuitBreakerRegistry, new SimpleMeterRegistry(), Duration.ofSeconds(3), 100);
+        ReflectionTestUtils.setField(client, "accommodationStub", accommodationStub);
+        lenient().when(accommodationStub.withDeadlineAfter(anyLong(), eq(TimeUnit.MILLISECONDS)))
+                .thenReturn(accommodationStub);
+    }
+
+    private static ReservationValidationResponse validResponse(String name) {
+        return ReservationValidationResponse.newBuilder()
+                .setValid(true)
+                .setHostId(HOST_ID.toString())
+                .setTotalPrice("500.00")
+                .setPricingMode("PER_GUEST")
+                .setApprovalMode("MANUAL")
+                .setAccommodationName(name)
+                .build();
+    }
+
+    private static ReservationValidationResponse invalidResponse() {
+        return ReservationValidationResponse.newBuilder()
+                .setValid(false)
+                .setErrorCode("NOT_AVAILABLE")
+                .setErrorMessage("Accommodation is not available for the requested dates")
+                .build();
+    }
+
+    private void openCircuit() {
+        circuitBreakerRegistry.circuitBreaker("accommodation-service").transitionToOpenState();
+    }
+
+    @Nested
+    @DisplayName("validateAndCalculatePrice")
+    class ValidateAndCalculatePriceTests {
+
+        @Test
+        @DisplayName("Returns the priced stay from the accommodation service")
+        void validateAndCalculatePrice_WithValidStay_ReturnsPrice() {
+            when(accommodationStub.validateAndCalculatePrice(any(ReservationValidationRequest.class)))
+                    .thenReturn(validResponse("Seaside Villa"));
+
+            AccommodationValidationResult result =
+                    client.validateAndCalculatePrice(ACCOMMODATION_ID, START_DATE, END_DATE, 2);
+
+            assertThat(result.valid()).isTrue();
+            assertThat(result.hostId()).isEqualTo(HOST_ID);
+            assertThat(result.totalPrice()).isEqualByComparingTo(new BigDecimal("500.00"));
+            verify(accommodationStub).withDeadlineAfter(3000, TimeUnit.MILLISECONDS);
+        }
+
+        @Test
+        @DisplayName("With the accommodation service unavailable throws ServiceUnavailableException")
+        void validateAndCalculatePrice_WithServiceUnavailable_Throws() {
+            when(accommodationStub.validateAndCalculatePrice(any(ReservationValidationRequest.class)))
+                    .thenThrow(Status.UNAVAILABLE.asRuntimeException());
+
+            assertThatThrownBy(() -> client.validateAndCalculatePrice(ACCOMMODATION_ID, START_DATE, END_DATE, 2))
+                    .isInstanceOf(ServiceUnavailableException.class);
+        }
+
+        @Test
+        @DisplayName("With the circuit open throws ServiceUnavailableException instead of a last-known value")
+        void validateAndCalculatePrice_WithCircuitOpen_ThrowsWithoutCallingService() {
+            when(accommodationStub.validateAndCalculatePrice(any(ReservationValidationRequest.class)))
+                    .thenReturn(validResponse("Seaside Villa"));
+            client.validateAndCalculatePrice(ACCOMMODATION_ID, START_DATE, END_DATE, 2);
+            client.getAccommodationName(ACCOMMODATION_ID, START_DATE, END_DATE, 2);
+            openCircuit();
+
+            assertThatThrownBy(() -> client.validateAndCalculatePrice(ACCOMMODATION_ID, START_DATE, END_DATE, 2))
+                    .isInstanceOf(ServiceUnavailableException.class)
+                    .hasCauseInstanceOf(CallNotPermittedException.class);
+            verify(accommodationStub, times(2))
+                    .validateAndCalculatePrice(any(ReservationValidationRequest.class));
+        }
+    }
+
+    @Nested
+    @DisplayName("getAccommodationName")
+    class GetAccommodationNameTests {
+
+        @Test
+        @DisplayName("With the service failing returns the last name seen for the accommodation")
+        void getAccommodationName_WithServiceFailing_ReturnsLastKnownName() {
+            when(accommodationStub.validateAndCalculatePrice(any(ReservationValidationRequest.class)))
+                    .thenReturn(validResponse("Seaside Villa"))
+                    .thenThrow(Status.DEADLINE_EXCEEDED.asRuntimeException());
+
+            assertThat(client.getAccommodationName(ACCOMMODATION_ID, START_DATE, END_DATE, 2))
+                    .isEqualTo("Seaside Villa");
+            assertThat(client.getAccommodationName(ACCOMMODATION_ID, START_DATE, END_DATE, 2))
+                    .isEqualTo("Seaside Villa");
+        }
+
+        @Test
+        @DisplayName("With the circuit open returns the last name seen without calling the service")
+        void getAccommodationName_WithCircuitOpen_ReturnsLastKnownName() {
+            when(accommodationStub.validateAndCalculatePrice(any(ReservationValidationRequest.class)))
+                    .thenReturn(validResponse("Seaside Villa"));
+            client.getAccommodationName(ACCOMMODATION_ID, START_DATE, END_DATE, 2);
+            openCircuit();
+
+            assertThat(client.getAccommodationName(ACCOMMODATION_ID, START_DATE, END_DATE, 2))
+                    .isEqualTo("Seaside Villa");
+            verify(accommodationStub).validateAndCalculatePrice(any(ReservationValidationRequest.class));
+        }
+
+        @Test
+        @DisplayName("With the service failing and no name seen returns the placeholder")
+        void getAccommodationName_WithServiceFailingAndNothingCached_ReturnsUnknown() {
+            when(accommodationStub.validateAndCalculatePrice(any(ReservationValidationRequest.class)))
+                    .thenThrow(Status.UNAVAILABLE.asRuntimeException());
+
+            assertThat(client.getAccommodationName(ACCOMMODATION_ID, START_DATE, END_DATE, 2))
+                    .isEqualTo(AccommodationGrpcClient.UNKNOWN_ACCOMMODATION);
+        }
+
+        @Test
+        @DisplayName("With an invalid stay returns the placeholder and remembers no name")
+        void getAccommodationName_WithInvalidStay_ReturnsUnknown() {
+            when(accommodationStub.validateAndCalculatePrice(any(ReservationValidationRequest.class)))
+                    .thenReturn(invalidResponse());
+
+            assertThat(client.getAccommodationName(ACCOMMODATION_ID, START_DATE, END_DATE, 2))
+                    .isEqualTo(AccommodationGrpcClient.UNKNOWN_ACCOMMODATION);
+            openCircuit();
+            assertThat(client.getAccommodationName(ACCOMMODATION_ID, START_DATE, END_DATE, 2))
+                    .isEqualTo(AccommodationGrpcClient.UNKNOWN_ACCOMMODATION);
+        }
+    }
+
+    @Test
+    @DisplayName("An open circuit does not reach the accommodation service")
+    void openCircuit_SkipsService() {
+        openCircuit();
+
+        assertThatThrownBy(() -> client.validateAndCalculatePrice(ACCOMMODATION_ID, START_DATE, END_DATE, 2))
+                .isInstanceOf(ServiceUnavailableException.class);
+        verify(accommodationStub, never()).validateAndCalculatePrice(any(ReservationValidationRequest.class));
+    }
+}
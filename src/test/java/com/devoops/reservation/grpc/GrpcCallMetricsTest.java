@@ -0,0 +1,68 @@
+package com.devoops.reservation.grpc;
+
+import io.grpc.Metadata;
+import io.grpc.Status;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GrpcCallMetricsTest {
+
+    private static final String METHOD = "reservation.ReservationInternalService/CheckRatingEligibility";
+
+    private SimpleMeterRegistry meterRegistry;
+    private GrpcCallMetrics metrics;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        metrics = new GrpcCallMetrics("grpc.server.call", "caller", meterRegistry,
+                List.of(Duration.ofMillis(10), Duration.ofMillis(100)));
+    }
+
+    @Test
+    @DisplayName("A finished call is counted once and leaves nothing in flight")
+    void finish_CalledTwice_RecordsCallOnce() {
+        GrpcCallMetrics.Call call = metrics.start(METHOD, "rating");
+
+        assertThat(meterRegistry.get("grpc.server.call.in.flight").tag("method", METHOD).gauge().value())
+                .isEqualTo(1.0);
+
+        call.finish(Status.OK);
+        call.finish(Status.CANCELLED);
+
+        assertThat(meterRegistry.get("grpc.server.call.in.flight").tag("method", METHOD).gauge().value())
+                .isZero();
+        assertThat(meterRegistry.get("grpc.server.call.completed").tag("status", "OK").counter().count())
+                .isEqualTo(1.0);
+        assertThat(meterRegistry.find("grpc.server.call.completed").tag("status", "CANCELLED").counter())
+                .isNull();
+        assertThat(meterRegistry.get("grpc.server.call.latency").tag("caller", "rating").timer().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Caller header is used as the caller tag")
+    void callerOf_WithServiceName_ReturnsIt() {
+        Metadata headers = new Metadata();
+        headers.put(GrpcCallMetrics.CALLER_SERVICE_KEY, "Rating-Service");
+
+        assertThat(GrpcCallMetrics.callerOf(headers)).isEqualTo("rating-service");
+    }
+
+    @Test
+    @DisplayName("Missing or malformed caller header is reported as unknown")
+    void callerOf_WithMissingOrMalformedHeader_ReturnsUnknown() {
+        Metadata malformed = new Metadata();
+        malformed.put(GrpcCallMetrics.CALLER_SERVICE_KEY, "rating service/../" + "x".repeat(100));
+
+        assertThat(GrpcCallMetrics.callerOf(new Metadata())).isEqualTo("unknown");
+        assertThat(GrpcCallMetrics.callerOf(malformed)).isEqualTo("unknown");
+    }
+}
@@ -0,0 +1,229 @@
+package com.devoops.reservation.grpc;
+
+import com.devoops.reservation.grpc.proto.CheckDeletionBatchResponse;
+import com.devoops.reservation.grpc.proto.CheckDeletionResponse;
+import com.devoops.reservation.grpc.proto.CheckGuestsDeletionRequest;
+import com.devoops.reservation.grpc.proto.CheckHostsDeletionRequest;
+import com.devoops.reservation.grpc.proto.CheckRatingEligibilityBatchRequest;
+import com.devoops.reservation.grpc.proto.CheckRatingEligibilityBatchResponse;
+import com.devoops.reservation.grpc.proto.CheckRatingEligibilityResponse;
+import com.devoops.reservation.repository.ReservationCountView;
+import com.devoops.reservation.repository.ReservationRepository;
+import com.devoops.reservation.service.CompletedStayService;
+import com.devoops.reservation.service.ReservationService;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.grpc.stub.StreamObserver;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ReservationGrpcServiceTest {
+
+    @Mock
+    private ReservationRepository reservationRepository;
+
+    @Mock
+    private CompletedStayService completedStayService;
+
+    @Mock
+    private ReservationService reservationService;
+
+    @InjectMocks
+    private ReservationGrpcService reservationGrpcService;
+
+    private static ReservationCountView countView(UUID id, long count) {
+        return new ReservationCountView() {
+            @Override
+            public UUID getId() {
+                return id;
+            }
+
+            @Override
+            public long getReservationCount() {
+                return count;
+            }
+        };
+    }
+
+    private static List<String> randomIds(int count) {
+        List<String> ids = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            ids.add(UUID.randomUUID().toString());
+        }
+        return ids;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> StreamObserver<T> observer() {
+        return mock(StreamObserver.class);
+    }
+
+    private static <T> T capturedResponse(StreamObserver<T> observer, Class<T> responseType) {
+        ArgumentCaptor<T> captor = ArgumentCaptor.forClass(responseType);
+        verify(observer).onNext(captor.capture());
+        verify(observer).onCompleted();
+        return captor.getValue();
+    }
+
+    private static Status capturedError(StreamObserver<?> observer) {
+        ArgumentCaptor<Throwable> captor = ArgumentCaptor.forClass(Throwable.class);
+        verify(observer).onError(captor.capture());
+        verify(observer, never()).onNext(any());
+        assertThat(captor.getValue()).isInstanceOf(StatusRuntimeException.class);
+        return ((StatusRuntimeException) captor.getValue()).getStatus();
+    }
+
+    @Nested
+    @DisplayName("CheckGuestsCanBeDeleted")
+    class CheckGuestsCanBeDeletedTests {
+
+        @Test
+        @DisplayName("Answers per requested guest, in request order, with unknown guests deletable")
+        void checkGuestsCanBeDeleted_WithKnownAndUnknownGuests_AnswersInOrder() {
+            UUID activeGuest = UUID.randomUUID();
+            UUID unknownGuest = UUID.randomUUID();
+            when(reservationRepository.countActiveReservationsForGuests(
+                    eq(List.of(unknownGuest, activeGuest)), any(LocalDate.class)))
+                    .thenReturn(List.of(countView(activeGuest, 2)));
+            StreamObserver<CheckDeletionBatchResponse> observer = observer();
+
+            reservationGrpcService.checkGuestsCanBeDeleted(CheckGuestsDeletionRequest.newBuilder()
+                    .addGuestIds(unknownGuest.toString())
+                    .addGuestIds(activeGuest.toString())
+                    .build(), observer);
+
+            List<CheckDeletionResponse> results = capturedResponse(observer, CheckDeletionBatchResponse.class).getResultsList();
+            assertThat(results).extracting(CheckDeletionResponse::getCanBeDeleted).containsExactly(true, false);
+            assertThat(results).extracting(CheckDeletionResponse::getActiveReservationCount).containsExactly(0, 2);
+            assertThat(results.get(1).getReason()).contains("2 active reservation(s)");
+        }
+
+        @Test
+        @DisplayName("With more guests than allowed returns INVALID_ARGUMENT without querying")
+        void checkGuestsCanBeDeleted_OverLimit_ReturnsInvalidArgument() {
+            StreamObserver<CheckDeletionBatchResponse> observer = observer();
+
+            reservationGrpcService.checkGuestsCanBeDeleted(CheckGuestsDeletionRequest.newBuilder()
+                    .addAllGuestIds(randomIds(ReservationService.MAX_IDS_PER_REQUEST + 1))
+                    .build(), observer);
+
+            assertThat(capturedError(observer).getCode()).isEqualTo(Status.Code.INVALID_ARGUMENT);
+            verifyNoInteractions(reservationRepository);
+        }
+
+        @Test
+        @DisplayName("With a malformed id returns INVALID_ARGUMENT")
+        void checkGuestsCanBeDeleted_WithMalformedId_ReturnsInvalidArgument() {
+            StreamObserver<CheckDeletionBatchResponse> observer = observer();
+
+            reservationGrpcService.checkGuestsCanBeDeleted(CheckGuestsDeletionRequest.newBuilder()
+                    .addGuestIds("not-a-uuid")
+                    .build(), observer);
+
+            assertThat(capturedError(observer).getCode()).isEqualTo(Status.Code.INVALID_ARGUMENT);
+            verifyNoInteractions(reservationRepository);
+        }
+    }
+
+    @Nested
+    @DisplayName("CheckHostsCanBeDeleted")
+    class CheckHostsCanBeDeletedTests {
+
+        @Test
+        @DisplayName("Answers per requested host, in request order, with unknown hosts deletable")
+        void checkHostsCanBeDeleted_WithKnownAndUnknownHosts_AnswersInOrder() {
+            UUID activeHost = UUID.randomUUID();
+            UUID unknownHost = UUID.randomUUID();
+            when(reservationRepository.countActiveReservationsForHosts(
+                    eq(List.of(activeHost, unknownHost)), any(LocalDate.class)))
+                    .thenReturn(List.of(countView(activeHost, 1)));
+            StreamObserver<CheckDeletionBatchResponse> observer = observer();
+
+            reservationGrpcService.checkHostsCanBeDeleted(CheckHostsDeletionRequest.newBuilder()
+                    .addHostIds(activeHost.toString())
+                    .addHostIds(unknownHost.toString())
+                    .build(), observer);
+
+            List<CheckDeletionResponse> results = capturedResponse(observer, CheckDeletionBatchResponse.class).getResultsList();
+            assertThat(results).extracting(CheckDeletionResponse::getCanBeDeleted).containsExactly(false, true);
+            assertThat(results).extracting(CheckDeletionResponse::getActiveReservationCount).containsExactly(1, 0);
+        }
+
+        @Test
+        @DisplayName("With more hosts than allowed returns INVALID_ARGUMENT without querying")
+        void checkHostsCanBeDeleted_OverLimit_ReturnsInvalidArgument() {
+            StreamObserver<CheckDeletionBatchResponse> observer = observer();
+
+            reservationGrpcService.checkHostsCanBeDeleted(CheckHostsDeletionRequest.newBuilder()
+                    .addAllHostIds(randomIds(ReservationService.MAX_IDS_PER_REQUEST + 1))
+                    .build(), observer);
+
+            assertThat(capturedError(observer).getCode()).isEqualTo(Status.Code.INVALID_ARGUMENT);
+            verifyNoInteractions(reservationRepository);
+        }
+    }
+
+    @Nested
+    @DisplayName("CheckRatingEligibilityBatch")
+    class CheckRatingEligibilityBatchTests {
+
+        @Test
+        @DisplayName("Answers per requested target, in request order")
+        void checkRatingEligibilityBatch_WithEligibleAndUnknownTargets_AnswersInOrder() {
+            UUID guestId = UUID.randomUUID();
+            UUID eligibleTarget = UUID.randomUUID();
+            UUID unknownTarget = UUID.randomUUID();
+            when(completedStayService.findEligibleTargets(guestId, "HOST", List.of(unknownTarget, eligibleTarget)))
+                    .thenReturn(Set.of(eligibleTarget));
+            StreamObserver<CheckRatingEligibilityBatchResponse> observer = observer();
+
+            reservationGrpcService.checkRatingEligibilityBatch(CheckRatingEligibilityBatchRequest.newBuilder()
+                    .setGuestId(guestId.toString())
+                    .setTargetType("HOST")
+                    .addTargetIds(unknownTarget.toString())
+                    .addTargetIds(eligibleTarget.toString())
+                    .build(), observer);
+
+            List<CheckRatingEligibilityResponse> results = capturedResponse(observer, CheckRatingEligibilityBatchResponse.class).getResultsList();
+            assertThat(results).extracting(CheckRatingEligibilityResponse::getEligible).containsExactly(false, true);
+            assertThat(results.get(0).getReason()).isEqualTo("No completed past stays found");
+        }
+
+        @Test
+        @DisplayName("With more targets than allowed returns INVALID_ARGUMENT without checking")
+        void checkRatingEligibilityBatch_OverLimit_ReturnsInvalidArgument() {
+            StreamObserver<CheckRatingEligibilityBatchResponse> observer = observer();
+
+            reservationGrpcService.checkRatingEligibilityBatch(CheckRatingEligibilityBatchRequest.newBuilder()
+                    .setGuestId(UUID.randomUUID().toString())
+                    .setTargetType("ACCOMMODATION")
+                    .addAllTargetIds(randomIds(ReservationService.MAX_IDS_PER_REQUEST + 1))
+                    .build(), observer);
+
+            assertThat(capturedError(observer).getCode()).isEqualTo(Status.Code.INVALID_ARGUMENT);
+            verifyNoInteractions(completedStayService);
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.devoops.reservation.grpc;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SingleFlightTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private SingleFlight<String, String> singleFlight;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        singleFlight = new SingleFlight<>("test-service", meterRegistry);
+    }
+
+    @Test
+    @DisplayName("Concurrent calls for the same key share one call and its result")
+    void execute_WithConcurrentIdenticalKeys_CoalescesIntoOneCall() throws Exception {
+        AtomicInteger invocations = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(2)) {
+            Future<String> leader = executor.submit(() -> singleFlight.execute("key", () -> {
+                invocations.incrementAndGet();
+                awaitQuietly(release);
+                return "value";
+            }));
+            waitUntil(() -> singleFlight.inFlightCount() == 1);
+
+            Future<String> follower = executor.submit(() -> singleFlight.execute("key", () -> {
+                invocations.incrementAndGet();
+                return "other";
+            }));
+            waitUntil(() -> coalescedCount() == 1.0);
+            release.countDown();
+
+            assertThat(leader.get(5, TimeUnit.SECONDS)).isEqualTo("value");
+            assertThat(follower.get(5, TimeUnit.SECONDS)).isEqualTo("value");
+        }
+
+        assertThat(invocations).hasValue(1);
+        assertThat(singleFlight.inFlightCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("Sequential calls are not coalesced")
+    void execute_WithSequentialCalls_InvokesEachTime() {
+        AtomicInteger invocations = new AtomicInteger();
+
+        singleFlight.execute("key", () -> "v" + invocations.incrementAndGet());
+        String second = singleFlight.execute("key", () -> "v" + invocations.incrementAndGet());
+
+        assertThat(second).isEqualTo("v2");
+        assertThat(coalescedCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("Failure is propagated and the key is released")
+    void execute_WhenCallFails_PropagatesAndReleasesKey() {
+        assertThatThrownBy(() -> singleFlight.execute("key", () -> {
+            throw new IllegalStateException("boom");
+        })).isInstanceOf(IllegalStateException.class);
+
+        assertThat(singleFlight.inFlightCount()).isZero();
+        assertThat(singleFlight.execute("key", () -> "recovered")).isEqualTo("recovered");
+    }
+
+    private double coalescedCount() {
+        return meterRegistry.get("grpc.client.coalesced.calls").counter().count();
+    }
+
+    private static void waitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime()).as("condition met within 5s").isLessThan(deadline);
+            Thread.sleep(10);
+        }
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package com.devoops.reservation.grpc;
+
+import com.devoops.reservation.grpc.proto.user.GetUserSummaryRequest;
+import com.devoops.reservation.grpc.proto.user.GetUserSummaryResponse;
+import com.devoops.reservation.grpc.proto.user.UserInternalServiceGrpc;
+import io.grpc.Attributes;
+import io.grpc.CallOptions;
+import io.grpc.Channel;
+import io.grpc.ClientCall;
+import io.grpc.Grpc;
+import io.grpc.Metadata;
+import io.grpc.MethodDescriptor;
+import io.grpc.Status;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SubchannelLatencyInterceptorTest {
+
+    private static final Duration IDLE_TIMEOUT = Duration.ofMinutes(10);
+
+    private SimpleMeterRegistry meterRegistry;
+    private AtomicLong clock;
+    private SubchannelLatencyInterceptor interceptor;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        clock = new AtomicLong();
+        interceptor = new SubchannelLatencyInterceptor("user-service", meterRegistry, IDLE_TIMEOUT, clock::get);
+    }
+
+    /**
+     * A channel whose calls close immediately with {@code status} on a transport connected to {@code endpoint}.
+     */
+    private static Channel channelTo(SocketAddress endpoint, Status status) {
+        return new Channel() {
+            @Override
+            public <ReqT, RespT> ClientCall<ReqT, RespT> newCall(
+                    MethodDescriptor<ReqT, RespT> method, CallOptions callOptions) {
+                return new ClientCall<>() {
+                    @Override
+                    public void start(Listener<RespT> responseListener, Metadata headers) {
+                        responseListener.onClose(status, new Metadata());
+                    }
+
+                    @Override
+                    public void request(int numMessages) {
+                    }
+
+                    @Override
+                    public void cancel(String message, Throwable cause) {
+                    }
+
+                    @Override
+                    public void halfClose() {
+                    }
+
+                    @Override
+                    public void sendMessage(ReqT message) {
+                    }
+
+                    @Override
+                    public Attributes getAttributes() {
+                        return endpoint == null
+                                ? Attributes.EMPTY
+                                : Attributes.newBuilder().set(Grpc.TRANSPORT_ATTR_REMOTE_ADDR, endpoint).build();
+                    }
+                };
+            }
+
+            @Override
+            public String authority() {
+                return "user-service";
+            }
+        };
+    }
+
+    private void call(Channel channel) {
+        ClientCall<GetUserSummaryRequest, GetUserSummaryResponse> call = interceptor.interceptCall(
+                UserInternalServiceGrpc.getGetUserSummaryMethod(), CallOptions.DEFAULT, channel);
+        call.start(new ClientCall.Listener<>() {}, new Metadata());
+    }
+
+    @Test
+    @DisplayName("Latency is recorded per endpoint the call was routed to")
+    void interceptCall_OnTwoEndpoints_RecordsLatencyPerEndpoint() {
+        Channel replicaA = channelTo(new InetSocketAddress("10.0.0.1", 9090), Status.OK);
+        Channel replicaB = channelTo(new InetSocketAddress("10.0.0.2", 9090), Status.OK);
+
+        call(replicaA);
+        call(replicaA);
+        call(replicaB);
+
+        assertThat(meterRegistry.get("grpc.client.subchannel.latency")
+                .tag("client", "user-service").tag("endpoint", "10.0.0.1:9090").tag("status", "OK")
+                .timer().count()).isEqualTo(2);
+        assertThat(meterRegistry.get("grpc.client.subchannel.latency")
+                .tag("client", "user-service").tag("endpoint", "10.0.0.2:9090").tag("status", "OK")
+                .timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Failed calls are tagged with their status")
+    void interceptCall_WithFailedCall_TagsStatus() {
+        call(channelTo(new InetSocketAddress("10.0.0.1", 9090), Status.DEADLINE_EXCEEDED));
+
+        assertThat(meterRegistry.get("grpc.client.subchannel.latency")
+                .tag("endpoint", "10.0.0.1:9090").tag("status", "DEADLINE_EXCEEDED")
+                .timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Calls that never reached a transport are recorded as unassigned")
+    void interceptCall_WithoutTransport_RecordsUnassignedEndpoint() {
+        call(channelTo(null, Status.UNAVAILABLE));
+
+        assertThat(meterRegistry.get("grpc.client.subchannel.latency")
+                .tag("endpoint", "unassigned").tag("status", "UNAVAILABLE")
+                .timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Meters of an endpoint without calls for the idle timeout are removed")
+    void interceptCall_AfterEndpointIdles_RemovesItsMeters() {
+        Channel goneReplica = channelTo(new InetSocketAddress("10.0.0.1", 9090), Status.OK);
+        Channel liveReplica = channelTo(new InetSocketAddress("10.0.0.2", 9090), Status.OK);
+        call(goneReplica);
+        call(liveReplica);
+
+        clock.addAndGet(IDLE_TIMEOUT.toNanos() / 2);
+        call(liveReplica);
+        clock.addAndGet(IDLE_TIMEOUT.toNanos() / 2);
+        call(liveReplica);
+
+        assertThat(meterRegistry.find(SubchannelLatencyInterceptor.METER_NAME).tag("endpoint", "10.0.0.1:9090")
+                .meters()).isEmpty();
+        assertThat(meterRegistry.get(SubchannelLatencyInterceptor.METER_NAME).tag("endpoint", "10.0.0.2:9090")
+                .timer().count()).isEqualTo(3);
+
+        call(goneReplica);
+        assertThat(meterRegistry.get(SubchannelLatencyInterceptor.METER_NAME).tag("endpoint", "10.0.0.1:9090")
+                .timer().count()).isEqualTo(1);
+    }
+}
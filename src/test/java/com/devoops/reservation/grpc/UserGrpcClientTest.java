@@ -0,0 +1,129 @@
+package com.devoops.reservation.grpc;
+
+import com.devoops.reservation.grpc.proto.user.GetUserSummaryRequest;
+import com.devoops.reservation.grpc.proto.user.GetUserSummaryResponse;
+import com.devoops.reservation.grpc.proto.user.UserInternalServiceGrpc;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.grpc.Status;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class UserGrpcClientTest {
+
+    private static final UUID USER_ID = UUID.randomUUID();
+
+    @Mock
+    private UserInternalServiceGrpc.UserInternalServiceBlockingStub userStub;
+
+    private CircuitBreakerRegistry circuitBreakerRegistry;
+    private UserGrpcClient client;
+
+    @BeforeEach
+    void setUp() {
+        circuitBreakerRegistry = CircuitBreakerRegistry.ofDefaults();
+        client = new UserGrpcClient(circuitBreakerRegistry, new SimpleMeterRegistry(), Duration.ofSeconds(2), 100);
+        ReflectionTestUtils.setField(client, "userStub", userStub);
+        lenient().when(userStub.withDeadlineAfter(anyLong(), eq(TimeUnit.MILLISECONDS)))
+                .thenReturn(userStub);
+    }
+
+    private static GetUserSummaryResponse foundResponse() {
+        return GetUserSummaryResponse.newBuilder()
+                .setFound(true)
+                .setUserId(USER_ID.toString())
+                .setEmail("john@example.com")
+                .setFirstName("John")
+                .setLastName("Doe")
+                .setRole("GUEST")
+                .build();
+    }
+
+    @Test
+    @DisplayName("Returns the summary from the user service")
+    void getUserSummary_WithFoundUser_ReturnsSummary() {
+        when(userStub.getUserSummary(any(GetUserSummaryRequest.class))).thenReturn(foundResponse());
+
+        UserSummaryResult result = client.getUserSummary(USER_ID);
+
+        assertThat(result.found()).isTrue();
+        assertThat(result.firstName()).isEqualTo("John");
+        verify(userStub).withDeadlineAfter(2000, TimeUnit.MILLISECONDS);
+    }
+
+    @Test
+    @DisplayName("With the service failing returns the last summary seen for the user")
+    void getUserSummary_WithServiceFailing_ReturnsLastKnownSummary() {
+        when(userStub.getUserSummary(any(GetUserSummaryRequest.class)))
+                .thenReturn(foundResponse())
+                .thenThrow(Status.UNAVAILABLE.asRuntimeException());
+
+        UserSummaryResult first = client.getUserSummary(USER_ID);
+        UserSummaryResult fallback = client.getUserSummary(USER_ID);
+
+        assertThat(fallback).isEqualTo(first);
+    }
+
+    @Test
+    @DisplayName("With the circuit open returns the last summary seen without calling the service")
+    void getUserSummary_WithCircuitOpen_ReturnsLastKnownSummary() {
+        when(userStub.getUserSummary(any(GetUserSummaryRequest.class))).thenReturn(foundResponse());
+        UserSummaryResult first = client.getUserSummary(USER_ID);
+        circuitBreakerRegistry.circuitBreaker("user-service").transitionToOpenState();
+
+        assertThat(client.getUserSummary(USER_ID)).isEqualTo(first);
+        verify(userStub).getUserSummary(any(GetUserSummaryRequest.class));
+    }
+
+    @Test
+    @DisplayName("With the service failing and no summary seen returns not found")
+    void getUserSummary_WithServiceFailingAndNothingCached_ReturnsNotFound() {
+        when(userStub.getUserSummary(any(GetUserSummaryRequest.class)))
+                .thenThrow(Status.DEADLINE_EXCEEDED.asRuntimeException());
+
+        UserSummaryResult result = client.getUserSummary(USER_ID);
+
+        assertThat(result.found()).isFalse();
+        assertThat(result.userId()).isNull();
+        assertThat(result.firstName()).isNull();
+    }
+
+    @Test
+    @DisplayName("A user the service does not find is not remembered as a fallback")
+    void getUserSummary_WithUserNotFound_DoesNotCacheIt() {
+        when(userStub.getUserSummary(any(GetUserSummaryRequest.class)))
+                .thenReturn(GetUserSummaryResponse.newBuilder().setFound(false).build());
+
+        assertThat(client.getUserSummary(USER_ID).found()).isFalse();
+        circuitBreakerRegistry.circuitBreaker("user-service").transitionToOpenState();
+        assertThat(client.getUserSummary(USER_ID).found()).isFalse();
+    }
+
+    @Test
+    @DisplayName("An open circuit with nothing cached does not reach the user service")
+    void getUserSummary_WithCircuitOpenAndNothingCached_ReturnsNotFound() {
+        circuitBreakerRegistry.circuitBreaker("user-service").transitionToOpenState();
+
+        assertThat(client.getUserSummary(USER_ID).found()).isFalse();
+        verify(userStub, never()).getUserSummary(any(GetUserSummaryRequest.class));
+    }
+}
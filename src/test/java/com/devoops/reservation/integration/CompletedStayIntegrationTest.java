@@ -0,0 +1,194 @@
+package com.devoops.reservation.integration;
+
+import com.devoops.reservation.config.UserContext;
+import com.devoops.reservation.grpc.AccommodationGrpcClient;
+import com.devoops.reservation.grpc.UserGrpcClient;
+import com.devoops.reservation.grpc.UserSummaryResult;
+import com.devoops.reservation.service.CompletedStayService;
+import com.devoops.reservation.service.ReservationService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.when;
+
+/**
+ * Completed stays against Postgres: the incremental rollup, eligibility across the rollup
+ * watermark, and approvals of stays whose end date was already rolled up.
+ */
+@SpringBootTest
+@Testcontainers
+@ActiveProfiles("test")
+class CompletedStayIntegrationTest {
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine")
+            .withDatabaseName("reservation_db_test")
+            .withUsername("test")
+            .withPassword("test");
+
+    @Autowired
+    private CompletedStayService completedStayService;
+
+    @Autowired
+    private ReservationService reservationService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @MockitoBean
+    private AccommodationGrpcClient accommodationGrpcClient;
+
+    @MockitoBean
+    private UserGrpcClient userGrpcClient;
+
+    @MockitoBean
+    private RabbitTemplate rabbitTemplate;
+
+    private final LocalDate today = LocalDate.now();
+    private final UUID guestId = UUID.randomUUID();
+    private final UUID hostId = UUID.randomUUID();
+    private final UUID accommodationId = UUID.randomUUID();
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+        registry.add("spring.flyway.url", postgres::getJdbcUrl);
+        registry.add("spring.flyway.user", postgres::getUsername);
+        registry.add("spring.flyway.password", postgres::getPassword);
+        // Pending stays in the past must not be expired by the scheduled job mid-test
+        registry.add("reservation.expiry.initial-delay", () -> "1h");
+    }
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.execute("TRUNCATE reservations, completed_stays, host_reservation_aggregates");
+        when(accommodationGrpcClient.getAccommodationName(any(UUID.class), any(LocalDate.class), any(LocalDate.class), anyInt()))
+                .thenReturn("Test Accommodation");
+        when(userGrpcClient.getUserSummary(any(UUID.class)))
+                .thenReturn(new UserSummaryResult(true, hostId, "host@example.com", "Test", "Host", "HOST", false));
+    }
+
+    @Test
+    @DisplayName("rollUp adds approved stays that ended after the watermark and before today, once")
+    void rollUp_WithStaysAroundWatermark_RollsUpOnlyNewlyCompletedStays() {
+        UUID otherAccommodationId = UUID.randomUUID();
+        setWatermark(today.minusDays(5));
+        // Rolled up by an earlier run
+        insertStay(accommodationId, hostId, today.minusDays(10), "APPROVED");
+        jdbcTemplate.update("""
+                INSERT INTO completed_stays (guest_id, accommodation_id, host_id, stay_count, last_end_date)
+                VALUES (?, ?, ?, 1, ?)
+                """, guestId, accommodationId, hostId, today.minusDays(10));
+        insertStay(accommodationId, hostId, today.minusDays(3), "APPROVED");
+        insertStay(otherAccommodationId, hostId, today.minusDays(1), "APPROVED");
+        // Not completed yet, or not approved
+        insertStay(otherAccommodationId, hostId, today, "APPROVED");
+        insertStay(accommodationId, hostId, today.minusDays(2), "PENDING");
+
+        assertThat(completedStayService.rollUp()).isEqualTo(2);
+
+        assertThat(completedStay(accommodationId))
+                .containsEntry("stay_count", 2)
+                .containsEntry("last_end_date", Date.valueOf(today.minusDays(3)));
+        assertThat(completedStay(otherAccommodationId))
+                .containsEntry("stay_count", 1)
+                .containsEntry("last_end_date", Date.valueOf(today.minusDays(1)));
+        assertThat(watermark()).isEqualTo(today.minusDays(1));
+
+        assertThat(completedStayService.rollUp()).isZero();
+        assertThat(completedStay(accommodationId)).containsEntry("stay_count", 2);
+    }
+
+    @Test
+    @DisplayName("findEligibleTargets finds rolled-up stays and counts stays ended after the watermark live")
+    void findEligibleTargets_WithStaysBeforeAndAfterWatermark_FindsBoth() {
+        UUID rolledUpHost = UUID.randomUUID();
+        UUID recentHost = UUID.randomUUID();
+        UUID currentHost = UUID.randomUUID();
+        setWatermark(today.minusDays(5));
+        insertStay(accommodationId, rolledUpHost, today.minusDays(10), "APPROVED");
+        jdbcTemplate.update("""
+                INSERT INTO completed_stays (guest_id, accommodation_id, host_id, stay_count, last_end_date)
+                VALUES (?, ?, ?, 1, ?)
+                """, guestId, accommodationId, rolledUpHost, today.minusDays(10));
+        // Ended after the watermark, not rolled up yet
+        insertStay(UUID.randomUUID(), recentHost, today.minusDays(2), "APPROVED");
+        // Still in progress
+        insertStay(UUID.randomUUID(), currentHost, today, "APPROVED");
+
+        assertThat(completedStayService.findEligibleTargets(guestId, "HOST",
+                List.of(rolledUpHost, recentHost, currentHost, UUID.randomUUID())))
+                .containsExactlyInAnyOrder(rolledUpHost, recentHost);
+    }
+
+    @Test
+    @DisplayName("Approving a stay whose end date was already rolled up records it as completed")
+    void approve_OfStayEndedBeforeWatermark_RecordsCompletedStay() {
+        setWatermark(today.minusDays(1));
+        UUID reservationId = insertStay(accommodationId, hostId, today.minusDays(3), "PENDING");
+        assertThat(completedStayService.findEligibleTargets(guestId, "HOST", List.of(hostId))).isEmpty();
+
+        reservationService.approveReservation(reservationId, new UserContext(hostId, "HOST"));
+
+        assertThat(completedStay(accommodationId))
+                .containsEntry("stay_count", 1)
+                .containsEntry("last_end_date", Date.valueOf(today.minusDays(3)));
+        // The negative answer cached before the approval is dropped
+        assertThat(completedStayService.findEligibleTargets(guestId, "HOST", List.of(hostId)))
+                .containsExactly(hostId);
+        assertThat(completedStayService.findEligibleTargets(guestId, "ACCOMMODATION", List.of(accommodationId)))
+                .containsExactly(accommodationId);
+        // The rollup has already passed that day and does not count the stay again
+        assertThat(completedStayService.rollUp()).isZero();
+        assertThat(completedStay(accommodationId)).containsEntry("stay_count", 1);
+    }
+
+    private UUID insertStay(UUID stayAccommodationId, UUID stayHostId, LocalDate endDate, String status) {
+        return jdbcTemplate.queryForObject("""
+                INSERT INTO reservations (accommodation_id, guest_id, host_id, start_date, end_date,
+                                          guest_count, total_price, status)
+                VALUES (?, ?, ?, ?, ?, 2, 400.00, ?::reservation_status)
+                RETURNING id
+                """, UUID.class, stayAccommodationId, guestId, stayHostId, endDate.minusDays(4), endDate, status);
+    }
+
+    private void setWatermark(LocalDate processedThrough) {
+        jdbcTemplate.update("UPDATE rollup_watermarks SET processed_through = ? WHERE name = 'completed_stays'",
+                processedThrough);
+    }
+
+    private LocalDate watermark() {
+        return jdbcTemplate.queryForObject(
+                "SELECT processed_through FROM rollup_watermarks WHERE name = 'completed_stays'", LocalDate.class);
+    }
+
+    private Map<String, Object> completedStay(UUID stayAccommodationId) {
+        return jdbcTemplate.queryForMap("""
+                SELECT stay_count, last_end_date FROM completed_stays
+                WHERE guest_id = ? AND accommodation_id = ? AND host_id = ?
+                """, guestId, stayAccommodationId, hostId);
+    }
+}
@@ -0,0 +1,176 @@
+package com.devoops.reservation.integration;
+
+import com.devoops.reservation.config.ReadYourWritesTracker;
+import com.devoops.reservation.config.ReplicaLagMonitor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.containers.Network;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.containers.wait.strategy.Wait;
+import org.testcontainers.images.builder.Transferable;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.UUID;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs against a primary and a local streaming replica seeded with pg_basebackup.
+ */
+@SpringBootTest
+@Testcontainers
+@ActiveProfiles("test")
+class ReplicaRoutingIntegrationTest {
+
+    private static final Network NETWORK = Network.newNetwork();
+
+    @Container
+    static PostgreSQLContainer<?> primary = new PostgreSQLContainer<>("postgres:16-alpine")
+            .withNetwork(NETWORK)
+            .withNetworkAliases("primary")
+            .withDatabaseName("reservation_db_test")
+            .withUsername("test")
+            .withPassword("test")
+            .withCopyToContainer(Transferable.of("""
+                    #!/bin/sh
+                    echo "host replication all all scram-sha-256" >> "$PGDATA/pg_hba.conf"
+                    """, 0755), "/docker-entrypoint-initdb.d/allow-replication.sh")
+            .withCommand("postgres", "-c", "wal_level=replica", "-c", "max_wal_senders=4", "-c", "fsync=off");
+
+    @Container
+    static GenericContainer<?> replica = new GenericContainer<>("postgres:16-alpine")
+            .dependsOn(primary)
+            .withNetwork(NETWORK)
+            .withEnv("PGPASSWORD", "test")
+            .withExposedPorts(5432)
+            .withCommand("sh", "-c", """
+                    mkdir -p /tmp/replica && chown postgres /tmp/replica && chmod 700 /tmp/replica
+                    su-exec postgres pg_basebackup -h primary -U test -D /tmp/replica -Fp -Xs -R
+                    exec su-exec postgres postgres -D /tmp/replica -c hot_standby=on
+                    """)
+            .waitingFor(Wait.forLogMessage(".*ready to accept read-only connections.*", 1)
+                    .withStartupTimeout(Duration.ofMinutes(2)));
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ReplicaLagMonitor replicaLagMonitor;
+
+    @Autowired
+    private ReadYourWritesTracker readYourWritesTracker;
+
+    private JdbcTemplate jdbcTemplate;
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", primary::getJdbcUrl);
+        registry.add("spring.datasource.username", primary::getUsername);
+        registry.add("spring.datasource.password", primary::getPassword);
+        registry.add("spring.flyway.url", primary::getJdbcUrl);
+        registry.add("spring.flyway.user", primary::getUsername);
+        registry.add("spring.flyway.password", primary::getPassword);
+        registry.add("reservation.datasource.replica.enabled", () -> "true");
+        registry.add("reservation.datasource.replica.url", ReplicaRoutingIntegrationTest::replicaJdbcUrl);
+        registry.add("reservation.datasource.replica.lag-check-interval", () -> "200ms");
+    }
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        waitUntil(replicaLagMonitor::isUsable);
+    }
+
+    @AfterEach
+    void tearDown() {
+        readYourWritesTracker.clearCurrentUser();
+    }
+
+    @Test
+    @DisplayName("Read-only transactions are served by the replica")
+    void readOnlyTransaction_UsesReplica() {
+        assertThat(inRecovery(true)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Read-write transactions are served by the primary")
+    void readWriteTransaction_UsesPrimary() {
+        assertThat(inRecovery(false)).isFalse();
+    }
+
+    @Test
+    @DisplayName("A user who just wrote reads from the primary")
+    void readOnlyTransaction_AfterOwnWrite_UsesPrimary() {
+        UUID userId = UUID.randomUUID();
+        readYourWritesTracker.recordWrite(userId);
+        readYourWritesTracker.bindCurrentUser(userId);
+
+        assertThat(inRecovery(true)).isFalse();
+    }
+
+    @Test
+    @DisplayName("A replica whose WAL receiver stopped is bypassed, although it replayed all it received")
+    void readOnlyTransaction_WithWalReceiverStopped_UsesPrimary() {
+        JdbcTemplate replicaJdbcTemplate = new JdbcTemplate(new DriverManagerDataSource(
+                replicaJdbcUrl(), primary.getUsername(), primary.getPassword()));
+        String primaryConninfo = replicaJdbcTemplate.queryForObject("SHOW primary_conninfo", String.class);
+        try {
+            // Without a connection string the standby stops its WAL receiver and stays disconnected
+            replicaJdbcTemplate.execute("ALTER SYSTEM SET primary_conninfo = ''");
+            replicaJdbcTemplate.execute("SELECT pg_reload_conf()");
+            waitUntil(() -> !replicaLagMonitor.isUsable());
+
+            assertThat(inRecovery(true)).isFalse();
+        } finally {
+            replicaJdbcTemplate.execute("ALTER SYSTEM SET primary_conninfo = '%s'"
+                    .formatted(primaryConninfo.replace("'", "''")));
+            replicaJdbcTemplate.execute("SELECT pg_reload_conf()");
+            waitUntil(replicaLagMonitor::isUsable);
+        }
+    }
+
+    private boolean inRecovery(boolean readOnly) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setReadOnly(readOnly);
+        return Boolean.TRUE.equals(transactionTemplate.execute(status ->
+                jdbcTemplate.queryForObject("SELECT pg_is_in_recovery()", Boolean.class)));
+    }
+
+    private static String replicaJdbcUrl() {
+        return "jdbc:postgresql://%s:%d/reservation_db_test".formatted(replica.getHost(), replica.getMappedPort(5432));
+    }
+
+    private static void waitUntil(BooleanSupplier condition) {
+        long deadline = System.nanoTime() + Duration.ofSeconds(30).toNanos();
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() > deadline) {
+                throw new AssertionError("Replica routing did not reach the expected state in time");
+            }
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new AssertionError(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,254 @@
+package com.devoops.reservation.integration;
+
+import com.devoops.reservation.entity.Reservation;
+import com.devoops.reservation.entity.ReservationStatus;
+import com.devoops.reservation.grpc.AccommodationGrpcClient;
+import com.devoops.reservation.grpc.UserGrpcClient;
+import com.devoops.reservation.service.ReservationChangeLog;
+import com.devoops.reservation.service.ReservationChangeLog.Change;
+import com.devoops.reservation.service.ReservationTransitionEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+/**
+ * Delta sync cursors against Postgres: a reader following the change sequence must never skip a
+ * change, whatever order concurrent writers commit in, and must see archived reservations as
+ * tombstones even when its cursor was taken before the archive run.
+ */
+@SpringBootTest
+@Testcontainers
+@ActiveProfiles("test")
+class ReservationChangeLogIntegrationTest {
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine")
+            .withDatabaseName("reservation_db_test")
+            .withUsername("test")
+            .withPassword("test");
+
+    @Autowired
+    private ReservationChangeLog changeLog;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @MockitoBean
+    private AccommodationGrpcClient accommodationGrpcClient;
+
+    @MockitoBean
+    private UserGrpcClient userGrpcClient;
+
+    @MockitoBean
+    private RabbitTemplate rabbitTemplate;
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(2);
+    private TransactionTemplate transactionTemplate;
+    private final UUID guestId = UUID.randomUUID();
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+        registry.add("spring.flyway.url", postgres::getJdbcUrl);
+        registry.add("spring.flyway.user", postgres::getUsername);
+        registry.add("spring.flyway.password", postgres::getPassword);
+    }
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @AfterEach
+    void shutDownExecutor() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("A transaction that started first but commits last is stamped after the one that committed")
+    void findChanges_WithTransactionsCommittingOutOfStartOrder_NeverSkipsAChange() throws Exception {
+        Reservation first = insertReservation(LocalDate.now().plusDays(10));
+        Reservation second = insertReservation(LocalDate.now().plusDays(20));
+        CountDownLatch firstStarted = new CountDownLatch(1);
+        CountDownLatch commitFirst = new CountDownLatch(1);
+
+        Future<?> firstTransaction = executor.submit(() -> transactionTemplate.executeWithoutResult(status -> {
+            eventPublisher.publishEvent(ReservationTransitionEvent.created(first));
+            firstStarted.countDown();
+            await(commitFirst);
+        }));
+        assertThat(firstStarted.await(10, TimeUnit.SECONDS)).isTrue();
+        publishCreated(second);
+
+        List<Change> beforeFirstCommits = changeLog.findChanges(guestId, false, 0, 10);
+        assertThat(beforeFirstCommits).extracting(Change::reservationId).containsExactly(second.getId());
+        long cursor = beforeFirstCommits.getLast().seq();
+
+        commitFirst.countDown();
+        firstTransaction.get(10, TimeUnit.SECONDS);
+
+        assertThat(changeLog.findChanges(guestId, false, cursor, 10))
+                .extracting(Change::reservationId).containsExactly(first.getId());
+    }
+
+    @Test
+    @DisplayName("A later writer waits for a stamped but uncommitted one, so no reader sees its value first")
+    void findChanges_WhileEarlierStampIsUncommitted_SeesNeitherChange() throws Exception {
+        Reservation first = insertReservation(LocalDate.now().plusDays(10));
+        Reservation second = insertReservation(LocalDate.now().plusDays(20));
+        CountDownLatch firstStamped = new CountDownLatch(1);
+        CountDownLatch commitFirst = new CountDownLatch(1);
+
+        Future<?> firstTransaction = executor.submit(() -> transactionTemplate.executeWithoutResult(status -> {
+            eventPublisher.publishEvent(ReservationTransitionEvent.created(first));
+            // Registered after the change log's listener, so it runs once the change is stamped
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    firstStamped.countDown();
+                    await(commitFirst);
+                }
+            });
+        }));
+        assertThat(firstStamped.await(10, TimeUnit.SECONDS)).isTrue();
+
+        Future<?> secondTransaction = executor.submit(() -> publishCreated(second));
+        awaitBlockedOnLock();
+        assertThat(changeLog.findChanges(guestId, false, 0, 10)).isEmpty();
+
+        commitFirst.countDown();
+        firstTransaction.get(10, TimeUnit.SECONDS);
+        secondTransaction.get(10, TimeUnit.SECONDS);
+
+        assertThat(changeLog.findChanges(guestId, false, 0, 10))
+                .extracting(Change::reservationId).containsExactly(first.getId(), second.getId());
+    }
+
+    @Test
+    @DisplayName("A cursor taken before an archive run sees the archived reservations as tombstones")
+    void findChanges_WithCursorSpanningArchiveRun_SeesTombstones() {
+        int year = LocalDate.now().getYear();
+        jdbcTemplate.queryForObject("SELECT ensure_reservation_partitions(?, ?)", Integer.class, year - 3, year - 3);
+        Reservation archivedEarly = insertReservation(LocalDate.of(year - 3, 6, 5));
+        Reservation active = insertReservation(LocalDate.now().plusDays(10));
+        Reservation archivedLate = insertReservation(LocalDate.of(year - 3, 7, 5));
+        publishCreated(archivedEarly);
+        publishCreated(active);
+        publishCreated(archivedLate);
+
+        List<Change> firstPage = changeLog.findChanges(guestId, false, 0, 2);
+        assertThat(firstPage).extracting(Change::reservationId).containsExactly(archivedEarly.getId(), active.getId());
+        long cursor = firstPage.getLast().seq();
+
+        jdbcTemplate.queryForObject("SELECT archive_reservation_partitions(?)", Integer.class, year - 2);
+        assertThat(changeLog.recordArchived()).isGreaterThanOrEqualTo(2);
+
+        assertThat(changeLog.findChanges(guestId, false, cursor, 10))
+                .extracting(Change::reservationId, Change::deleted)
+                .containsExactly(tuple(archivedEarly.getId(), true), tuple(archivedLate.getId(), true));
+        assertThat(changeLog.findChanges(guestId, false, 0, 10))
+                .extracting(Change::reservationId, Change::deleted)
+                .containsExactly(
+                        tuple(active.getId(), false),
+                        tuple(archivedEarly.getId(), true),
+                        tuple(archivedLate.getId(), true));
+        assertThat(changeLog.recordArchived()).isZero();
+    }
+
+    /**
+     * Inserts a pending reservation of the test guest with a host of its own, so concurrent writers
+     * do not serialize on the host aggregate lock.
+     */
+    private Reservation insertReservation(LocalDate endDate) {
+        UUID accommodationId = UUID.randomUUID();
+        UUID hostId = UUID.randomUUID();
+        LocalDate startDate = endDate.minusDays(4);
+        UUID id = jdbcTemplate.queryForObject("""
+                INSERT INTO reservations (accommodation_id, guest_id, host_id, start_date, end_date,
+                                          guest_count, total_price, status)
+                VALUES (?, ?, ?, ?, ?, 2, 400.00, 'PENDING')
+                RETURNING id
+                """, UUID.class, accommodationId, guestId, hostId, startDate, endDate);
+        return Reservation.builder()
+                .id(id)
+                .accommodationId(accommodationId)
+                .guestId(guestId)
+                .hostId(hostId)
+                .startDate(startDate)
+                .endDate(endDate)
+                .guestCount(2)
+                .totalPrice(new BigDecimal("400.00"))
+                .status(ReservationStatus.PENDING)
+                .build();
+    }
+
+    private void publishCreated(Reservation reservation) {
+        transactionTemplate.executeWithoutResult(
+                status -> eventPublisher.publishEvent(ReservationTransitionEvent.created(reservation)));
+    }
+
+    /**
+     * Waits until some session is blocked on a lock, i.e. the second writer reached the change sequence.
+     */
+    private void awaitBlockedOnLock() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (System.nanoTime() < deadline) {
+            Integer waiting = jdbcTemplate.queryForObject(
+                    "SELECT COUNT(*) FROM pg_stat_activity WHERE wait_event_type = 'Lock'", Integer.class);
+            if (waiting != null && waiting > 0) {
+                return;
+            }
+            Thread.sleep(20);
+        }
+        throw new AssertionError("No session blocked on the change sequence");
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            if (!latch.await(10, TimeUnit.SECONDS)) {
+                throw new IllegalStateException("Timed out waiting for the test to release the transaction");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
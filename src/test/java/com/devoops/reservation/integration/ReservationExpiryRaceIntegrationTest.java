@@ -0,0 +1,296 @@
+package com.devoops.reservation.integration;
+
+import com.devoops.reservation.config.UserContext;
+import com.devoops.reservation.entity.Reservation;
+import com.devoops.reservation.exception.InvalidReservationException;
+import com.devoops.reservation.grpc.AccommodationGrpcClient;
+import com.devoops.reservation.grpc.UserGrpcClient;
+import com.devoops.reservation.grpc.UserSummaryResult;
+import com.devoops.reservation.service.ReservationExpiryService;
+import com.devoops.reservation.service.ReservationService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.when;
+
+/**
+ * Host transitions racing an expiry batch or each other on pending reservations: exactly one of
+ * them wins each reservation, the loser fails cleanly, and the host aggregates see a single
+ * PENDING to X delta per reservation.
+ */
+@SpringBootTest
+@Testcontainers
+@ActiveProfiles("test")
+class ReservationExpiryRaceIntegrationTest {
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine")
+            .withDatabaseName("reservation_db_test")
+            .withUsername("test")
+            .withPassword("test");
+
+    @Autowired
+    private ReservationService reservationService;
+
+    @Autowired
+    private ReservationExpiryService expiryService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @MockitoBean
+    private AccommodationGrpcClient accommodationGrpcClient;
+
+    @MockitoBean
+    private UserGrpcClient userGrpcClient;
+
+    @MockitoBean
+    private RabbitTemplate rabbitTemplate;
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(2);
+    private TransactionTemplate transactionTemplate;
+    private final UUID hostId = UUID.randomUUID();
+    private final UUID accommodationId = UUID.randomUUID();
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+        registry.add("spring.flyway.url", postgres::getJdbcUrl);
+        registry.add("spring.flyway.user", postgres::getUsername);
+        registry.add("spring.flyway.password", postgres::getPassword);
+    }
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        when(accommodationGrpcClient.getAccommodationName(any(UUID.class), any(LocalDate.class), any(LocalDate.class), anyInt()))
+                .thenReturn("Test Accommodation");
+        when(userGrpcClient.getUserSummary(any(UUID.class)))
+                .thenReturn(new UserSummaryResult(true, hostId, "host@example.com", "Test", "Host", "HOST", false));
+    }
+
+    @AfterEach
+    void shutDownExecutor() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Approving a reservation held by an expiry batch waits and then fails on the expired status")
+    void approve_WhileExpiryBatchHoldsReservation_FailsAfterExpiryCommits() throws Exception {
+        UUID reservationId = insertPendingReservation(-1, 3);
+        insertAggregate(1);
+        CountDownLatch batchLocked = new CountDownLatch(1);
+        CountDownLatch commitBatch = new CountDownLatch(1);
+
+        Future<List<Reservation>> expiry = executor.submit(() -> transactionTemplate.execute(status -> {
+            List<Reservation> expired = expiryService.expireBatch(LocalDate.now(), 10);
+            batchLocked.countDown();
+            await(commitBatch);
+            return expired;
+        }));
+        assertThat(batchLocked.await(10, TimeUnit.SECONDS)).isTrue();
+
+        Future<?> approval = executor.submit(
+                () -> reservationService.approveReservation(reservationId, new UserContext(hostId, "HOST")));
+        awaitBlockedOnRowLock();
+        assertThat(approval.isDone()).isFalse();
+
+        commitBatch.countDown();
+        assertThat(expiry.get(10, TimeUnit.SECONDS)).extracting(Reservation::getId).contains(reservationId);
+        assertThatThrownBy(() -> approval.get(10, TimeUnit.SECONDS))
+                .hasCauseInstanceOf(InvalidReservationException.class);
+
+        assertThat(statusOf(reservationId)).isEqualTo("EXPIRED");
+        assertThat(aggregateCounts()).containsEntry("pending_count", 0L)
+                .containsEntry("approved_count", 0L)
+                .containsEntry("expired_count", 1L);
+    }
+
+    @Test
+    @DisplayName("An expiry batch skips a reservation the host is approving")
+    void expireBatch_WhileHostApproves_SkipsReservation() throws Exception {
+        UUID reservationId = insertPendingReservation(-1, 3);
+        insertAggregate(1);
+        CountDownLatch approved = new CountDownLatch(1);
+        CountDownLatch commitApproval = new CountDownLatch(1);
+
+        Future<?> approval = executor.submit(() -> transactionTemplate.executeWithoutResult(status -> {
+            reservationService.approveReservation(reservationId, new UserContext(hostId, "HOST"));
+            approved.countDown();
+            await(commitApproval);
+        }));
+        assertThat(approved.await(10, TimeUnit.SECONDS)).isTrue();
+
+        List<Reservation> expired = expiryService.expireBatch(LocalDate.now(), 10);
+        assertThat(expired).extracting(Reservation::getId).doesNotContain(reservationId);
+
+        commitApproval.countDown();
+        approval.get(10, TimeUnit.SECONDS);
+
+        assertThat(expiryService.expireBatch(LocalDate.now(), 10))
+                .extracting(Reservation::getId).doesNotContain(reservationId);
+        assertThat(statusOf(reservationId)).isEqualTo("APPROVED");
+        assertThat(aggregateCounts()).containsEntry("pending_count", 0L)
+                .containsEntry("approved_count", 1L)
+                .containsEntry("expired_count", 0L);
+    }
+
+    @Test
+    @DisplayName("Approving a reservation waits for an expiry batch holding an overlapping one and leaves it expired")
+    void approve_WhileExpiryBatchHoldsOverlappingReservation_ApprovesAfterExpiryCommits() throws Exception {
+        UUID expiringId = insertPendingReservation(-1, 3);
+        UUID reservationId = insertPendingReservation(1, 5);
+        insertAggregate(2);
+        CountDownLatch batchLocked = new CountDownLatch(1);
+        CountDownLatch commitBatch = new CountDownLatch(1);
+
+        Future<List<Reservation>> expiry = executor.submit(() -> transactionTemplate.execute(status -> {
+            List<Reservation> expired = expiryService.expireBatch(LocalDate.now(), 10);
+            batchLocked.countDown();
+            await(commitBatch);
+            return expired;
+        }));
+        assertThat(batchLocked.await(10, TimeUnit.SECONDS)).isTrue();
+
+        Future<?> approval = executor.submit(
+                () -> reservationService.approveReservation(reservationId, new UserContext(hostId, "HOST")));
+        awaitBlockedOnRowLock();
+        assertThat(approval.isDone()).isFalse();
+
+        commitBatch.countDown();
+        assertThat(expiry.get(10, TimeUnit.SECONDS)).extracting(Reservation::getId).contains(expiringId);
+        approval.get(10, TimeUnit.SECONDS);
+
+        assertThat(statusOf(expiringId)).isEqualTo("EXPIRED");
+        assertThat(statusOf(reservationId)).isEqualTo("APPROVED");
+        assertThat(aggregateCounts()).containsEntry("pending_count", 0L)
+                .containsEntry("approved_count", 1L)
+                .containsEntry("rejected_count", 0L)
+                .containsEntry("expired_count", 1L);
+    }
+
+    @Test
+    @DisplayName("Two approvals of overlapping reservations serialize: one wins and the other is rejected")
+    void approve_OfOverlappingReservationsConcurrently_ApprovesOneAndRejectsTheOther() throws Exception {
+        UUID firstId = insertPendingReservation(1, 5);
+        UUID secondId = insertPendingReservation(2, 6);
+        insertAggregate(2);
+        CountDownLatch firstApproved = new CountDownLatch(1);
+        CountDownLatch commitFirst = new CountDownLatch(1);
+
+        Future<?> first = executor.submit(() -> transactionTemplate.executeWithoutResult(status -> {
+            reservationService.approveReservation(firstId, new UserContext(hostId, "HOST"));
+            firstApproved.countDown();
+            await(commitFirst);
+        }));
+        assertThat(firstApproved.await(10, TimeUnit.SECONDS)).isTrue();
+
+        Future<?> second = executor.submit(
+                () -> reservationService.approveReservation(secondId, new UserContext(hostId, "HOST")));
+        awaitBlockedOnRowLock();
+        assertThat(second.isDone()).isFalse();
+
+        commitFirst.countDown();
+        first.get(10, TimeUnit.SECONDS);
+        assertThatThrownBy(() -> second.get(10, TimeUnit.SECONDS))
+                .hasCauseInstanceOf(InvalidReservationException.class);
+
+        assertThat(statusOf(firstId)).isEqualTo("APPROVED");
+        assertThat(statusOf(secondId)).isEqualTo("REJECTED");
+        assertThat(aggregateCounts()).containsEntry("pending_count", 0L)
+                .containsEntry("approved_count", 1L)
+                .containsEntry("rejected_count", 1L);
+    }
+
+    /**
+     * Inserts a pending reservation of the test accommodation, with dates relative to today.
+     */
+    private UUID insertPendingReservation(int startOffsetDays, int endOffsetDays) {
+        return jdbcTemplate.queryForObject("""
+                INSERT INTO reservations (accommodation_id, guest_id, host_id, start_date, end_date,
+                                          guest_count, total_price, status)
+                VALUES (?, ?, ?, CURRENT_DATE + ?, CURRENT_DATE + ?, 2, 400.00, 'PENDING')
+                RETURNING id
+                """, UUID.class, accommodationId, UUID.randomUUID(), hostId, startOffsetDays, endOffsetDays);
+    }
+
+    private void insertAggregate(int pendingCount) {
+        jdbcTemplate.update("""
+                INSERT INTO host_reservation_aggregates (host_id, accommodation_id, pending_count)
+                VALUES (?, ?, ?)
+                """, hostId, accommodationId, pendingCount);
+    }
+
+    /**
+     * Waits until some session is blocked on a lock, i.e. the transition reached its locking read.
+     */
+    private void awaitBlockedOnRowLock() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (System.nanoTime() < deadline) {
+            Integer waiting = jdbcTemplate.queryForObject(
+                    "SELECT COUNT(*) FROM pg_stat_activity WHERE wait_event_type = 'Lock'", Integer.class);
+            if (waiting != null && waiting > 0) {
+                return;
+            }
+            Thread.sleep(20);
+        }
+        throw new AssertionError("No session blocked on the reservation row lock");
+    }
+
+    private String statusOf(UUID reservationId) {
+        return jdbcTemplate.queryForObject(
+                "SELECT status::text FROM reservations WHERE id = ?", String.class, reservationId);
+    }
+
+    private Map<String, Object> aggregateCounts() {
+        return jdbcTemplate.queryForMap("""
+                SELECT pending_count, approved_count, rejected_count, expired_count FROM host_reservation_aggregates
+                WHERE host_id = ? AND accommodation_id = ?
+                """, hostId, accommodationId);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            if (!latch.await(10, TimeUnit.SECONDS)) {
+                throw new IllegalStateException("Timed out waiting for the test to release the transaction");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
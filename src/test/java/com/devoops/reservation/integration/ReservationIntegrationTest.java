@@ -11,6 +11,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.DynamicPropertyRegistry;
 import org.springframework.test.context.DynamicPropertySource;
@@ -26,6 +27,7 @@ import java.time.LocalDate;
 import java.util.Map;
 import java.util.UUID;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.Mockito.when;
@@ -50,6 +52,9 @@ class ReservationIntegrationTest {
     @Autowired
     private MockMvc mockMvc;
 
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
     @MockitoBean
     private AccommodationGrpcClient accommodationGrpcClient;
 
@@ -83,6 +88,8 @@ class ReservationIntegrationTest {
         );
         when(accommodationGrpcClient.validateAndCalculatePrice(any(UUID.class), any(LocalDate.class), any(LocalDate.class), anyInt()))
                 .thenReturn(validResult);
+        when(accommodationGrpcClient.getAccommodationName(any(UUID.class), any(LocalDate.class), any(LocalDate.class), anyInt()))
+                .thenReturn("Test Accommodation");
 
         UserSummaryResult hostSummary = new UserSummaryResult(
                 true,
@@ -371,4 +378,37 @@ class ReservationIntegrationTest {
                         .header("X-User-Role", "GUEST"))
                 .andExpect(status().isNotFound());
     }
+
+    @Test
+    @Order(20)
+    @DisplayName("Create reservation ending after the last yearly partition returns 201")
+    void create_EndingAfterPartitionHorizon_Returns201() throws Exception {
+        LocalDate startDate = LocalDate.now().plusYears(5);
+        LocalDate endDate = startDate.plusDays(3);
+
+        MvcResult result = mockMvc.perform(post(BASE_PATH)
+                        .header("X-User-Id", GUEST_ID.toString())
+                        .header("X-User-Role", "GUEST")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(createRequestWithDates(startDate, endDate))))
+                .andExpect(status().isCreated())
+                .andReturn();
+        String farFutureId = objectMapper.readTree(result.getResponse().getContentAsString())
+                .get("id").asText();
+
+        // Once the maintenance job reaches that year, the row moves out of the default partition
+        int year = endDate.getYear();
+        jdbcTemplate.queryForObject("SELECT ensure_reservation_partitions(?, ?)", Integer.class, year, year);
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM reservations_y" + year + " WHERE id = ?::uuid", Integer.class, farFutureId))
+                .isEqualTo(1);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM reservations_default", Integer.class))
+                .isZero();
+
+        mockMvc.perform(get(BASE_PATH + "/" + farFutureId)
+                        .header("X-User-Id", GUEST_ID.toString())
+                        .header("X-User-Role", "GUEST"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.endDate").value(endDate.toString()));
+    }
 }
@@ -0,0 +1,147 @@
+package com.devoops.reservation.repository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+/**
+ * Runs {@link ReservationRepository#findMonthlyAnalytics} on a handful of stays spanning month
+ * boundaries and checks every column against hand-computed values.
+ */
+@SpringBootTest
+@Testcontainers
+@ActiveProfiles("test")
+class MonthlyAnalyticsQueryTest {
+
+    private static final UUID HOST_ID = UUID.fromString("00000000-0000-0000-0000-00000000000f");
+    private static final UUID OTHER_HOST_ID = UUID.fromString("00000000-0000-0000-0000-0000000000ff");
+    private static final UUID ACCOMMODATION_A = UUID.fromString("00000000-0000-0000-0000-00000000000a");
+    private static final UUID ACCOMMODATION_B = UUID.fromString("00000000-0000-0000-0000-00000000000b");
+    private static final UUID ACCOMMODATION_C = UUID.fromString("00000000-0000-0000-0000-00000000000c");
+    private static final LocalDate JANUARY = LocalDate.of(2025, 1, 1);
+    private static final LocalDate FEBRUARY = LocalDate.of(2025, 2, 1);
+    private static final LocalDate MARCH = LocalDate.of(2025, 3, 1);
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine")
+            .withDatabaseName("reservation_db_test")
+            .withUsername("test")
+            .withPassword("test");
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+        registry.add("spring.flyway.url", postgres::getJdbcUrl);
+        registry.add("spring.flyway.user", postgres::getUsername);
+        registry.add("spring.flyway.password", postgres::getPassword);
+    }
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void seed() {
+        if (reservationRepository.count() > 0) {
+            return;
+        }
+        // The migrations only create partitions from the current year on
+        jdbcTemplate.queryForObject("SELECT ensure_reservation_partitions(?, ?)", Integer.class,
+                JANUARY.getYear(), MARCH.getYear());
+        // Counted: A 2 + 2 nights across Jan/Feb, A 3 nights in Jan, B 1 of 3 nights in Jan (2 in Dec),
+        // B 10 nights in Feb, C 2 nights in Feb
+        insertStay(ACCOMMODATION_A, HOST_ID, "2025-01-30", "2025-02-03", "400.00", "APPROVED", false);
+        insertStay(ACCOMMODATION_A, HOST_ID, "2025-01-10", "2025-01-13", "300.00", "APPROVED", false);
+        insertStay(ACCOMMODATION_B, HOST_ID, "2024-12-30", "2025-01-02", "90.00", "APPROVED", false);
+        insertStay(ACCOMMODATION_B, HOST_ID, "2025-02-10", "2025-02-20", "1000.00", "APPROVED", false);
+        insertStay(ACCOMMODATION_C, HOST_ID, "2025-02-25", "2025-02-27", "200.00", "APPROVED", false);
+        // Not counted: not approved, deleted, another host's
+        insertStay(ACCOMMODATION_A, HOST_ID, "2025-01-15", "2025-01-20", "500.00", "PENDING", false);
+        insertStay(ACCOMMODATION_A, HOST_ID, "2025-02-05", "2025-02-08", "300.00", "CANCELLED", false);
+        insertStay(ACCOMMODATION_B, HOST_ID, "2025-01-05", "2025-01-09", "400.00", "APPROVED", true);
+        insertStay(ACCOMMODATION_A, OTHER_HOST_ID, "2025-01-20", "2025-01-25", "500.00", "APPROVED", false);
+    }
+
+    @Test
+    @DisplayName("Splits stays by night across months and ranks accommodations by prorated revenue")
+    void findMonthlyAnalytics_WithStaysSpanningMonths_ReturnsProratedRankedRows() {
+        List<AccommodationMonthAnalyticsView> rows =
+                reservationRepository.findMonthlyAnalytics(HOST_ID, JANUARY, MARCH);
+
+        // March has no nights, so no rows; RANK() gives the tied A and C the same rank
+        assertThat(rows)
+                .extracting(
+                        AccommodationMonthAnalyticsView::getMonth,
+                        AccommodationMonthAnalyticsView::getAccommodationId,
+                        AccommodationMonthAnalyticsView::getDaysInMonth,
+                        AccommodationMonthAnalyticsView::getOccupiedNights,
+                        AccommodationMonthAnalyticsView::getRevenueRank)
+                .containsExactly(
+                        tuple(JANUARY, ACCOMMODATION_A, 31, 5L, 1L),
+                        tuple(JANUARY, ACCOMMODATION_B, 31, 1L, 2L),
+                        tuple(FEBRUARY, ACCOMMODATION_B, 28, 10L, 1L),
+                        tuple(FEBRUARY, ACCOMMODATION_A, 28, 2L, 2L),
+                        tuple(FEBRUARY, ACCOMMODATION_C, 28, 2L, 2L));
+
+        // January: A 200 + 300 of 530, B 30 of 530
+        assertMoney(rows.get(0), "500.00", "0.9434", "0.1613");
+        assertMoney(rows.get(1), "30.00", "0.0566", "0.0323");
+        // February: B 1000, A 200, C 200 of 1400
+        assertMoney(rows.get(2), "1000.00", "0.7143", "0.3571");
+        assertMoney(rows.get(3), "200.00", "0.1429", "0.0714");
+        assertMoney(rows.get(4), "200.00", "0.1429", "0.0714");
+    }
+
+    @Test
+    @DisplayName("Only counts the nights of a stay that fall inside the requested months")
+    void findMonthlyAnalytics_StartingMidStay_ClipsToRequestedMonths() {
+        List<AccommodationMonthAnalyticsView> rows =
+                reservationRepository.findMonthlyAnalytics(HOST_ID, FEBRUARY, FEBRUARY);
+
+        assertThat(rows)
+                .extracting(AccommodationMonthAnalyticsView::getAccommodationId,
+                        AccommodationMonthAnalyticsView::getOccupiedNights)
+                .containsExactly(
+                        tuple(ACCOMMODATION_B, 10L),
+                        tuple(ACCOMMODATION_A, 2L),
+                        tuple(ACCOMMODATION_C, 2L));
+        assertMoney(rows.get(1), "200.00", "0.1429", "0.0714");
+    }
+
+    private static void assertMoney(
+            AccommodationMonthAnalyticsView row, String revenue, String revenueShare, String occupancyRate) {
+        assertThat(row.getRevenue()).isEqualByComparingTo(new BigDecimal(revenue));
+        assertThat(row.getRevenueShare()).isEqualByComparingTo(new BigDecimal(revenueShare));
+        assertThat(row.getOccupancyRate()).isEqualByComparingTo(new BigDecimal(occupancyRate));
+    }
+
+    private void insertStay(UUID accommodationId, UUID hostId, String startDate, String endDate,
+                            String totalPrice, String status, boolean deleted) {
+        jdbcTemplate.update("""
+                INSERT INTO reservations (accommodation_id, guest_id, host_id, start_date, end_date,
+                                          guest_count, total_price, status, is_deleted)
+                VALUES (?, ?, ?, ?::date, ?::date, 2, ?::numeric, ?::reservation_status, ?)
+                """, accommodationId, UUID.randomUUID(), hostId, startDate, endDate, totalPrice, status, deleted);
+    }
+}
@@ -0,0 +1,234 @@
+package com.devoops.reservation.repository;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.hibernate.autoconfigure.HibernatePropertiesCustomizer;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Asserts that the hot {@link ReservationRepository} queries are planned as index scans. Each query
+ * is run through the repository and the SQL Hibernate sent is captured and explained as a generic
+ * plan (the plan a prepared statement settles on), so the test follows the queries as they change.
+ */
+@SpringBootTest
+@Testcontainers
+@ActiveProfiles("test")
+class ReservationQueryPlanTest {
+
+    private static final int ROWS = 50_000;
+    private static final int ACCOMMODATIONS = 5_000;
+    private static final int GUESTS = 50_000;
+    private static final int HOSTS = 1_000;
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine")
+            .withDatabaseName("reservation_db_test")
+            .withUsername("test")
+            .withPassword("test");
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+        registry.add("spring.flyway.url", postgres::getJdbcUrl);
+        registry.add("spring.flyway.user", postgres::getUsername);
+        registry.add("spring.flyway.password", postgres::getPassword);
+    }
+
+    @TestConfiguration
+    static class SqlCaptureConfig {
+
+        @Bean
+        HibernatePropertiesCustomizer sqlCaptureCustomizer() {
+            return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, new SqlCapture());
+        }
+    }
+
+    /**
+     * Records the SQL Hibernate prepares on the calling thread while {@link #capture} runs.
+     */
+    static class SqlCapture implements StatementInspector {
+
+        private static final ThreadLocal<List<String>> CAPTURED = new ThreadLocal<>();
+
+        static String capture(Runnable query) {
+            List<String> statements = new ArrayList<>();
+            CAPTURED.set(statements);
+            try {
+                query.run();
+            } finally {
+                CAPTURED.remove();
+            }
+            assertThat(statements).as("Statements issued by the query").hasSize(1);
+            return statements.getFirst();
+        }
+
+        @Override
+        public String inspect(String sql) {
+            List<String> statements = CAPTURED.get();
+            if (statements != null) {
+                statements.add(sql);
+            }
+            return sql;
+        }
+    }
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transactionTemplate;
+
+    private final LocalDate today = LocalDate.now();
+
+    @BeforeEach
+    void seed() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        if (reservationRepository.count() > 0) {
+            return;
+        }
+        int year = LocalDate.now().getYear();
+        // The migrations only create partitions from the current year on; the seed reaches two years back
+        jdbcTemplate.queryForObject("SELECT ensure_reservation_partitions(?, ?)", Integer.class, year - 3, year - 1);
+        jdbcTemplate.update("""
+                INSERT INTO reservations (accommodation_id, guest_id, host_id, start_date, end_date,
+                                          guest_count, total_price, status, is_deleted)
+                SELECT %s, %s, %s, start_date, start_date + 1 + (n %% 10), 2, 250.00,
+                       (CASE WHEN n %% 20 < 12 THEN 'APPROVED'
+                             WHEN n %% 20 < 15 THEN 'PENDING'
+                             WHEN n %% 20 < 18 THEN 'CANCELLED'
+                             ELSE 'REJECTED' END)::reservation_status,
+                       n %% 50 = 0
+                FROM generate_series(1, %d) AS n,
+                     LATERAL (SELECT CURRENT_DATE - 700 + (n * 31) %% 1000 AS start_date) AS dates
+                """.formatted(
+                        seededUuidSql("n % " + ACCOMMODATIONS),
+                        seededUuidSql("100000 + (n::BIGINT * 7919) % " + GUESTS),
+                        seededUuidSql("200000 + (n % " + ACCOMMODATIONS + ") % " + HOSTS),
+                        ROWS));
+        jdbcTemplate.execute("ANALYZE reservations");
+    }
+
+    @Test
+    @DisplayName("findOverlappingApproved uses an index")
+    void findOverlappingApproved_UsesIndex() {
+        assertIndexScan(() -> reservationRepository.findOverlappingApproved(
+                accommodation(42), today, today.plusDays(5)));
+    }
+
+    @Test
+    @DisplayName("findOverlappingPending uses an index")
+    void findOverlappingPending_UsesIndex() {
+        // The query locks its rows, so it needs a read-write transaction
+        assertIndexScan(() -> transactionTemplate.executeWithoutResult(status -> reservationRepository.findOverlappingPending(
+                accommodation(42), today, today.plusDays(5), UUID.randomUUID())));
+    }
+
+    @Test
+    @DisplayName("countActiveReservationsForGuest(s) use an index")
+    void countActiveReservationsForGuests_UsesIndex() {
+        assertIndexScan(() -> reservationRepository.countActiveReservationsForGuest(guest(7), today));
+        assertIndexScan(() -> reservationRepository.countActiveReservationsForGuests(
+                List.of(guest(7), guest(8), guest(9)), today));
+    }
+
+    @Test
+    @DisplayName("countActiveReservationsForHost(s) use an index")
+    void countActiveReservationsForHosts_UsesIndex() {
+        assertIndexScan(() -> reservationRepository.countActiveReservationsForHost(host(3), today));
+        assertIndexScan(() -> reservationRepository.countActiveReservationsForHosts(
+                List.of(host(3), host(4)), today));
+    }
+
+    @Test
+    @DisplayName("countCompletedStays* use an index")
+    void countCompletedStays_UsesIndex() {
+        assertIndexScan(() -> reservationRepository.countCompletedStaysWithHosts(
+                guest(7), List.of(host(3), host(4)), today.minusDays(30), today));
+        assertIndexScan(() -> reservationRepository.countCompletedStaysAtAccommodations(
+                guest(7), List.of(accommodation(42), accommodation(43)), today.minusDays(30), today));
+    }
+
+    @Test
+    @DisplayName("findNextApprovedEndDate uses an index")
+    void findNextApprovedEndDate_UsesIndex() {
+        assertIndexScan(() -> reservationRepository.findNextApprovedEndDate(guest(7), today));
+    }
+
+    private void assertIndexScan(Runnable query) {
+        String sql = SqlCapture.capture(query);
+        List<String> plan = jdbcTemplate.queryForList("EXPLAIN (GENERIC_PLAN) " + numberParameters(sql), String.class);
+        String planText = String.join("\n", plan);
+        assertThat(planText)
+                .as("Plan of%n%s%n%s", sql, planText)
+                .contains("Index")
+                .doesNotContain("Seq Scan");
+    }
+
+    /**
+     * Rewrites JDBC placeholders to the numbered form EXPLAIN (GENERIC_PLAN) expects.
+     */
+    private static String numberParameters(String sql) {
+        StringBuilder numbered = new StringBuilder();
+        int parameter = 0;
+        for (char c : sql.toCharArray()) {
+            if (c == '?') {
+                numbered.append('$').append(++parameter);
+            } else {
+                numbered.append(c);
+            }
+        }
+        return numbered.toString();
+    }
+
+    private static UUID accommodation(int n) {
+        return seededUuid(n);
+    }
+
+    private static UUID guest(int n) {
+        return seededUuid(100_000 + n);
+    }
+
+    private static UUID host(int n) {
+        return seededUuid(200_000 + n);
+    }
+
+    /**
+     * SQL counterpart of {@link #seededUuid(long)}.
+     */
+    private static String seededUuidSql(String numberExpression) {
+        return "('00000000-0000-0000-0000-' || lpad(to_hex(%s), 12, '0'))::uuid".formatted(numberExpression);
+    }
+
+    private static UUID seededUuid(long n) {
+        return UUID.fromString("00000000-0000-0000-0000-%012x".formatted(n));
+    }
+}
@@ -0,0 +1,129 @@
+package com.devoops.reservation.service;
+
+import com.devoops.reservation.entity.Reservation;
+import com.devoops.reservation.entity.ReservationStatus;
+import com.devoops.reservation.repository.HostReservationAggregateRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class HostAggregateServiceTest {
+
+    private static final UUID HOST_ID = UUID.randomUUID();
+    private static final UUID ACCOMMODATION_ID = UUID.randomUUID();
+
+    @Mock
+    private HostReservationAggregateRepository aggregateRepository;
+
+    @InjectMocks
+    private HostAggregateService hostAggregateService;
+
+    private Reservation createReservation(ReservationStatus status, LocalDate startDate, LocalDate endDate) {
+        return Reservation.builder()
+                .id(UUID.randomUUID())
+                .accommodationId(ACCOMMODATION_ID)
+                .guestId(UUID.randomUUID())
+                .hostId(HOST_ID)
+                .startDate(startDate)
+                .endDate(endDate)
+                .guestCount(2)
+                .totalPrice(new BigDecimal("1000.00"))
+                .status(status)
+                .build();
+    }
+
+    @Test
+    @DisplayName("A new pending reservation adds one pending request")
+    void onTransition_WithCreatedPending_AddsPendingCount() {
+        var reservation = createReservation(ReservationStatus.PENDING,
+                LocalDate.now().plusDays(10), LocalDate.now().plusDays(15));
+
+        hostAggregateService.onTransition(ReservationTransitionEvent.created(reservation));
+
+        verify(aggregateRepository).applyDelta(HOST_ID, ACCOMMODATION_ID, 1, 0, 0, 0, 0, 0, BigDecimal.ZERO);
+    }
+
+    @Test
+    @DisplayName("Approving an upcoming stay moves it to approved and adds its nights and revenue")
+    void onTransition_WithApprovedUpcomingStay_AddsUpcomingTotals() {
+        var reservation = createReservation(ReservationStatus.APPROVED,
+                LocalDate.now().plusDays(10), LocalDate.now().plusDays(15));
+
+        hostAggregateService.onTransition(
+                ReservationTransitionEvent.transitioned(reservation, ReservationStatus.PENDING));
+
+        verify(aggregateRepository).applyDelta(HOST_ID, ACCOMMODATION_ID, -1, 1, 0, 0, 0, 5, new BigDecimal("1000.00"));
+    }
+
+    @Test
+    @DisplayName("Cancelling an upcoming stay removes its nights and revenue")
+    void onTransition_WithCancelledUpcomingStay_RemovesUpcomingTotals() {
+        var reservation = createReservation(ReservationStatus.CANCELLED,
+                LocalDate.now().plusDays(10), LocalDate.now().plusDays(12));
+
+        hostAggregateService.onTransition(
+                ReservationTransitionEvent.transitioned(reservation, ReservationStatus.APPROVED));
+
+        verify(aggregateRepository).applyDelta(HOST_ID, ACCOMMODATION_ID, 0, -1, 0, 1, 0, -2, new BigDecimal("-1000.00"));
+    }
+
+    @Test
+    @DisplayName("Deleting a pending request removes it from the counts")
+    void onTransition_WithDeletedPending_RemovesPendingCount() {
+        var reservation = createReservation(ReservationStatus.PENDING,
+                LocalDate.now().plusDays(10), LocalDate.now().plusDays(15));
+
+        hostAggregateService.onTransition(ReservationTransitionEvent.deleted(reservation));
+
+        verify(aggregateRepository).applyDelta(HOST_ID, ACCOMMODATION_ID, -1, 0, 0, 0, 0, 0, BigDecimal.ZERO);
+    }
+
+    @Test
+    @DisplayName("A transition takes the host lock before applying its delta")
+    void onTransition_LocksHostBeforeApplyingDelta() {
+        var reservation = createReservation(ReservationStatus.PENDING,
+                LocalDate.now().plusDays(10), LocalDate.now().plusDays(15));
+
+        hostAggregateService.onTransition(ReservationTransitionEvent.created(reservation));
+
+        InOrder inOrder = inOrder(aggregateRepository);
+        inOrder.verify(aggregateRepository).lockHost(HOST_ID);
+        inOrder.verify(aggregateRepository).applyDelta(HOST_ID, ACCOMMODATION_ID, 1, 0, 0, 0, 0, 0, BigDecimal.ZERO);
+    }
+
+    @Test
+    @DisplayName("Reconciliation locks every host once, in id order, before recomputing")
+    void reconcileHosts_LocksHostsInIdOrderBeforeRecomputing() {
+        UUID lowHost = new UUID(0, 1);
+        UUID highHost = new UUID(0, 2);
+        List<UUID> hostIds = List.of(highHost, lowHost, highHost);
+        LocalDate today = LocalDate.now();
+        when(aggregateRepository.reconcileHosts(hostIds, today)).thenReturn(2);
+        when(aggregateRepository.deleteOrphanedRows(hostIds)).thenReturn(1);
+
+        assertThat(hostAggregateService.reconcileHosts(hostIds, today)).isEqualTo(3);
+
+        InOrder inOrder = inOrder(aggregateRepository);
+        inOrder.verify(aggregateRepository).lockHost(lowHost);
+        inOrder.verify(aggregateRepository).lockHost(highHost);
+        inOrder.verify(aggregateRepository).reconcileHosts(hostIds, today);
+        verify(aggregateRepository, times(2)).lockHost(any());
+    }
+}
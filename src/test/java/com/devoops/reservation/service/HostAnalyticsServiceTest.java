@@ -0,0 +1,125 @@
+package com.devoops.reservation.service;
+
+import com.devoops.reservation.config.UserContext;
+import com.devoops.reservation.dto.response.AccommodationAnalyticsResponse;
+import com.devoops.reservation.entity.Reservation;
+import com.devoops.reservation.entity.ReservationStatus;
+import com.devoops.reservation.exception.InvalidReservationException;
+import com.devoops.reservation.repository.AccommodationMonthAnalyticsView;
+import com.devoops.reservation.repository.ReservationRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class HostAnalyticsServiceTest {
+
+    private static final UUID HOST_ID = UUID.randomUUID();
+    private static final UUID ACCOMMODATION_ID = UUID.randomUUID();
+    private static final UserContext HOST_CONTEXT = new UserContext(HOST_ID, "HOST");
+    private static final YearMonth JANUARY = YearMonth.of(2026, 1);
+    private static final YearMonth FEBRUARY = YearMonth.of(2026, 2);
+    private static final YearMonth MARCH = YearMonth.of(2026, 3);
+
+    @Mock
+    private ReservationRepository reservationRepository;
+
+    private HostAnalyticsService hostAnalyticsService;
+
+    @BeforeEach
+    void setUp() {
+        hostAnalyticsService = new HostAnalyticsService(
+                reservationRepository, new SimpleMeterRegistry(), 1000, Duration.ofMinutes(5), 24);
+    }
+
+    private AccommodationMonthAnalyticsView createRow(YearMonth month, long occupiedNights) {
+        return new AccommodationMonthAnalyticsView() {
+            public UUID getAccommodationId() { return ACCOMMODATION_ID; }
+            public LocalDate getMonth() { return month.atDay(1); }
+            public int getDaysInMonth() { return month.lengthOfMonth(); }
+            public long getOccupiedNights() { return occupiedNights; }
+            public BigDecimal getOccupancyRate() { return new BigDecimal("0.5000"); }
+            public BigDecimal getRevenue() { return new BigDecimal("1500.00"); }
+            public BigDecimal getRevenueShare() { return BigDecimal.ONE; }
+            public long getRevenueRank() { return 1; }
+        };
+    }
+
+    @Test
+    @DisplayName("Returns rows for every month, with empty months included in the query range")
+    void getAnalytics_QueriesMissingMonthsOnce() {
+        when(reservationRepository.findMonthlyAnalytics(HOST_ID, JANUARY.atDay(1), MARCH.atDay(1)))
+                .thenReturn(List.of(createRow(JANUARY, 10), createRow(MARCH, 4)));
+
+        List<AccommodationAnalyticsResponse> result = hostAnalyticsService.getAnalytics(HOST_CONTEXT, JANUARY, MARCH);
+
+        assertThat(result).extracting(AccommodationAnalyticsResponse::month).containsExactly(JANUARY, MARCH);
+        assertThat(result.get(0).occupiedNights()).isEqualTo(10);
+    }
+
+    @Test
+    @DisplayName("Cached months are served without querying")
+    void getAnalytics_WithCachedMonths_DoesNotQueryAgain() {
+        when(reservationRepository.findMonthlyAnalytics(HOST_ID, JANUARY.atDay(1), MARCH.atDay(1)))
+                .thenReturn(List.of(createRow(JANUARY, 10)));
+
+        hostAnalyticsService.getAnalytics(HOST_CONTEXT, JANUARY, MARCH);
+        List<AccommodationAnalyticsResponse> result = hostAnalyticsService.getAnalytics(HOST_CONTEXT, FEBRUARY, MARCH);
+
+        assertThat(result).isEmpty();
+        verify(reservationRepository, times(1)).findMonthlyAnalytics(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("An approval evicts only the months its stay covers")
+    void onTransition_WithApproval_EvictsCoveredMonths() {
+        when(reservationRepository.findMonthlyAnalytics(HOST_ID, JANUARY.atDay(1), MARCH.atDay(1)))
+                .thenReturn(List.of(createRow(JANUARY, 10)));
+        when(reservationRepository.findMonthlyAnalytics(HOST_ID, FEBRUARY.atDay(1), FEBRUARY.atDay(1)))
+                .thenReturn(List.of(createRow(FEBRUARY, 3)));
+        hostAnalyticsService.getAnalytics(HOST_CONTEXT, JANUARY, MARCH);
+
+        var reservation = Reservation.builder()
+                .hostId(HOST_ID)
+                .accommodationId(ACCOMMODATION_ID)
+                .startDate(LocalDate.of(2026, 2, 10))
+                .endDate(LocalDate.of(2026, 2, 13))
+                .status(ReservationStatus.APPROVED)
+                .build();
+        hostAnalyticsService.onTransition(
+                ReservationTransitionEvent.transitioned(reservation, ReservationStatus.PENDING));
+        List<AccommodationAnalyticsResponse> result = hostAnalyticsService.getAnalytics(HOST_CONTEXT, JANUARY, MARCH);
+
+        assertThat(result).extracting(AccommodationAnalyticsResponse::month).containsExactly(JANUARY, FEBRUARY);
+    }
+
+    @Test
+    @DisplayName("A range longer than the limit throws InvalidReservationException")
+    void getAnalytics_WithTooLongRange_ThrowsInvalidReservationException() {
+        assertThatThrownBy(() -> hostAnalyticsService.getAnalytics(HOST_CONTEXT, JANUARY, JANUARY.plusMonths(24)))
+                .isInstanceOf(InvalidReservationException.class);
+        verifyNoInteractions(reservationRepository);
+    }
+
+    @Test
+    @DisplayName("A range ending before it starts throws InvalidReservationException")
+    void getAnalytics_WithReversedRange_ThrowsInvalidReservationException() {
+        assertThatThrownBy(() -> hostAnalyticsService.getAnalytics(HOST_CONTEXT, MARCH, JANUARY))
+                .isInstanceOf(InvalidReservationException.class);
+    }
+}
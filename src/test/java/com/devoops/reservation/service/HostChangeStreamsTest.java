@@ -0,0 +1,58 @@
+package com.devoops.reservation.service;
+
+import com.devoops.reservation.dto.message.ReservationChangeMessage;
+import com.devoops.reservation.entity.ReservationStatus;
+import com.devoops.reservation.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class HostChangeStreamsTest {
+
+    private static final UUID HOST_ID = UUID.randomUUID();
+
+    private SimpleMeterRegistry meterRegistry;
+    private HostChangeStreams streams;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        streams = new HostChangeStreams(meterRegistry, 2, 8, Duration.ofHours(1), Duration.ofMinutes(30));
+    }
+
+    private ReservationChangeMessage change(UUID hostId) {
+        return new ReservationChangeMessage(UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID(), hostId,
+                null, ReservationStatus.PENDING, LocalDate.now().plusDays(10), LocalDate.now().plusDays(15));
+    }
+
+    @Test
+    @DisplayName("Streams above the connection limit are refused")
+    void subscribe_AboveMaxConnections_ThrowsServiceUnavailable() {
+        streams.subscribe(HOST_ID);
+        streams.subscribe(UUID.randomUUID());
+
+        assertThatThrownBy(() -> streams.subscribe(HOST_ID))
+                .isInstanceOf(ServiceUnavailableException.class);
+        assertThat(meterRegistry.get("reservation.sse.connections").gauge().value()).isEqualTo(2.0);
+    }
+
+    @Test
+    @DisplayName("Changes are only queued on the streams of their host")
+    void publish_QueuesOnlyForTheHost() {
+        streams.subscribe(HOST_ID);
+
+        streams.publish(change(HOST_ID));
+        streams.publish(change(UUID.randomUUID()));
+
+        assertThat(meterRegistry.get("reservation.sse.events").tag("result", "queued").counter().count())
+                .isEqualTo(1.0);
+    }
+}
@@ -0,0 +1,135 @@
+package com.devoops.reservation.service;
+
+import com.devoops.reservation.config.UserContext;
+import com.devoops.reservation.dto.request.CreateReservationRequest;
+import com.devoops.reservation.dto.response.ReservationResponse;
+import com.devoops.reservation.entity.ReservationStatus;
+import com.devoops.reservation.exception.IdempotencyKeyConflictException;
+import com.devoops.reservation.exception.InvalidReservationException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class IdempotencyServiceTest {
+
+    private static final Duration KEY_TTL = Duration.ofHours(24);
+    private static final UUID GUEST_ID = UUID.randomUUID();
+    private static final UserContext GUEST_CONTEXT = new UserContext(GUEST_ID, "GUEST");
+    private static final String KEY = "retry-1";
+    private static final JsonMapper JSON_MAPPER = JsonMapper.builder().build();
+
+    @Mock
+    private IdempotencyKeyStore keyStore;
+
+    @Mock
+    private ReservationService reservationService;
+
+    private IdempotencyService idempotencyService;
+
+    @BeforeEach
+    void setUp() {
+        idempotencyService = new IdempotencyService(
+                keyStore, reservationService, new SimpleMeterRegistry(), KEY_TTL, JSON_MAPPER);
+    }
+
+    private CreateReservationRequest createRequest(int guestCount) {
+        return new CreateReservationRequest(
+                UUID.randomUUID(), LocalDate.now().plusDays(10), LocalDate.now().plusDays(15), guestCount);
+    }
+
+    private ReservationResponse createResponse() {
+        return new ReservationResponse(
+                UUID.randomUUID(), UUID.randomUUID(), "Test Accommodation",
+                GUEST_ID, "John Doe", UUID.randomUUID(), "Jane Host",
+                LocalDate.now().plusDays(10), LocalDate.now().plusDays(15),
+                2, new BigDecimal("1000.00"), ReservationStatus.PENDING,
+                LocalDateTime.now().withNano(0), LocalDateTime.now().withNano(0)
+        );
+    }
+
+    @Test
+    @DisplayName("First request claims the key, creates and stores the response")
+    void create_WithNewKey_CreatesAndStoresResponse() {
+        var request = createRequest(2);
+        var response = createResponse();
+        when(keyStore.claim(GUEST_ID, KEY, IdempotencyService.hash(request), KEY_TTL)).thenReturn(true);
+        when(reservationService.create(request, GUEST_CONTEXT)).thenReturn(response);
+
+        ReservationResponse result = idempotencyService.create(KEY, request, GUEST_CONTEXT);
+
+        assertThat(result).isEqualTo(response);
+        ArgumentCaptor<String> body = ArgumentCaptor.forClass(String.class);
+        verify(keyStore).complete(eq(GUEST_ID), eq(KEY), body.capture());
+        assertThat(body.getValue()).contains(response.id().toString());
+    }
+
+    @Test
+    @DisplayName("Retry of a completed request replays the stored response without creating")
+    void create_WithCompletedKey_ReplaysStoredResponse() {
+        var request = createRequest(2);
+        var response = createResponse();
+        String stored = JSON_MAPPER.writeValueAsString(response);
+        when(keyStore.claim(GUEST_ID, KEY, IdempotencyService.hash(request), KEY_TTL)).thenReturn(false);
+        when(keyStore.find(GUEST_ID, KEY)).thenReturn(Optional.of(new IdempotencyKeyStore.StoredRequest(
+                IdempotencyService.hash(request), IdempotencyKeyStore.COMPLETED, stored)));
+
+        ReservationResponse result = idempotencyService.create(KEY, request, GUEST_CONTEXT);
+
+        assertThat(result).isEqualTo(response);
+        verifyNoInteractions(reservationService);
+        verify(keyStore, never()).complete(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Key reused for a different request throws IdempotencyKeyConflictException")
+    void create_WithKeyUsedForOtherRequest_ThrowsConflict() {
+        var request = createRequest(3);
+        when(keyStore.claim(GUEST_ID, KEY, IdempotencyService.hash(request), KEY_TTL)).thenReturn(false);
+        when(keyStore.find(GUEST_ID, KEY)).thenReturn(Optional.of(new IdempotencyKeyStore.StoredRequest(
+                IdempotencyService.hash(createRequest(2)), IdempotencyKeyStore.COMPLETED, "{}")));
+
+        assertThatThrownBy(() -> idempotencyService.create(KEY, request, GUEST_CONTEXT))
+                .isInstanceOf(IdempotencyKeyConflictException.class);
+        verifyNoInteractions(reservationService);
+    }
+
+    @Test
+    @DisplayName("Failed create does not store a response")
+    void create_WhenCreateFails_DoesNotComplete() {
+        var request = createRequest(2);
+        when(keyStore.claim(GUEST_ID, KEY, IdempotencyService.hash(request), KEY_TTL)).thenReturn(true);
+        when(reservationService.create(request, GUEST_CONTEXT))
+                .thenThrow(new InvalidReservationException("The selected dates overlap with an existing approved reservation"));
+
+        assertThatThrownBy(() -> idempotencyService.create(KEY, request, GUEST_CONTEXT))
+                .isInstanceOf(InvalidReservationException.class);
+        verify(keyStore, never()).complete(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Blank key throws InvalidReservationException")
+    void create_WithBlankKey_ThrowsInvalidReservationException() {
+        assertThatThrownBy(() -> idempotencyService.create(" ", createRequest(2), GUEST_CONTEXT))
+                .isInstanceOf(InvalidReservationException.class);
+        verifyNoInteractions(keyStore, reservationService);
+    }
+}
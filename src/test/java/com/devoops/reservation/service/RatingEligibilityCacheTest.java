@@ -0,0 +1,78 @@
+package com.devoops.reservation.service;
+
+import com.devoops.reservation.entity.Reservation;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RatingEligibilityCacheTest {
+
+    private static final UUID GUEST_ID = UUID.randomUUID();
+    private static final UUID HOST_ID = UUID.randomUUID();
+    private static final UUID ACCOMMODATION_ID = UUID.randomUUID();
+
+    private SimpleMeterRegistry meterRegistry;
+    private RatingEligibilityCache cache;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new RatingEligibilityCache(meterRegistry, 1000, Duration.ofMinutes(10));
+    }
+
+    @Test
+    @DisplayName("Positive answers are cached per target type")
+    void getAll_WithEligibleHost_ReturnsCachedAnswerOnlyForHosts() {
+        cache.putEligible(GUEST_ID, true, HOST_ID);
+
+        assertThat(cache.getAll(GUEST_ID, true, List.of(HOST_ID))).containsEntry(HOST_ID, true);
+        assertThat(cache.getAll(GUEST_ID, false, List.of(HOST_ID))).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Negative answers are dropped once the next stay has ended")
+    void getAll_WithNegativeAnswerPastRecheck_ReturnsNothing() {
+        cache.putIneligible(GUEST_ID, true, HOST_ID, Instant.now().minusSeconds(1));
+        cache.putIneligible(GUEST_ID, false, ACCOMMODATION_ID, Instant.now().plus(Duration.ofDays(3)));
+
+        assertThat(cache.getAll(GUEST_ID, true, List.of(HOST_ID))).isEmpty();
+        assertThat(cache.getAll(GUEST_ID, false, List.of(ACCOMMODATION_ID))).containsEntry(ACCOMMODATION_ID, false);
+    }
+
+    @Test
+    @DisplayName("An approval invalidates the answers for its host and accommodation")
+    void invalidate_WithApprovedReservation_DropsHostAndAccommodationAnswers() {
+        cache.putIneligible(GUEST_ID, true, HOST_ID, null);
+        cache.putIneligible(GUEST_ID, false, ACCOMMODATION_ID, null);
+
+        cache.invalidate(Reservation.builder()
+                .guestId(GUEST_ID)
+                .hostId(HOST_ID)
+                .accommodationId(ACCOMMODATION_ID)
+                .build());
+
+        assertThat(cache.getAll(GUEST_ID, true, List.of(HOST_ID))).isEmpty();
+        assertThat(cache.getAll(GUEST_ID, false, List.of(ACCOMMODATION_ID))).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Hits and misses are exposed as cache metrics")
+    void getAll_RecordsHitAndMissMetrics() {
+        cache.putEligible(GUEST_ID, true, HOST_ID);
+
+        cache.getAll(GUEST_ID, true, List.of(HOST_ID, UUID.randomUUID()));
+
+        assertThat(meterRegistry.get("cache.gets").tag("cache", "rating-eligibility").tag("result", "hit")
+                .functionCounter().count()).isEqualTo(1.0);
+        assertThat(meterRegistry.get("cache.gets").tag("cache", "rating-eligibility").tag("result", "miss")
+                .functionCounter().count()).isEqualTo(1.0);
+    }
+}
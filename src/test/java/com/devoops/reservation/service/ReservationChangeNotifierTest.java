@@ -0,0 +1,68 @@
+package com.devoops.reservation.service;
+
+import com.devoops.reservation.dto.message.ReservationChangeMessage;
+import com.devoops.reservation.entity.Reservation;
+import com.devoops.reservation.entity.ReservationStatus;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCallback;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.time.LocalDate;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReservationChangeNotifierTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @InjectMocks
+    private ReservationChangeNotifier notifier;
+
+    @Test
+    @DisplayName("Transitions are sent on the change channel and read back unchanged")
+    @SuppressWarnings("unchecked")
+    void onTransition_NotifiesChannelWithRoundTrippablePayload() throws Exception {
+        var reservation = Reservation.builder()
+                .id(UUID.randomUUID())
+                .accommodationId(UUID.randomUUID())
+                .guestId(UUID.randomUUID())
+                .hostId(UUID.randomUUID())
+                .startDate(LocalDate.now().plusDays(10))
+                .endDate(LocalDate.now().plusDays(15))
+                .guestCount(2)
+                .totalPrice(new BigDecimal("1000.00"))
+                .status(ReservationStatus.APPROVED)
+                .build();
+
+        notifier.onTransition(ReservationTransitionEvent.transitioned(reservation, ReservationStatus.PENDING));
+
+        ArgumentCaptor<PreparedStatementCallback<Boolean>> callback = ArgumentCaptor.forClass(PreparedStatementCallback.class);
+        verify(jdbcTemplate).execute(eq("SELECT pg_notify(?, ?)"), callback.capture());
+        PreparedStatement statement = mock(PreparedStatement.class);
+        callback.getValue().doInPreparedStatement(statement);
+
+        ArgumentCaptor<String> payload = ArgumentCaptor.forClass(String.class);
+        verify(statement).setString(1, ReservationChangeNotifier.CHANNEL);
+        verify(statement).setString(eq(2), payload.capture());
+        ReservationChangeMessage message = ReservationChangeNotifier.OBJECT_MAPPER
+                .readValue(payload.getValue(), ReservationChangeMessage.class);
+        assertThat(message.reservationId()).isEqualTo(reservation.getId());
+        assertThat(message.hostId()).isEqualTo(reservation.getHostId());
+        assertThat(message.from()).isEqualTo(ReservationStatus.PENDING);
+        assertThat(message.to()).isEqualTo(ReservationStatus.APPROVED);
+        assertThat(message.startDate()).isEqualTo(reservation.getStartDate());
+    }
+}
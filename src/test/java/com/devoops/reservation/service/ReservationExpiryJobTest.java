@@ -0,0 +1,111 @@
+package com.devoops.reservation.service;
+
+import com.devoops.reservation.entity.Reservation;
+import com.devoops.reservation.entity.ReservationStatus;
+import com.devoops.reservation.grpc.AccommodationGrpcClient;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReservationExpiryJobTest {
+
+    private static final int BATCH_SIZE = 2;
+    private static final Duration LEASE_DURATION = Duration.ofMinutes(10);
+
+    @Mock
+    private ReservationExpiryService expiryService;
+
+    @Mock
+    private SchedulerLease schedulerLease;
+
+    @Mock
+    private ReservationEventPublisherService eventPublisher;
+
+    @Mock
+    private AccommodationGrpcClient accommodationGrpcClient;
+
+    private SimpleMeterRegistry meterRegistry;
+    private ReservationExpiryJob job;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        job = new ReservationExpiryJob(expiryService, schedulerLease, eventPublisher, accommodationGrpcClient,
+                meterRegistry, BATCH_SIZE, 10, LEASE_DURATION);
+    }
+
+    private Reservation createExpired() {
+        return Reservation.builder()
+                .id(UUID.randomUUID())
+                .accommodationId(UUID.randomUUID())
+                .guestId(UUID.randomUUID())
+                .hostId(UUID.randomUUID())
+                .startDate(LocalDate.now().minusDays(1))
+                .endDate(LocalDate.now().plusDays(3))
+                .guestCount(2)
+                .status(ReservationStatus.EXPIRED)
+                .build();
+    }
+
+    @Test
+    @DisplayName("Without the lease the run is skipped")
+    void expireStalePending_WithoutLease_DoesNothing() {
+        when(schedulerLease.tryAcquire(ReservationExpiryJob.LEASE_NAME, LEASE_DURATION)).thenReturn(false);
+
+        job.expireStalePending();
+
+        verifyNoInteractions(expiryService, eventPublisher);
+        assertThat(meterRegistry.find("reservation.expiry.run.duration").timer()).isNull();
+    }
+
+    @Test
+    @DisplayName("Expires batches until one comes back short and notifies every guest")
+    void expireStalePending_WithLease_ExpiresBatchesAndNotifies() {
+        var first = createExpired();
+        var second = createExpired();
+        var third = createExpired();
+        when(schedulerLease.tryAcquire(ReservationExpiryJob.LEASE_NAME, LEASE_DURATION)).thenReturn(true);
+        when(expiryService.expireBatch(any(LocalDate.class), eq(BATCH_SIZE)))
+                .thenReturn(List.of(first, second))
+                .thenReturn(List.of(third));
+        when(accommodationGrpcClient.getAccommodationName(any(), any(), any(), anyInt())).thenReturn("Test Apartment");
+
+        job.expireStalePending();
+
+        verify(expiryService, times(2)).expireBatch(any(LocalDate.class), eq(BATCH_SIZE));
+        verify(eventPublisher).publishReservationResponse(first, "Test Apartment", false);
+        verify(eventPublisher).publishReservationResponse(second, "Test Apartment", false);
+        verify(eventPublisher).publishReservationResponse(third, "Test Apartment", false);
+        assertThat(meterRegistry.get("reservation.expiry.run.rows").summary().totalAmount()).isEqualTo(3);
+        assertThat(meterRegistry.get("reservation.expiry.run.duration").tag("outcome", "success").timer().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("A failing batch is recorded as a failed run")
+    void expireStalePending_WithFailingBatch_RecordsFailure() {
+        when(schedulerLease.tryAcquire(ReservationExpiryJob.LEASE_NAME, LEASE_DURATION)).thenReturn(true);
+        when(expiryService.expireBatch(any(LocalDate.class), eq(BATCH_SIZE)))
+                .thenThrow(new IllegalStateException("connection lost"));
+
+        job.expireStalePending();
+
+        verifyNoInteractions(eventPublisher);
+        assertThat(meterRegistry.get("reservation.expiry.run.duration").tag("outcome", "failure").timer().count())
+                .isEqualTo(1);
+    }
+}
@@ -2,8 +2,13 @@ package com.devoops.reservation.service;
 
 import com.devoops.reservation.config.UserContext;
 import com.devoops.reservation.dto.request.CreateReservationRequest;
+import com.devoops.reservation.dto.request.ReservationField;
+import com.devoops.reservation.dto.response.HostSummaryResponse;
+import com.devoops.reservation.dto.response.ReservationChangesResponse;
 import com.devoops.reservation.dto.response.ReservationResponse;
 import com.devoops.reservation.dto.response.ReservationWithGuestInfoResponse;
+import com.devoops.reservation.entity.HostReservationAggregate;
+import com.devoops.reservation.entity.HostReservationAggregateId;
 import com.devoops.reservation.entity.Reservation;
 import com.devoops.reservation.entity.ReservationStatus;
 import com.devoops.reservation.exception.AccommodationNotFoundException;
@@ -15,7 +20,11 @@ import com.devoops.reservation.grpc.AccommodationValidationResult;
 import com.devoops.reservation.grpc.UserGrpcClient;
 import com.devoops.reservation.grpc.UserSummaryResult;
 import com.devoops.reservation.mapper.ReservationMapper;
+import com.devoops.reservation.repository.HostReservationAggregateRepository;
+import com.devoops.reservation.repository.ReservationCountView;
 import com.devoops.reservation.repository.ReservationRepository;
+import com.devoops.reservation.repository.ReservationVersionView;
+import com.devoops.reservation.repository.ReservationView;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
@@ -23,12 +32,15 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -54,6 +66,18 @@ class ReservationServiceTest {
     @Mock
     private ReservationEventPublisherService eventPublisher;
 
+    @Mock
+    private CompletedStayService completedStayService;
+
+    @Mock
+    private HostReservationAggregateRepository hostAggregateRepository;
+
+    @Mock
+    private ApplicationEventPublisher applicationEventPublisher;
+
+    @Mock
+    private ReservationChangeLog reservationChangeLog;
+
     @InjectMocks
     private ReservationService reservationService;
 
@@ -78,6 +102,48 @@ class ReservationServiceTest {
                 .build();
     }
 
+    private ReservationVersionView createVersionView(LocalDateTime updatedAt) {
+        return new ReservationVersionView() {
+            @Override
+            public UUID getGuestId() {
+                return GUEST_ID;
+            }
+
+            @Override
+            public UUID getHostId() {
+                return HOST_ID;
+            }
+
+            @Override
+            public LocalDateTime getLastModified() {
+                return updatedAt;
+            }
+        };
+    }
+
+    private ReservationView createView() {
+        return new ReservationView(
+                RESERVATION_ID, ACCOMMODATION_ID, GUEST_ID, HOST_ID,
+                LocalDate.now().plusDays(10), LocalDate.now().plusDays(15),
+                2, new BigDecimal("1000.00"), ReservationStatus.PENDING,
+                LocalDateTime.now(), LocalDateTime.now()
+        );
+    }
+
+    private static ReservationCountView countView(UUID id, long count) {
+        return new ReservationCountView() {
+            @Override
+            public UUID getId() {
+                return id;
+            }
+
+            @Override
+            public long getReservationCount() {
+                return count;
+            }
+        };
+    }
+
     private ReservationResponse createResponse() {
         return new ReservationResponse(
                 RESERVATION_ID, ACCOMMODATION_ID, "Test Accommodation",
@@ -254,16 +320,13 @@ class ReservationServiceTest {
         void getById_WithExistingIdAndGuestAccess_ReturnsReservationResponse() {
             var reservation = createReservation();
             var response = createResponse();
-            var validationResult = new AccommodationValidationResult(
-                    true, null, null, HOST_ID, new BigDecimal("1000.00"), "PER_UNIT", "MANUAL", "Test Accommodation"
-            );
 
             when(reservationRepository.findById(RESERVATION_ID)).thenReturn(Optional.of(reservation));
-            when(accommodationGrpcClient.validateAndCalculatePrice(any(), any(), any(), anyInt())).thenReturn(validationResult);
+            when(accommodationGrpcClient.getAccommodationName(any(), any(), any(), anyInt())).thenReturn("Test Accommodation");
             setupUserMocks();
             when(reservationMapper.toResponseWithNames(eq(reservation), anyString(), anyString(), anyString())).thenReturn(response);
 
-            ReservationResponse result = reservationService.getById(RESERVATION_ID, GUEST_CONTEXT);
+            ReservationResponse result = reservationService.getById(RESERVATION_ID, GUEST_CONTEXT, ReservationField.ALL);
 
             assertThat(result).isEqualTo(response);
         }
@@ -273,16 +336,13 @@ class ReservationServiceTest {
         void getById_WithExistingIdAndHostAccess_ReturnsReservationResponse() {
             var reservation = createReservation();
             var response = createResponse();
-            var validationResult = new AccommodationValidationResult(
-                    true, null, null, HOST_ID, new BigDecimal("1000.00"), "PER_UNIT", "MANUAL", "Test Accommodation"
-            );
 
             when(reservationRepository.findById(RESERVATION_ID)).thenReturn(Optional.of(reservation));
-            when(accommodationGrpcClient.validateAndCalculatePrice(any(), any(), any(), anyInt())).thenReturn(validationResult);
+            when(accommodationGrpcClient.getAccommodationName(any(), any(), any(), anyInt())).thenReturn("Test Accommodation");
             setupUserMocks();
             when(reservationMapper.toResponseWithNames(eq(reservation), anyString(), anyString(), anyString())).thenReturn(response);
 
-            ReservationResponse result = reservationService.getById(RESERVATION_ID, HOST_CONTEXT);
+            ReservationResponse result = reservationService.getById(RESERVATION_ID, HOST_CONTEXT, ReservationField.ALL);
 
             assertThat(result).isEqualTo(response);
         }
@@ -293,7 +353,54 @@ class ReservationServiceTest {
             UUID id = UUID.randomUUID();
             when(reservationRepository.findById(id)).thenReturn(Optional.empty());
 
-            assertThatThrownBy(() -> reservationService.getById(id, GUEST_CONTEXT))
+            assertThatThrownBy(() -> reservationService.getById(id, GUEST_CONTEXT, ReservationField.ALL))
+                    .isInstanceOf(ReservationNotFoundException.class);
+        }
+
+        @Test
+        @DisplayName("Version of an accessible reservation carries its last update")
+        void getReservationVersion_WithGuestAccess_ReturnsUpdatedAt() {
+            var updatedAt = LocalDateTime.of(2026, 3, 1, 12, 0);
+
+            when(reservationRepository.findVersionById(RESERVATION_ID))
+                    .thenReturn(Optional.of(createVersionView(updatedAt)));
+
+            assertThat(reservationService.getReservationVersion(RESERVATION_ID, GUEST_CONTEXT))
+                    .isEqualTo(new ReservationVersion(updatedAt, 1));
+            verify(reservationRepository, never()).findById(any());
+        }
+
+        @Test
+        @DisplayName("Version with unauthorized user throws ForbiddenException")
+        void getReservationVersion_WithUnauthorizedUser_ThrowsForbiddenException() {
+            var otherUser = new UserContext(UUID.randomUUID(), "GUEST");
+
+            when(reservationRepository.findVersionById(RESERVATION_ID))
+                    .thenReturn(Optional.of(createVersionView(LocalDateTime.now())));
+
+            assertThatThrownBy(() -> reservationService.getReservationVersion(RESERVATION_ID, otherUser))
+                    .isInstanceOf(ForbiddenException.class);
+        }
+
+        @Test
+        @DisplayName("Version of a non-existing reservation throws ReservationNotFoundException")
+        void getReservationVersion_WithNonExistingId_ThrowsReservationNotFoundException() {
+            UUID id = UUID.randomUUID();
+            when(reservationRepository.findVersionById(id)).thenReturn(Optional.empty());
+
+            assertThatThrownBy(() -> reservationService.getReservationVersion(id, GUEST_CONTEXT))
+                    .isInstanceOf(ReservationNotFoundException.class);
+        }
+
+        @Test
+        @DisplayName("With soft-deleted reservation served from cache throws ReservationNotFoundException")
+        void getById_WithSoftDeletedReservation_ThrowsReservationNotFoundException() {
+            var reservation = createReservation();
+            reservation.setDeleted(true);
+
+            when(reservationRepository.findById(RESERVATION_ID)).thenReturn(Optional.of(reservation));
+
+            assertThatThrownBy(() -> reservationService.getById(RESERVATION_ID, GUEST_CONTEXT, ReservationField.ALL))
                     .isInstanceOf(ReservationNotFoundException.class);
         }
 
@@ -305,11 +412,154 @@ class ReservationServiceTest {
 
             when(reservationRepository.findById(RESERVATION_ID)).thenReturn(Optional.of(reservation));
 
-            assertThatThrownBy(() -> reservationService.getById(RESERVATION_ID, otherUser))
+            assertThatThrownBy(() -> reservationService.getById(RESERVATION_ID, otherUser, ReservationField.ALL))
                     .isInstanceOf(ForbiddenException.class);
         }
     }
 
+    @Nested
+    @DisplayName("GetByIds")
+    class GetByIdsTests {
+
+        private Reservation createReservation(UUID id, UUID guestId) {
+            Reservation reservation = ReservationServiceTest.this.createReservation();
+            reservation.setId(id);
+            reservation.setGuestId(guestId);
+            return reservation;
+        }
+
+        @Test
+        @DisplayName("Returns visible reservations in request order and looks up each name once")
+        void getByIds_WithSharedAccommodationAndUsers_DeduplicatesLookups() {
+            UUID firstId = UUID.randomUUID();
+            UUID secondId = UUID.randomUUID();
+            var first = createReservation(firstId, GUEST_ID);
+            var second = createReservation(secondId, GUEST_ID);
+
+            when(reservationRepository.findAllById(List.of(secondId, firstId))).thenReturn(List.of(first, second));
+            when(accommodationGrpcClient.getAccommodationName(any(), any(), any(), anyInt())).thenReturn("Test Accommodation");
+            setupUserMocks();
+            when(reservationMapper.toResponseWithNames(any(Reservation.class), anyString(), anyString(), anyString()))
+                    .thenAnswer(invocation -> {
+                        Reservation reservation = invocation.getArgument(0);
+                        return new ReservationResponse(reservation.getId(), ACCOMMODATION_ID, "Test Accommodation",
+                                GUEST_ID, "John Doe", HOST_ID, "Jane Host", reservation.getStartDate(),
+                                reservation.getEndDate(), 2, reservation.getTotalPrice(), reservation.getStatus(),
+                                null, null);
+                    });
+
+            List<ReservationResponse> result = reservationService.getByIds(
+                    List.of(secondId, firstId, secondId), GUEST_CONTEXT, ReservationField.ALL);
+
+            assertThat(result).extracting(ReservationResponse::id).containsExactly(secondId, firstId);
+            verify(accommodationGrpcClient, times(1)).getAccommodationName(any(), any(), any(), anyInt());
+            verify(userGrpcClient, times(1)).getUserSummary(GUEST_ID);
+            verify(userGrpcClient, times(1)).getUserSummary(HOST_ID);
+        }
+
+        @Test
+        @DisplayName("Leaves out reservations of other users and deleted ones")
+        void getByIds_WithForeignAndDeletedReservations_LeavesThemOut() {
+            UUID foreignId = UUID.randomUUID();
+            UUID deletedId = UUID.randomUUID();
+            var foreign = createReservation(foreignId, UUID.randomUUID());
+            var deleted = createReservation(deletedId, GUEST_ID);
+            deleted.setDeleted(true);
+
+            when(reservationRepository.findAllById(List.of(foreignId, deletedId))).thenReturn(List.of(foreign, deleted));
+
+            List<ReservationResponse> result = reservationService.getByIds(
+                    List.of(foreignId, deletedId), GUEST_CONTEXT, Set.of());
+
+            assertThat(result).isEmpty();
+            verifyNoInteractions(reservationMapper, accommodationGrpcClient, userGrpcClient);
+        }
+
+        @Test
+        @DisplayName("With more ids than allowed throws InvalidReservationException")
+        void getByIds_OverLimit_ThrowsInvalidReservationException() {
+            List<UUID> ids = new ArrayList<>();
+            for (int i = 0; i <= ReservationService.MAX_IDS_PER_REQUEST; i++) {
+                ids.add(UUID.randomUUID());
+            }
+
+            assertThatThrownBy(() -> reservationService.getByIds(ids, GUEST_CONTEXT, ReservationField.ALL))
+                    .isInstanceOf(InvalidReservationException.class);
+            verifyNoInteractions(reservationRepository);
+        }
+    }
+
+    @Nested
+    @DisplayName("GetChanges")
+    class GetChangesTests {
+
+        @Test
+        @DisplayName("Returns changed reservations and tombstones in change order")
+        void getChanges_WithChangedAndDeletedReservations_ReturnsPageInOrder() {
+            UUID deletedId = UUID.randomUUID();
+            var reservation = createReservation();
+            var response = createResponse();
+
+            when(reservationChangeLog.findChanges(GUEST_ID, false, 10L, 2)).thenReturn(List.of(
+                    new ReservationChangeLog.Change(11L, deletedId, true),
+                    new ReservationChangeLog.Change(14L, RESERVATION_ID, false)));
+            when(reservationRepository.findAllById(List.of(RESERVATION_ID))).thenReturn(List.of(reservation));
+            when(reservationMapper.toResponseWithNames(reservation, null, null, null)).thenReturn(response);
+
+            ReservationChangesResponse result = reservationService.getChanges(GUEST_CONTEXT, 10L, 2, Set.of());
+
+            assertThat(result.cursor()).isEqualTo(14L);
+            assertThat(result.hasMore()).isTrue();
+            assertThat(result.changes()).extracting(ReservationChangesResponse.Change::reservationId)
+                    .containsExactly(deletedId, RESERVATION_ID);
+            assertThat(result.changes().get(0).deleted()).isTrue();
+            assertThat(result.changes().get(0).reservation()).isNull();
+            assertThat(result.changes().get(1).reservation()).isEqualTo(response);
+        }
+
+        @Test
+        @DisplayName("Sends a reservation deleted since its change was logged as a tombstone")
+        void getChanges_WithReservationDeletedMeanwhile_ReturnsTombstone() {
+            var reservation = createReservation();
+            reservation.setDeleted(true);
+
+            when(reservationChangeLog.findChanges(HOST_ID, true, 0L, 100))
+                    .thenReturn(List.of(new ReservationChangeLog.Change(3L, RESERVATION_ID, false)));
+            when(reservationRepository.findAllById(List.of(RESERVATION_ID))).thenReturn(List.of(reservation));
+
+            ReservationChangesResponse result = reservationService.getChanges(HOST_CONTEXT, 0L, 100, ReservationField.ALL);
+
+            assertThat(result.hasMore()).isFalse();
+            assertThat(result.changes()).singleElement().satisfies(change -> {
+                assertThat(change.deleted()).isTrue();
+                assertThat(change.reservation()).isNull();
+            });
+            verifyNoInteractions(reservationMapper);
+        }
+
+        @Test
+        @DisplayName("Without new changes keeps the cursor")
+        void getChanges_WithoutChanges_KeepsCursor() {
+            when(reservationChangeLog.findChanges(GUEST_ID, false, 42L, 100)).thenReturn(List.of());
+
+            ReservationChangesResponse result = reservationService.getChanges(GUEST_CONTEXT, 42L, 100, ReservationField.ALL);
+
+            assertThat(result.cursor()).isEqualTo(42L);
+            assertThat(result.hasMore()).isFalse();
+            assertThat(result.changes()).isEmpty();
+            verifyNoInteractions(reservationRepository);
+        }
+
+        @Test
+        @DisplayName("With a page size over the limit throws InvalidReservationException")
+        void getChanges_OverLimit_ThrowsInvalidReservationException() {
+            assertThatThrownBy(() -> reservationService.getChanges(
+                    GUEST_CONTEXT, 0L, ReservationService.MAX_CHANGES_PER_PAGE + 1, ReservationField.ALL))
+                    .isInstanceOf(InvalidReservationException.class);
+            verifyNoInteractions(reservationChangeLog);
+        }
+    }
+
     @Nested
     @DisplayName("GetByGuestId")
     class GetByGuestIdTests {
@@ -317,19 +567,16 @@ class ReservationServiceTest {
         @Test
         @DisplayName("With existing guest returns reservation list")
         void getByGuestId_WithExistingGuest_ReturnsReservationList() {
-            var reservation = createReservation();
+            var reservation = createView();
             var reservations = List.of(reservation);
             var response = createResponse();
-            var validationResult = new AccommodationValidationResult(
-                    true, null, null, HOST_ID, new BigDecimal("1000.00"), "PER_UNIT", "MANUAL", "Test Accommodation"
-            );
 
-            when(reservationRepository.findByGuestId(GUEST_ID)).thenReturn(reservations);
-            when(accommodationGrpcClient.validateAndCalculatePrice(any(), any(), any(), anyInt())).thenReturn(validationResult);
+            when(reservationRepository.findViewsByGuestId(GUEST_ID)).thenReturn(reservations);
+            when(accommodationGrpcClient.getAccommodationName(any(), any(), any(), anyInt())).thenReturn("Test Accommodation");
             setupUserMocks();
             when(reservationMapper.toResponseWithNames(eq(reservation), anyString(), anyString(), anyString())).thenReturn(response);
 
-            List<ReservationResponse> result = reservationService.getByGuestId(GUEST_CONTEXT);
+            List<ReservationResponse> result = reservationService.getByGuestId(GUEST_CONTEXT, ReservationField.ALL);
 
             assertThat(result).hasSize(1);
         }
@@ -337,12 +584,41 @@ class ReservationServiceTest {
         @Test
         @DisplayName("With no reservations returns empty list")
         void getByGuestId_WithNoReservations_ReturnsEmptyList() {
-            when(reservationRepository.findByGuestId(GUEST_ID)).thenReturn(List.of());
+            when(reservationRepository.findViewsByGuestId(GUEST_ID)).thenReturn(List.of());
 
-            List<ReservationResponse> result = reservationService.getByGuestId(GUEST_CONTEXT);
+            List<ReservationResponse> result = reservationService.getByGuestId(GUEST_CONTEXT, ReservationField.ALL);
 
             assertThat(result).isEmpty();
         }
+
+        @Test
+        @DisplayName("Without name fields makes no remote calls")
+        void getByGuestId_WithoutNameFields_SkipsEnrichment() {
+            var reservation = createView();
+
+            when(reservationRepository.findViewsByGuestId(GUEST_ID)).thenReturn(List.of(reservation));
+            when(reservationMapper.toResponseWithNames(reservation, null, null, null)).thenReturn(createResponse());
+
+            List<ReservationResponse> result = reservationService.getByGuestId(GUEST_CONTEXT, Set.of());
+
+            assertThat(result).hasSize(1);
+            verifyNoInteractions(accommodationGrpcClient, userGrpcClient);
+        }
+
+        @Test
+        @DisplayName("Resolves only the requested names")
+        void getByGuestId_WithAccommodationNameOnly_SkipsUserLookups() {
+            var reservation = createView();
+
+            when(reservationRepository.findViewsByGuestId(GUEST_ID)).thenReturn(List.of(reservation));
+            when(accommodationGrpcClient.getAccommodationName(any(), any(), any(), anyInt())).thenReturn("Test Accommodation");
+            when(reservationMapper.toResponseWithNames(reservation, "Test Accommodation", null, null))
+                    .thenReturn(createResponse());
+
+            reservationService.getByGuestId(GUEST_CONTEXT, Set.of(ReservationField.ACCOMMODATION_NAME));
+
+            verifyNoInteractions(userGrpcClient);
+        }
     }
 
     @Nested
@@ -352,19 +628,16 @@ class ReservationServiceTest {
         @Test
         @DisplayName("With existing host returns reservation list")
         void getByHostId_WithExistingHost_ReturnsReservationList() {
-            var reservation = createReservation();
+            var reservation = createView();
             var reservations = List.of(reservation);
             var response = createResponse();
-            var validationResult = new AccommodationValidationResult(
-                    true, null, null, HOST_ID, new BigDecimal("1000.00"), "PER_UNIT", "MANUAL", "Test Accommodation"
-            );
 
-            when(reservationRepository.findByHostId(HOST_ID)).thenReturn(reservations);
-            when(accommodationGrpcClient.validateAndCalculatePrice(any(), any(), any(), anyInt())).thenReturn(validationResult);
+            when(reservationRepository.findViewsByHostId(HOST_ID)).thenReturn(reservations);
+            when(accommodationGrpcClient.getAccommodationName(any(), any(), any(), anyInt())).thenReturn("Test Accommodation");
             setupUserMocks();
             when(reservationMapper.toResponseWithNames(eq(reservation), anyString(), anyString(), anyString())).thenReturn(response);
 
-            List<ReservationResponse> result = reservationService.getByHostId(HOST_CONTEXT);
+            List<ReservationResponse> result = reservationService.getByHostId(HOST_CONTEXT, ReservationField.ALL);
 
             assertThat(result).hasSize(1);
         }
@@ -372,9 +645,9 @@ class ReservationServiceTest {
         @Test
         @DisplayName("With no reservations returns empty list")
         void getByHostId_WithNoReservations_ReturnsEmptyList() {
-            when(reservationRepository.findByHostId(HOST_ID)).thenReturn(List.of());
+            when(reservationRepository.findViewsByHostId(HOST_ID)).thenReturn(List.of());
 
-            List<ReservationResponse> result = reservationService.getByHostId(HOST_CONTEXT);
+            List<ReservationResponse> result = reservationService.getByHostId(HOST_CONTEXT, ReservationField.ALL);
 
             assertThat(result).isEmpty();
         }
@@ -389,7 +662,7 @@ class ReservationServiceTest {
         void deleteRequest_WithValidOwnerAndPending_SoftDeletesReservation() {
             var reservation = createReservation();
 
-            when(reservationRepository.findById(RESERVATION_ID)).thenReturn(Optional.of(reservation));
+            when(reservationRepository.findForUpdateById(RESERVATION_ID)).thenReturn(Optional.of(reservation));
 
             reservationService.deleteRequest(RESERVATION_ID, GUEST_CONTEXT);
 
@@ -403,7 +676,7 @@ class ReservationServiceTest {
             var reservation = createReservation();
             var otherUser = new UserContext(UUID.randomUUID(), "GUEST");
 
-            when(reservationRepository.findById(RESERVATION_ID)).thenReturn(Optional.of(reservation));
+            when(reservationRepository.findForUpdateById(RESERVATION_ID)).thenReturn(Optional.of(reservation));
 
             assertThatThrownBy(() -> reservationService.deleteRequest(RESERVATION_ID, otherUser))
                     .isInstanceOf(ForbiddenException.class)
@@ -416,7 +689,7 @@ class ReservationServiceTest {
             var reservation = createReservation();
             reservation.setStatus(ReservationStatus.APPROVED);
 
-            when(reservationRepository.findById(RESERVATION_ID)).thenReturn(Optional.of(reservation));
+            when(reservationRepository.findForUpdateById(RESERVATION_ID)).thenReturn(Optional.of(reservation));
 
             assertThatThrownBy(() -> reservationService.deleteRequest(RESERVATION_ID, GUEST_CONTEXT))
                     .isInstanceOf(InvalidReservationException.class)
@@ -427,7 +700,7 @@ class ReservationServiceTest {
         @DisplayName("With non-existing ID throws ReservationNotFoundException")
         void deleteRequest_WithNonExistingId_ThrowsReservationNotFoundException() {
             UUID id = UUID.randomUUID();
-            when(reservationRepository.findById(id)).thenReturn(Optional.empty());
+            when(reservationRepository.findForUpdateById(id)).thenReturn(Optional.empty());
 
             assertThatThrownBy(() -> reservationService.deleteRequest(id, GUEST_CONTEXT))
                     .isInstanceOf(ReservationNotFoundException.class);
@@ -438,7 +711,7 @@ class ReservationServiceTest {
         void deleteRequest_WithHostTryingToDelete_ThrowsForbiddenException() {
             var reservation = createReservation();
 
-            when(reservationRepository.findById(RESERVATION_ID)).thenReturn(Optional.of(reservation));
+            when(reservationRepository.findForUpdateById(RESERVATION_ID)).thenReturn(Optional.of(reservation));
 
             assertThatThrownBy(() -> reservationService.deleteRequest(RESERVATION_ID, HOST_CONTEXT))
                     .isInstanceOf(ForbiddenException.class);
@@ -455,13 +728,10 @@ class ReservationServiceTest {
             var reservation = createReservation();
             reservation.setStatus(ReservationStatus.APPROVED);
             reservation.setStartDate(LocalDate.now().plusDays(10));
-            var accommodationResult = new AccommodationValidationResult(
-                    true, null, null, HOST_ID, new BigDecimal("1000.00"), "PER_UNIT", "MANUAL", "Test Accommodation"
-            );
 
-            when(reservationRepository.findById(RESERVATION_ID)).thenReturn(Optional.of(reservation));
-            when(accommodationGrpcClient.validateAndCalculatePrice(any(), any(), any(), anyInt()))
-                    .thenReturn(accommodationResult);
+            when(reservationRepository.findForUpdateById(RESERVATION_ID)).thenReturn(Optional.of(reservation));
+            when(accommodationGrpcClient.getAccommodationName(any(), any(), any(), anyInt()))
+                    .thenReturn("Test Accommodation");
 
             reservationService.cancelReservation(RESERVATION_ID, GUEST_CONTEXT);
 
@@ -477,7 +747,7 @@ class ReservationServiceTest {
             reservation.setStatus(ReservationStatus.APPROVED);
             var otherUser = new UserContext(UUID.randomUUID(), "GUEST");
 
-            when(reservationRepository.findById(RESERVATION_ID)).thenReturn(Optional.of(reservation));
+            when(reservationRepository.findForUpdateById(RESERVATION_ID)).thenReturn(Optional.of(reservation));
 
             assertThatThrownBy(() -> reservationService.cancelReservation(RESERVATION_ID, otherUser))
                     .isInstanceOf(ForbiddenException.class)
@@ -490,7 +760,7 @@ class ReservationServiceTest {
             var reservation = createReservation();
             reservation.setStatus(ReservationStatus.PENDING);
 
-            when(reservationRepository.findById(RESERVATION_ID)).thenReturn(Optional.of(reservation));
+            when(reservationRepository.findForUpdateById(RESERVATION_ID)).thenReturn(Optional.of(reservation));
 
             assertThatThrownBy(() -> reservationService.cancelReservation(RESERVATION_ID, GUEST_CONTEXT))
                     .isInstanceOf(InvalidReservationException.class)
@@ -504,7 +774,7 @@ class ReservationServiceTest {
             reservation.setStatus(ReservationStatus.APPROVED);
             reservation.setStartDate(LocalDate.now());
 
-            when(reservationRepository.findById(RESERVATION_ID)).thenReturn(Optional.of(reservation));
+            when(reservationRepository.findForUpdateById(RESERVATION_ID)).thenReturn(Optional.of(reservation));
 
             assertThatThrownBy(() -> reservationService.cancelReservation(RESERVATION_ID, GUEST_CONTEXT))
                     .isInstanceOf(InvalidReservationException.class)
@@ -515,7 +785,7 @@ class ReservationServiceTest {
         @DisplayName("With non-existing ID throws ReservationNotFoundException")
         void cancelReservation_WithNonExistingId_ThrowsReservationNotFoundException() {
             UUID id = UUID.randomUUID();
-            when(reservationRepository.findById(id)).thenReturn(Optional.empty());
+            when(reservationRepository.findForUpdateById(id)).thenReturn(Optional.empty());
 
             assertThatThrownBy(() -> reservationService.cancelReservation(id, GUEST_CONTEXT))
                     .isInstanceOf(ReservationNotFoundException.class);
@@ -527,7 +797,7 @@ class ReservationServiceTest {
             var reservation = createReservation();
             reservation.setStatus(ReservationStatus.APPROVED);
 
-            when(reservationRepository.findById(RESERVATION_ID)).thenReturn(Optional.of(reservation));
+            when(reservationRepository.findForUpdateById(RESERVATION_ID)).thenReturn(Optional.of(reservation));
 
             assertThatThrownBy(() -> reservationService.cancelReservation(RESERVATION_ID, HOST_CONTEXT))
                     .isInstanceOf(ForbiddenException.class);
@@ -543,15 +813,12 @@ class ReservationServiceTest {
         void approveReservation_WithValidPending_ApprovesSuccessfully() {
             var reservation = createReservation();
             var response = createResponse();
-            var accommodationResult = new AccommodationValidationResult(
-                    true, null, null, HOST_ID, new BigDecimal("1000.00"), "PER_UNIT", "MANUAL", "Test Accommodation"
-            );
 
-            when(reservationRepository.findById(RESERVATION_ID)).thenReturn(Optional.of(reservation));
+            when(reservationRepository.findForUpdateById(RESERVATION_ID)).thenReturn(Optional.of(reservation));
             when(reservationRepository.findOverlappingPending(any(), any(), any(), any()))
                     .thenReturn(List.of());
-            when(accommodationGrpcClient.validateAndCalculatePrice(any(), any(), any(), anyInt()))
-                    .thenReturn(accommodationResult);
+            when(accommodationGrpcClient.getAccommodationName(any(), any(), any(), anyInt()))
+                    .thenReturn("Test Accommodation");
             setupUserMocks();
             when(reservationMapper.toResponseWithNames(eq(reservation), anyString(), anyString(), anyString())).thenReturn(response);
 
@@ -562,6 +829,24 @@ class ReservationServiceTest {
             verify(eventPublisher).publishReservationResponse(reservation, "Test Accommodation", true);
         }
 
+        @Test
+        @DisplayName("Records the approval for rating eligibility")
+        void approveReservation_WithValidPending_RecordsApproval() {
+            var reservation = createReservation();
+
+            when(reservationRepository.findForUpdateById(RESERVATION_ID)).thenReturn(Optional.of(reservation));
+            when(reservationRepository.findOverlappingPending(any(), any(), any(), any()))
+                    .thenReturn(List.of());
+            when(accommodationGrpcClient.getAccommodationName(any(), any(), any(), anyInt()))
+                    .thenReturn("Test Accommodation");
+            setupUserMocks();
+            when(reservationMapper.toResponseWithNames(eq(reservation), anyString(), anyString(), anyString())).thenReturn(createResponse());
+
+            reservationService.approveReservation(RESERVATION_ID, HOST_CONTEXT);
+
+            verify(completedStayService).recordApproval(reservation);
+        }
+
         @Test
         @DisplayName("With overlapping pending reservations auto-rejects them")
         void approveReservation_WithOverlappingPending_AutoRejectsThem() {
@@ -584,15 +869,12 @@ class ReservationServiceTest {
                     .endDate(LocalDate.now().plusDays(13))
                     .status(ReservationStatus.PENDING)
                     .build();
-            var accommodationResult = new AccommodationValidationResult(
-                    true, null, null, HOST_ID, new BigDecimal("1000.00"), "PER_UNIT", "MANUAL", "Test Accommodation"
-            );
 
-            when(reservationRepository.findById(RESERVATION_ID)).thenReturn(Optional.of(reservation));
+            when(reservationRepository.findForUpdateById(RESERVATION_ID)).thenReturn(Optional.of(reservation));
             when(reservationRepository.findOverlappingPending(any(), any(), any(), any()))
                     .thenReturn(List.of(overlapping1, overlapping2));
-            when(accommodationGrpcClient.validateAndCalculatePrice(any(), any(), any(), anyInt()))
-                    .thenReturn(accommodationResult);
+            when(accommodationGrpcClient.getAccommodationName(any(), any(), any(), anyInt()))
+                    .thenReturn("Test Accommodation");
             setupUserMocks();
             when(reservationMapper.toResponseWithNames(eq(reservation), anyString(), anyString(), anyString())).thenReturn(createResponse());
 
@@ -600,7 +882,38 @@ class ReservationServiceTest {
 
             assertThat(overlapping1.getStatus()).isEqualTo(ReservationStatus.REJECTED);
             assertThat(overlapping2.getStatus()).isEqualTo(ReservationStatus.REJECTED);
-            verify(reservationRepository, times(3)).save(any()); // main + 2 overlapping
+            verify(reservationRepository).save(reservation);
+            verify(reservationRepository).saveAll(List.of(overlapping1, overlapping2));
+            verify(applicationEventPublisher).publishEvent(
+                    ReservationTransitionEvent.transitioned(reservation, ReservationStatus.PENDING));
+            verify(applicationEventPublisher).publishEvent(
+                    ReservationTransitionEvent.transitioned(overlapping1, ReservationStatus.PENDING));
+            verify(applicationEventPublisher).publishEvent(
+                    ReservationTransitionEvent.transitioned(overlapping2, ReservationStatus.PENDING));
+        }
+
+        @Test
+        @DisplayName("Takes the accommodation lock and locks the overlapping rows before any transition")
+        void approveReservation_LocksBeforePublishingTransitions() {
+            var reservation = createReservation();
+
+            when(reservationRepository.findAccommodationIdById(RESERVATION_ID)).thenReturn(Optional.of(ACCOMMODATION_ID));
+            when(reservationRepository.findForUpdateById(RESERVATION_ID)).thenReturn(Optional.of(reservation));
+            when(reservationRepository.findOverlappingPending(any(), any(), any(), any()))
+                    .thenReturn(List.of());
+            when(accommodationGrpcClient.getAccommodationName(any(), any(), any(), anyInt()))
+                    .thenReturn("Test Accommodation");
+            setupUserMocks();
+            when(reservationMapper.toResponseWithNames(eq(reservation), anyString(), anyString(), anyString())).thenReturn(createResponse());
+
+            reservationService.approveReservation(RESERVATION_ID, HOST_CONTEXT);
+
+            var inOrder = inOrder(reservationRepository, applicationEventPublisher);
+            inOrder.verify(reservationRepository).lockAccommodation(ACCOMMODATION_ID);
+            inOrder.verify(reservationRepository).findForUpdateById(RESERVATION_ID);
+            inOrder.verify(reservationRepository).findOverlappingPending(
+                    ACCOMMODATION_ID, reservation.getStartDate(), reservation.getEndDate(), RESERVATION_ID);
+            inOrder.verify(applicationEventPublisher).publishEvent(any(Object.class));
         }
 
         @Test
@@ -609,7 +922,7 @@ class ReservationServiceTest {
             var reservation = createReservation();
             var otherHost = new UserContext(UUID.randomUUID(), "HOST");
 
-            when(reservationRepository.findById(RESERVATION_ID)).thenReturn(Optional.of(reservation));
+            when(reservationRepository.findForUpdateById(RESERVATION_ID)).thenReturn(Optional.of(reservation));
 
             assertThatThrownBy(() -> reservationService.approveReservation(RESERVATION_ID, otherHost))
                     .isInstanceOf(ForbiddenException.class)
@@ -622,7 +935,7 @@ class ReservationServiceTest {
             var reservation = createReservation();
             reservation.setStatus(ReservationStatus.APPROVED);
 
-            when(reservationRepository.findById(RESERVATION_ID)).thenReturn(Optional.of(reservation));
+            when(reservationRepository.findForUpdateById(RESERVATION_ID)).thenReturn(Optional.of(reservation));
 
             assertThatThrownBy(() -> reservationService.approveReservation(RESERVATION_ID, HOST_CONTEXT))
                     .isInstanceOf(InvalidReservationException.class)
@@ -633,7 +946,7 @@ class ReservationServiceTest {
         @DisplayName("With non-existing ID throws ReservationNotFoundException")
         void approveReservation_WithNonExistingId_ThrowsReservationNotFoundException() {
             UUID id = UUID.randomUUID();
-            when(reservationRepository.findById(id)).thenReturn(Optional.empty());
+            when(reservationRepository.findForUpdateById(id)).thenReturn(Optional.empty());
 
             assertThatThrownBy(() -> reservationService.approveReservation(id, HOST_CONTEXT))
                     .isInstanceOf(ReservationNotFoundException.class);
@@ -649,13 +962,10 @@ class ReservationServiceTest {
         void rejectReservation_WithValidPending_RejectsSuccessfully() {
             var reservation = createReservation();
             var response = createResponse();
-            var accommodationResult = new AccommodationValidationResult(
-                    true, null, null, HOST_ID, new BigDecimal("1000.00"), "PER_UNIT", "MANUAL", "Test Accommodation"
-            );
 
-            when(reservationRepository.findById(RESERVATION_ID)).thenReturn(Optional.of(reservation));
-            when(accommodationGrpcClient.validateAndCalculatePrice(any(), any(), any(), anyInt()))
-                    .thenReturn(accommodationResult);
+            when(reservationRepository.findForUpdateById(RESERVATION_ID)).thenReturn(Optional.of(reservation));
+            when(accommodationGrpcClient.getAccommodationName(any(), any(), any(), anyInt()))
+                    .thenReturn("Test Accommodation");
             setupUserMocks();
             when(reservationMapper.toResponseWithNames(eq(reservation), anyString(), anyString(), anyString())).thenReturn(response);
 
@@ -672,7 +982,7 @@ class ReservationServiceTest {
             var reservation = createReservation();
             var otherHost = new UserContext(UUID.randomUUID(), "HOST");
 
-            when(reservationRepository.findById(RESERVATION_ID)).thenReturn(Optional.of(reservation));
+            when(reservationRepository.findForUpdateById(RESERVATION_ID)).thenReturn(Optional.of(reservation));
 
             assertThatThrownBy(() -> reservationService.rejectReservation(RESERVATION_ID, otherHost))
                     .isInstanceOf(ForbiddenException.class)
@@ -685,7 +995,7 @@ class ReservationServiceTest {
             var reservation = createReservation();
             reservation.setStatus(ReservationStatus.CANCELLED);
 
-            when(reservationRepository.findById(RESERVATION_ID)).thenReturn(Optional.of(reservation));
+            when(reservationRepository.findForUpdateById(RESERVATION_ID)).thenReturn(Optional.of(reservation));
 
             assertThatThrownBy(() -> reservationService.rejectReservation(RESERVATION_ID, HOST_CONTEXT))
                     .isInstanceOf(InvalidReservationException.class)
@@ -696,7 +1006,7 @@ class ReservationServiceTest {
         @DisplayName("With non-existing ID throws ReservationNotFoundException")
         void rejectReservation_WithNonExistingId_ThrowsReservationNotFoundException() {
             UUID id = UUID.randomUUID();
-            when(reservationRepository.findById(id)).thenReturn(Optional.empty());
+            when(reservationRepository.findForUpdateById(id)).thenReturn(Optional.empty());
 
             assertThatThrownBy(() -> reservationService.rejectReservation(id, HOST_CONTEXT))
                     .isInstanceOf(ReservationNotFoundException.class);
@@ -710,20 +1020,17 @@ class ReservationServiceTest {
         @Test
         @DisplayName("Returns reservations with cancellation counts")
         void getByHostIdWithGuestInfo_ReturnsReservationsWithCancellationCounts() {
-            var reservation = createReservation();
+            var reservation = createView();
             var response = createResponse();
-            var validationResult = new AccommodationValidationResult(
-                    true, null, null, HOST_ID, new BigDecimal("1000.00"), "PER_UNIT", "MANUAL", "Test Accommodation"
-            );
 
-            when(reservationRepository.findByHostId(HOST_ID)).thenReturn(List.of(reservation));
-            when(accommodationGrpcClient.validateAndCalculatePrice(any(), any(), any(), anyInt())).thenReturn(validationResult);
+            when(reservationRepository.findViewsByHostId(HOST_ID)).thenReturn(List.of(reservation));
+            when(accommodationGrpcClient.getAccommodationName(any(), any(), any(), anyInt())).thenReturn("Test Accommodation");
             setupUserMocks();
             when(reservationMapper.toResponseWithNames(eq(reservation), anyString(), anyString(), anyString())).thenReturn(response);
-            when(reservationRepository.countByGuestIdAndStatus(GUEST_ID, ReservationStatus.CANCELLED))
-                    .thenReturn(3L);
+            when(reservationRepository.countByGuestIdsAndStatus(List.of(GUEST_ID), ReservationStatus.CANCELLED))
+                    .thenReturn(List.of(countView(GUEST_ID, 3L)));
 
-            List<ReservationWithGuestInfoResponse> result = reservationService.getByHostIdWithGuestInfo(HOST_CONTEXT);
+            List<ReservationWithGuestInfoResponse> result = reservationService.getByHostIdWithGuestInfo(HOST_CONTEXT, ReservationField.ALL);
 
             assertThat(result).hasSize(1);
             assertThat(result.get(0).guestCancellationCount()).isEqualTo(3L);
@@ -732,11 +1039,74 @@ class ReservationServiceTest {
         @Test
         @DisplayName("With no reservations returns empty list")
         void getByHostIdWithGuestInfo_WithNoReservations_ReturnsEmptyList() {
-            when(reservationRepository.findByHostId(HOST_ID)).thenReturn(List.of());
+            when(reservationRepository.findViewsByHostId(HOST_ID)).thenReturn(List.of());
 
-            List<ReservationWithGuestInfoResponse> result = reservationService.getByHostIdWithGuestInfo(HOST_CONTEXT);
+            List<ReservationWithGuestInfoResponse> result = reservationService.getByHostIdWithGuestInfo(HOST_CONTEXT, ReservationField.ALL);
 
             assertThat(result).isEmpty();
         }
+
+        @Test
+        @DisplayName("Without the cancellation count field skips the count query")
+        void getByHostIdWithGuestInfo_WithoutCancellationCount_SkipsCountQuery() {
+            var reservation = createView();
+
+            when(reservationRepository.findViewsByHostId(HOST_ID)).thenReturn(List.of(reservation));
+            when(reservationMapper.toResponseWithNames(reservation, null, null, null)).thenReturn(createResponse());
+
+            List<ReservationWithGuestInfoResponse> result = reservationService.getByHostIdWithGuestInfo(HOST_CONTEXT, Set.of());
+
+            assertThat(result).hasSize(1);
+            assertThat(result.get(0).guestCancellationCount()).isNull();
+            verify(reservationRepository, never()).countByGuestIdsAndStatus(any(), any());
+            verifyNoInteractions(accommodationGrpcClient, userGrpcClient);
+        }
+    }
+
+    @Nested
+    @DisplayName("GetHostSummary")
+    class GetHostSummaryTests {
+
+        private HostReservationAggregate createAggregate(UUID accommodationId, long pending, long approved,
+                                                         long nights, String revenue) {
+            var aggregate = new HostReservationAggregate();
+            aggregate.setId(new HostReservationAggregateId(HOST_ID, accommodationId));
+            aggregate.setPendingCount(pending);
+            aggregate.setApprovedCount(approved);
+            aggregate.setUpcomingNights(nights);
+            aggregate.setUpcomingRevenue(new BigDecimal(revenue));
+            return aggregate;
+        }
+
+        @Test
+        @DisplayName("Sums the accommodation aggregates into host totals")
+        void getHostSummary_WithAggregates_ReturnsTotals() {
+            UUID otherAccommodationId = UUID.randomUUID();
+            when(hostAggregateRepository.findByIdHostId(HOST_ID)).thenReturn(List.of(
+                    createAggregate(ACCOMMODATION_ID, 2, 1, 5, "1000.00"),
+                    createAggregate(otherAccommodationId, 1, 3, 9, "1800.00")));
+
+            HostSummaryResponse result = reservationService.getHostSummary(HOST_CONTEXT);
+
+            assertThat(result.statusCounts())
+                    .containsEntry(ReservationStatus.PENDING, 3L)
+                    .containsEntry(ReservationStatus.APPROVED, 4L)
+                    .containsEntry(ReservationStatus.CANCELLED, 0L);
+            assertThat(result.upcomingNights()).isEqualTo(14);
+            assertThat(result.upcomingRevenue()).isEqualByComparingTo("2800.00");
+            assertThat(result.accommodations()).hasSize(2);
+        }
+
+        @Test
+        @DisplayName("Without aggregates returns zero totals")
+        void getHostSummary_WithoutAggregates_ReturnsZeroTotals() {
+            when(hostAggregateRepository.findByIdHostId(HOST_ID)).thenReturn(List.of());
+
+            HostSummaryResponse result = reservationService.getHostSummary(HOST_CONTEXT);
+
+            assertThat(result.statusCounts()).containsEntry(ReservationStatus.PENDING, 0L);
+            assertThat(result.upcomingRevenue()).isEqualByComparingTo("0");
+            assertThat(result.accommodations()).isEmpty();
+        }
     }
 }